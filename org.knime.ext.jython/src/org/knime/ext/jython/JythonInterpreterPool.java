@@ -0,0 +1,177 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.ext.jython;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.python.core.Py;
+import org.python.core.PyCode;
+import org.python.core.PyStringMap;
+import org.python.core.PySystemState;
+import org.python.core.__builtin__;
+import org.python.util.PythonInterpreter;
+
+/**
+ * Keeps the state of the Jython runtime between executions of the Jython
+ * script nodes. The system state is initialized once per JVM, interpreters
+ * are pooled and handed out with a fresh namespace, and compiled scripts are
+ * cached by their source text.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class JythonInterpreterPool
+{
+
+	/** Maximum number of compiled scripts kept in the cache. */
+	private static final int CODE_CACHE_SIZE = 64;
+
+	/** Maximum number of idle interpreters kept in the pool. */
+	private static final int MAX_IDLE_INTERPRETERS =
+		Runtime.getRuntime().availableProcessors();
+
+	private static final ConcurrentLinkedQueue<PythonInterpreter> idleInterpreters =
+		new ConcurrentLinkedQueue<PythonInterpreter>();
+
+	private static final AtomicInteger numberIdleInterpreters = new AtomicInteger();
+
+	private static final Map<String, PyCode> codeCache =
+		new LinkedHashMap<String, PyCode>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, PyCode> eldest) {
+				return size() > CODE_CACHE_SIZE;
+			}
+		};
+
+	private static PySystemState systemState;
+
+	private JythonInterpreterPool() {
+		// utility class
+	}
+
+	/**
+	 * Initializes the Jython system state if this has not happened yet.
+	 * {@link PySystemState#initialize} only has an effect once per JVM, so the
+	 * state is never reset and properties passed on later calls, e.g. after
+	 * the preferences changed, are ignored until KNIME is restarted.
+	 *
+	 * @param props the Jython properties, only used on the first call
+	 * @param classLoader the class loader Jython uses for loading java classes
+	 * @return the system state shared by all interpreters
+	 */
+	static synchronized PySystemState getSystemState(final Properties props,
+			final ClassLoader classLoader) {
+		if (systemState == null) {
+			PySystemState.initialize(System.getProperties(), props, new String[] {""}, classLoader);
+			systemState = Py.getSystemState();
+		}
+		return systemState;
+	}
+
+	/**
+	 * Takes an interpreter from the pool or creates a new one if none is
+	 * idle. The interpreter starts with an empty namespace.
+	 *
+	 * @param props the Jython properties, only used for initializing the
+	 *            system state
+	 * @param classLoader the class loader Jython uses for loading java classes
+	 * @return an interpreter that must be handed back using
+	 *         {@link #release(PythonInterpreter)}
+	 */
+	static PythonInterpreter acquire(final Properties props, final ClassLoader classLoader) {
+		final PythonInterpreter interpreter = idleInterpreters.poll();
+		if (interpreter == null) {
+			return new PythonInterpreter(null, getSystemState(props, classLoader));
+		}
+		numberIdleInterpreters.decrementAndGet();
+		interpreter.setLocals(new PyStringMap());
+		return interpreter;
+	}
+
+	/**
+	 * Hands an interpreter back to the pool. Its namespace is dropped so that
+	 * the objects of the last execution can be garbage collected.
+	 *
+	 * @param interpreter an interpreter obtained from
+	 *            {@link #acquire(Properties, ClassLoader)}
+	 */
+	static void release(final PythonInterpreter interpreter) {
+		interpreter.cleanup();
+		interpreter.setLocals(new PyStringMap());
+		if (numberIdleInterpreters.incrementAndGet() <= MAX_IDLE_INTERPRETERS) {
+			idleInterpreters.offer(interpreter);
+		} else {
+			numberIdleInterpreters.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Compiles the given script or returns the cached result of an earlier
+	 * compilation of the same text.
+	 *
+	 * @param source the script
+	 * @return the compiled script
+	 */
+	static PyCode compile(final String source) {
+		synchronized (codeCache) {
+			final PyCode code = codeCache.get(source);
+			if (code != null) {
+				return code;
+			}
+		}
+		// compile outside of the lock, a concurrent compilation of the same
+		// text is harmless
+		final PyCode code = __builtin__.compile(source, "<>", "exec");
+		synchronized (codeCache) {
+			codeCache.put(source, code);
+		}
+		return code;
+	}
+}
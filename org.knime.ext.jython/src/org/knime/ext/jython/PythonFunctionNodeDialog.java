@@ -20,6 +20,7 @@ public class PythonFunctionNodeDialog extends NodeDialogPane
 	private JTextArea scriptTextArea = new JTextArea(10,40);
 	private JTextField colNameTextField = new JTextField();
 	private JComboBox  colTypeSelector = new JComboBox();
+	private JCheckBox parallelCheckBox = new JCheckBox("evaluate rows in parallel");
 	/**
 	 * New pane for configuring ScriptedNode node dialog
 	 *
@@ -49,6 +50,9 @@ protected PythonFunctionNodeDialog()
 		outputPanel.add(colNameTextField);
 		outputPanel.add(new JLabel("output column type"));
 		outputPanel.add(colTypeSelector);
+		parallelCheckBox.setToolTipText(
+				"Only for functions that do not keep state across rows.");
+		outputPanel.add(parallelCheckBox);
 		
 		// construct the panel for script/function authoring
 		JPanel scriptPanel = new JPanel(new BorderLayout());
@@ -73,6 +77,8 @@ protected void loadSettingsFrom(final NodeSettingsRO settings,
 			script = "";
 		}
 		scriptTextArea.setText(script);
+		parallelCheckBox.setSelected(
+				settings.getBoolean(PythonFunctionNodeModel.PARALLEL, false));
 
 		
 		String[] dataTableColumnNames = 
@@ -102,6 +108,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings)
 			throw new InvalidSettingsException("Please specify a cell function to be run.");
 		}
 		settings.addString(PythonScriptNodeModel.SCRIPT, scriptTextArea.getText());
+		settings.addBoolean(PythonFunctionNodeModel.PARALLEL, parallelCheckBox.isSelected());
 
 		String colName = colNameTextField.getText();
 		if (colName == null || "".equals(colName)) {
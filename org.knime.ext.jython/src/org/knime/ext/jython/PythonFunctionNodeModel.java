@@ -3,8 +3,32 @@
  */
 package org.knime.ext.jython;
 
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.knime.base.data.append.column.AppendedColumnRow;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.python.core.PyCode;
+import org.python.core.PyException;
+import org.python.util.PythonInterpreter;
 
 /**
  * This is the implementation of the "JPython Script" node
@@ -14,10 +38,22 @@
 public class PythonFunctionNodeModel extends PythonScriptNodeModel
 {
 
+	public static final String PARALLEL = "parallel_evaluation";
+
+	/** Number of rows evaluated by one task in the parallel evaluation. */
+	private static final int BATCH_SIZE = 1000;
+
+	private static NodeLogger logger = NodeLogger.getLogger(PythonFunctionNodeModel.class);
+
+	private final String parallelScriptHeader;
+	private final String parallelScriptFooter;
+	protected boolean parallel = false;
+
 	protected PythonFunctionNodeModel() {
 		super(1,1);
 
-		// define the common imports string
+		// define the common imports and definitions, shared by the serial and
+		// the parallel evaluation
 		StringBuffer header = new StringBuffer();
 		header.append("from org.knime.core.data import *\n");
 		header.append("from org.knime.core.data.def import *\n");
@@ -27,7 +63,6 @@ protected PythonFunctionNodeModel() {
 		header.append("__dts = inData0.getDataTableSpec()\n");
 		header.append("row = 0\n");
 		header.append("outColumnType = outColumnTypes[0]\n");
-		header.append("print \"outcoltype = \" + outColumnType\n");
 		header.append("\n");
 		header.append("def valplain(colname) :\n");
 		header.append("    index = __dts.findColumnIndex(colname)\n");
@@ -54,11 +89,25 @@ protected PythonFunctionNodeModel() {
 		header.append("    else:\n");
 		header.append("        return StringCell(value)\n");
 		header.append("\n");
-		header.append("iterator = inData0.iterator()\n");
-		header.append("while iterator.hasNext():\n");
-		header.append("    row = iterator.next()\n");
-		header.append("    newCell = getDataCell(");
-		scriptHeader = header.toString();
+		final String commonHeader = header.toString();
+
+		// the parallel evaluation evaluates the function for a batch of rows
+		// and collects the results
+		StringBuffer parallelHeader = new StringBuffer(commonHeader);
+		parallelHeader.append("for __index in range(inRows.size()):\n");
+		parallelHeader.append("    row = inRows.get(__index)\n");
+		parallelHeader.append("    outCells.add(getDataCell(");
+		parallelScriptHeader = parallelHeader.toString();
+		parallelScriptFooter = "))\n";
+
+		// the serial evaluation iterates over all rows itself
+		StringBuffer serialHeader = new StringBuffer(commonHeader);
+		serialHeader.append("print \"outcoltype = \" + outColumnType\n");
+		serialHeader.append("iterator = inData0.iterator()\n");
+		serialHeader.append("while iterator.hasNext():\n");
+		serialHeader.append("    row = iterator.next()\n");
+		serialHeader.append("    newCell = getDataCell(");
+		scriptHeader = serialHeader.toString();
 
 
 		StringBuffer footer = new StringBuffer();
@@ -88,4 +137,148 @@ protected DataTableSpec[] configure(final DataTableSpec[] inSpecs)
 
         return super.configure(inSpecs);
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+    protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
+			final ExecutionContext exec) throws CanceledExecutionException,
+			Exception
+	{
+		if (!parallel) {
+			return super.execute(inData, exec);
+		}
+		return new BufferedDataTable[] {executeParallel(inData[0], exec)};
+	}
+
+	/**
+	 * Evaluates the function for batches of rows concurrently, each batch on
+	 * its own interpreter, and appends the results in the order of the input
+	 * rows.
+	 */
+	private BufferedDataTable executeParallel(final BufferedDataTable in,
+			final ExecutionContext exec) throws Exception
+	{
+		DataTableSpec outSpec = configure(new DataTableSpec[] {in.getDataTableSpec()})[0];
+		BufferedDataContainer outContainer = exec.createDataContainer(outSpec);
+		final PyCode code = JythonInterpreterPool.compile(
+				parallelScriptHeader + script + parallelScriptFooter);
+		final Properties props = getInterpreterProperties();
+		final ClassLoader classLoader = getClass().getClassLoader();
+		final int numThreads = Runtime.getRuntime().availableProcessors();
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		LinkedList<List<DataRow>> pendingRows = new LinkedList<List<DataRow>>();
+		LinkedList<Future<List<DataCell>>> pendingCells = new LinkedList<Future<List<DataCell>>>();
+		double rowCount = Math.max(1, in.size());
+		long rowsDone = 0;
+
+		exec.setMessage("Executing user python function...");
+		CloseableRowIterator iterator = in.iterator();
+		try {
+			List<DataRow> batch = new ArrayList<DataRow>(BATCH_SIZE);
+			while (iterator.hasNext()) {
+				batch.add(iterator.next());
+				if (batch.size() == BATCH_SIZE || !iterator.hasNext()) {
+					final List<DataRow> rows = batch;
+					pendingRows.add(rows);
+					pendingCells.add(executor.submit(new Callable<List<DataCell>>() {
+						@Override
+						public List<DataCell> call() throws Exception {
+							return evaluate(in, rows, code, props, classLoader);
+						}
+					}));
+					batch = new ArrayList<DataRow>(BATCH_SIZE);
+				}
+				// limit the number of rows held in memory
+				while (pendingCells.size() > 2 * numThreads) {
+					rowsDone += appendResults(pendingRows.poll(), pendingCells.poll(), outContainer);
+					exec.checkCanceled();
+					exec.setProgress(rowsDone / rowCount);
+				}
+			}
+			while (!pendingCells.isEmpty()) {
+				rowsDone += appendResults(pendingRows.poll(), pendingCells.poll(), outContainer);
+				exec.checkCanceled();
+				exec.setProgress(rowsDone / rowCount);
+			}
+		} finally {
+			iterator.close();
+			executor.shutdownNow();
+			outContainer.close();
+		}
+		return outContainer.getTable();
+	}
+
+	/**
+	 * Evaluates the function for the given rows on an interpreter of the pool.
+	 */
+	private List<DataCell> evaluate(final BufferedDataTable in, final List<DataRow> rows,
+			final PyCode code, final Properties props, final ClassLoader classLoader)
+	{
+		List<DataCell> cells = new ArrayList<DataCell>(rows.size());
+		PythonInterpreter interpreter = JythonInterpreterPool.acquire(props, classLoader);
+		try {
+			interpreter.setOut(new LoggerOutputStream(logger, NodeLogger.LEVEL.INFO));
+			interpreter.setErr(new LoggerOutputStream(logger, NodeLogger.LEVEL.ERROR));
+			interpreter.set("inData0", in);
+			interpreter.set("outColumnNames", columnNames);
+			interpreter.set("outColumnTypes", columnTypes);
+			interpreter.set("inRows", rows);
+			interpreter.set("outCells", cells);
+			interpreter.exec(code);
+		} finally {
+			JythonInterpreterPool.release(interpreter);
+		}
+		return cells;
+	}
+
+	/**
+	 * Waits for the results of a batch and appends them to its rows.
+	 *
+	 * @return the number of appended rows
+	 */
+	private int appendResults(final List<DataRow> rows, final Future<List<DataCell>> cells,
+			final BufferedDataContainer outContainer) throws Exception
+	{
+		List<DataCell> results;
+		try {
+			results = cells.get();
+		} catch (ExecutionException ee) {
+			Throwable cause = ee.getCause();
+			if (cause instanceof PyException) {
+				logger.error(cause.getMessage());
+				throw new Exception("Jython error (see console for error log).", cause);
+			}
+			if (cause instanceof Exception) {
+				throw (Exception) cause;
+			}
+			throw ee;
+		}
+		for (int i = 0; i < rows.size(); i++) {
+			outContainer.addRowToTable(new AppendedColumnRow(rows.get(i), results.get(i)));
+		}
+		return rows.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+    protected void saveSettingsTo(final NodeSettingsWO settings)
+	{
+		super.saveSettingsTo(settings);
+		settings.addBoolean(PARALLEL, parallel);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+    protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
+			throws InvalidSettingsException
+	{
+		super.loadValidatedSettingsFrom(settings);
+		parallel = settings.getBoolean(PARALLEL, false);
+	}
 }
@@ -34,8 +34,6 @@
 import org.python.core.Py;
 import org.python.core.PyCode;
 import org.python.core.PyException;
-import org.python.core.PySystemState;
-import org.python.core.__builtin__;
 import org.python.util.PythonInterpreter;
 
 /**
@@ -64,6 +62,7 @@ public class PythonScriptNodeModel extends NodeModel
 	private static String javaExtDirsExtensionsPath;
 	private static String javaClasspathExtensionsPath;
 	private static String pythoncacheDir;
+	private static Properties interpreterProperties;
 
 	protected PythonScriptNodeModel(final int inNumInputs, final int inNumOutputs) {
 		super(inNumInputs, inNumOutputs);
@@ -155,108 +154,40 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
 			outContainer2 = exec.createDataContainer(outSpecs[1]);
 		}
 
-		String pathSep = System.getProperty("path.separator");
-	    String fileSep = System.getProperty("file.separator");
-
-        // construct all necessary paths
-        Bundle core = Platform.getBundle("org.knime.core");
-        String coreClassPath =
-                core.getHeaders().get("Bundle-Classpath").toString();
-        String corePluginPath =
-                FileLocator
-                        .resolve(FileLocator.find(core, new Path("."), null))
-                        .getPath();
-
-        Bundle base = Platform.getBundle("org.knime.base");
-        String baseClassPath =
-                base.getHeaders().get("Bundle-Classpath").toString();
-        String basePluginPath =
-                FileLocator
-                        .resolve(FileLocator.find(base, new Path("."), null))
-                        .getPath();
-
-        Bundle python = Platform.getBundle("org.python.plugin");
-        String pythonPluginPath =
-                FileLocator.resolve(
-                        FileLocator.find(python, new Path("."), null))
-                        .getPath();
-
-        // set up ext dirs
-        StringBuffer ext = new StringBuffer();
-        ext.append(basePluginPath + fileSep + "lib");
-        ext.append(pathSep);
-        ext.append(corePluginPath + fileSep + "lib");
-        ext.append(pathSep);
-        ext.append(getJavaExtDirsExtensionPath());
-
-        // set up the classpath
-        StringBuilder classpath = new StringBuilder();
-        for (String s : coreClassPath.split(",")) {
-            URL u = FileLocator.find(core, new Path(s), null);
-            if (u != null) {
-                classpath.append(FileLocator.resolve(u).getFile());
-                classpath.append(pathSep);
-            }
-        }
-        // this entry is necessary if KNIME is started from Eclipse SDK
-        classpath.append(corePluginPath + fileSep + "bin");
-        classpath.append(pathSep);
-
-        for (String s : baseClassPath.split(",")) {
-            URL u = FileLocator.find(base, new Path(s), null);
-            if (u != null) {
-                classpath.append(FileLocator.resolve(u).getFile());
-                classpath.append(pathSep);
-            }
-        }
-        // this entry is necessary if KNIME is started from Eclipse SDK
-        classpath.append(basePluginPath + fileSep + "bin");
-        classpath.append(pathSep);
-
-        classpath.append(getJavaClasspathExtensionPath());
-
-		Options.verbose = Py.WARNING;
-		// set necessary properties
-		Properties props = new Properties();
-		props.setProperty("python.home", pythonPluginPath);
-		props.setProperty("python.cachedir", pythoncacheDir);
-		props.setProperty("java.ext.dirs", ext.toString());
-		props.setProperty("java.class.path", classpath.toString());
-		props.setProperty("python.packages.path", "java.class.path, sun.boot.class.path");
-		props.setProperty("python.packages.directories", "java.ext.dirs, python.path");
-
-		// initialize and invoke the interpreter
-		PySystemState.initialize(System.getProperties(), props, new String[] {""}, getClass().getClassLoader());
-		PySystemState state = Py.getSystemState();
-		PythonInterpreter interpreter = new PythonInterpreter(null, state);
-		interpreter.setOut(new LoggerOutputStream(logger, NodeLogger.LEVEL.INFO));
-		interpreter.setErr(new LoggerOutputStream(logger, NodeLogger.LEVEL.ERROR));
-
-		interpreter.set("inData0", in);
-		if (numInputs == 2) {
-			interpreter.set("inData1", in2);
-		}
-		interpreter.set("outContainer", outContainer);
-		interpreter.set("outColumnNames", columnNames);
-		interpreter.set("outColumnTypes", columnTypes);
-
-		exec.setMessage("Executing user python script...");
-        try {
-            exec.checkCanceled();
-        } catch (CanceledExecutionException cee) {
-            outContainer.close();
-            throw cee;
-        }
+		// initialize the interpreter
+		PythonInterpreter interpreter = JythonInterpreterPool.acquire(
+				getInterpreterProperties(), getClass().getClassLoader());
 		try {
-			PyCode code = __builtin__.compile(scriptHeader + script + scriptFooter, "<>", "exec");
-			interpreter.exec(code);
-		} catch (PyException pe) {
+			interpreter.setOut(new LoggerOutputStream(logger, NodeLogger.LEVEL.INFO));
+			interpreter.setErr(new LoggerOutputStream(logger, NodeLogger.LEVEL.ERROR));
+
+			interpreter.set("inData0", in);
+			if (numInputs == 2) {
+				interpreter.set("inData1", in2);
+			}
+			interpreter.set("outContainer", outContainer);
+			interpreter.set("outColumnNames", columnNames);
+			interpreter.set("outColumnTypes", columnTypes);
+
+			exec.setMessage("Executing user python script...");
+			try {
+				exec.checkCanceled();
+			} catch (CanceledExecutionException cee) {
+				outContainer.close();
+				throw cee;
+			}
+			try {
+				PyCode code = JythonInterpreterPool.compile(scriptHeader + script + scriptFooter);
+				interpreter.exec(code);
+			} catch (PyException pe) {
 //			pe.printStackTrace();
-			logger.error(pe.getMessage()); // + "\nFULL SCRIPT:\n" + scriptHeader + script + scriptFooter, pe);
+				logger.error(pe.getMessage()); // + "\nFULL SCRIPT:\n" + scriptHeader + script + scriptFooter, pe);
 //            setWarningMessage("Jython execution failed: " + pe.value.safeRepr());
-			throw new Exception("Jython error (see console for error log).", pe);
+				throw new Exception("Jython error (see console for error log).", pe);
+			}
+		} finally {
+			JythonInterpreterPool.release(interpreter);
 		}
-        interpreter.cleanup();
 
 		outContainer.close();
 		if (outContainer2 != null) {
@@ -379,6 +310,92 @@ protected void validateSettings(final NodeSettingsRO settings)
 	}
 
 
+	/**
+	 * Returns the properties for initializing Jython. They are computed once
+	 * per JVM since resolving the bundle classpaths is expensive. As the
+	 * Jython system state can only be initialized once per JVM, changes of the
+	 * extension paths or the cache dir after the first execution require a
+	 * restart, just as before the properties were cached.
+	 */
+	protected static synchronized Properties getInterpreterProperties() throws IOException
+	{
+		if (interpreterProperties != null) {
+			return interpreterProperties;
+		}
+		String pathSep = System.getProperty("path.separator");
+	    String fileSep = System.getProperty("file.separator");
+
+        // construct all necessary paths
+        Bundle core = Platform.getBundle("org.knime.core");
+        String coreClassPath =
+                core.getHeaders().get("Bundle-Classpath").toString();
+        String corePluginPath =
+                FileLocator
+                        .resolve(FileLocator.find(core, new Path("."), null))
+                        .getPath();
+
+        Bundle base = Platform.getBundle("org.knime.base");
+        String baseClassPath =
+                base.getHeaders().get("Bundle-Classpath").toString();
+        String basePluginPath =
+                FileLocator
+                        .resolve(FileLocator.find(base, new Path("."), null))
+                        .getPath();
+
+        Bundle python = Platform.getBundle("org.python.plugin");
+        String pythonPluginPath =
+                FileLocator.resolve(
+                        FileLocator.find(python, new Path("."), null))
+                        .getPath();
+
+        // set up ext dirs
+        StringBuffer ext = new StringBuffer();
+        ext.append(basePluginPath + fileSep + "lib");
+        ext.append(pathSep);
+        ext.append(corePluginPath + fileSep + "lib");
+        ext.append(pathSep);
+        ext.append(getJavaExtDirsExtensionPath());
+
+        // set up the classpath
+        StringBuilder classpath = new StringBuilder();
+        for (String s : coreClassPath.split(",")) {
+            URL u = FileLocator.find(core, new Path(s), null);
+            if (u != null) {
+                classpath.append(FileLocator.resolve(u).getFile());
+                classpath.append(pathSep);
+            }
+        }
+        // this entry is necessary if KNIME is started from Eclipse SDK
+        classpath.append(corePluginPath + fileSep + "bin");
+        classpath.append(pathSep);
+
+        for (String s : baseClassPath.split(",")) {
+            URL u = FileLocator.find(base, new Path(s), null);
+            if (u != null) {
+                classpath.append(FileLocator.resolve(u).getFile());
+                classpath.append(pathSep);
+            }
+        }
+        // this entry is necessary if KNIME is started from Eclipse SDK
+        classpath.append(basePluginPath + fileSep + "bin");
+        classpath.append(pathSep);
+
+        classpath.append(getJavaClasspathExtensionPath());
+
+		Options.verbose = Py.WARNING;
+		// set necessary properties
+		Properties props = new Properties();
+		props.setProperty("python.home", pythonPluginPath);
+		props.setProperty("python.cachedir", pythoncacheDir);
+		props.setProperty("java.ext.dirs", ext.toString());
+		props.setProperty("java.class.path", classpath.toString());
+		props.setProperty("python.packages.path", "java.class.path, sun.boot.class.path");
+		props.setProperty("python.packages.directories", "java.ext.dirs, python.path");
+
+		interpreterProperties = props;
+		return props;
+	}
+
 	public static void setJavaExtDirsExtensionPath(final String path) {
 		javaExtDirsExtensionsPath = path;
 	}
@@ -0,0 +1,254 @@
+# -*- coding: utf-8 -*-
+
+# Converts between pandas.DataFrames and tables serialized by a serialization library of the org.knime.python2 plugin.
+# Only the public functions of the serialization library module and the public getters of the type extension manager
+# of the kernel are used, the PythonKernel module of the org.knime.python2 plugin is not needed.
+
+import sys
+import os
+import imp
+import math
+import numpy
+from pandas import DataFrame, Index
+
+try:
+    from pandas import NaT
+except ImportError:
+    NaT = None
+
+_python3 = sys.version_info >= (3, 0)
+
+if _python3:
+    _string_types = (str,)
+    _integer_types = (int, numpy.integer)
+else:
+    _string_types = (str, unicode)
+    _integer_types = (int, long, numpy.integer)
+
+_INT32_MIN = -2147483648
+_INT32_MAX = 2147483647
+
+
+# Enum containing ids for all simple types, i.e. types that can be serialized directly using the serialization
+# library. The ids have to match the ones of org.knime.python2.extensions.serializationlibrary.interfaces.Type.
+class Simpletype():
+    BOOLEAN = 1
+    BOOLEAN_LIST = 2
+    BOOLEAN_SET = 3
+    INTEGER = 4
+    INTEGER_LIST = 5
+    INTEGER_SET = 6
+    LONG = 7
+    LONG_LIST = 8
+    LONG_SET = 9
+    DOUBLE = 10
+    DOUBLE_LIST = 11
+    DOUBLE_SET = 12
+    STRING = 13
+    STRING_LIST = 14
+    STRING_SET = 15
+    BYTES = 16
+    BYTES_LIST = 17
+    BYTES_SET = 18
+
+
+# Loads the serialization library at serializer_path. The directory containing the helper modules of the
+# org.knime.python2 plugin (module_path) has to be on the path as the serialization libraries import them.
+# @param module_path              directory of the python modules of the org.knime.python2 plugin
+# @param serializer_path          path of the python part of the serialization library
+# @param type_extension_manager   the type extension manager of the kernel, used to look up the serializers and
+#                                 deserializers of extension types
+class SerializationLibraryAdapter:
+    def __init__(self, module_path, serializer_path, type_extension_manager):
+        for path in [module_path, os.path.dirname(serializer_path)]:
+            if path not in sys.path:
+                sys.path.append(path)
+        module_name = os.path.splitext(os.path.basename(serializer_path))[0]
+        self._serializer = imp.load_source(module_name, serializer_path)
+        self._serializer.init(Simpletype)
+        self._type_extension_manager = type_extension_manager
+
+    # Converts data_bytes into a pandas.DataFrame, deserializing extension types using the type extension manager.
+    def bytes_to_data_frame(self, data_bytes):
+        column_names = self._serializer.column_names_from_bytes(data_bytes)
+        if len(column_names) == 0:
+            return DataFrame()
+        column_types = self._serializer.column_types_from_bytes(data_bytes)
+        column_serializers = self._serializer.column_serializers_from_bytes(data_bytes)
+        table = ToDataFrameTable(column_names, column_types, column_serializers)
+        self._serializer.bytes_into_table(table, data_bytes)
+        data_frame = table._data_frame
+        for column, deserializer_id in column_serializers.items():
+            deserializer = self._type_extension_manager.get_deserializer_by_id(deserializer_id)
+            if deserializer is None:
+                raise LookupError('No deserializer registered for the type of column ' + column)
+            data_frame[column] = [apply_to_cell(deserializer.deserialize, cell) for cell in data_frame[column]]
+        return data_frame
+
+    # Converts data_frame into bytes, serializing extension types using the type extension manager.
+    # @param start_row_number  the number of the first row of data_frame in the whole table, used to create the
+    #                          default row keys of chunks
+    def data_frame_to_bytes(self, data_frame, start_row_number=0):
+        return self._serializer.table_to_bytes(
+            FromDataFrameTable(data_frame, self._type_extension_manager, start_row_number))
+
+
+# Applies function to the given cell or to each element of a list or set cell, keeping missing values.
+def apply_to_cell(function, cell):
+    if isinstance(cell, list):
+        return [apply_to_cell(function, value) for value in cell]
+    if isinstance(cell, set):
+        return set(apply_to_cell(function, value) for value in cell)
+    if is_missing(cell):
+        return None
+    return function(cell)
+
+
+# checks if the given value is None, NaN or NaT
+def is_missing(value):
+    if value is None or (NaT is not None and value is NaT):
+        return True
+    try:
+        return math.isnan(value)
+    except BaseException:
+        return False
+
+
+# Table wrapper handed to the serialization library for writing a pandas.DataFrame. Provides the methods and
+# attributes the serialization libraries of the org.knime.python2 plugin use.
+class FromDataFrameTable:
+    def __init__(self, data_frame, type_extension_manager, start_row_number):
+        self._data_frame = data_frame.copy()
+        self._data_frame.columns = self._data_frame.columns.astype(str)
+        self._column_types = []
+        self._column_serializers = {}
+        for column in self._data_frame.columns:
+            column_type, serializer_id = simpletype_for_column(self._data_frame[column], type_extension_manager)
+            self._column_types.append(column_type)
+            if serializer_id is not None:
+                serializer = type_extension_manager.get_serializer_by_id(serializer_id)
+                self._data_frame[column] = [apply_to_cell(serializer.serialize, cell)
+                                            for cell in self._data_frame[column]]
+                self._column_serializers[column] = serializer_id
+        row_indices = []
+        for i, index in enumerate(self._data_frame.index):
+            if isinstance(index, _integer_types) and index == i + start_row_number:
+                row_indices.append(u'Row' + str(index))
+            else:
+                row_indices.append(str(index))
+        self._data_frame.index = Index(row_indices)
+        self._row_indices = self._data_frame.index
+
+    # the row keys are always created, row key ranges are not supported
+    def get_row_key_range(self):
+        return None
+
+    def get_type(self, column_index):
+        return self._column_types[column_index]
+
+    def get_name(self, column_index):
+        return self._data_frame.columns[column_index]
+
+    def get_names(self):
+        return self._data_frame.columns
+
+    def get_cell(self, column_index, row_index):
+        return self._data_frame.iat[row_index, column_index]
+
+    def get_rowkey(self, row_index):
+        return self._row_indices[row_index]
+
+    def get_rowkeys(self):
+        return self._row_indices
+
+    def get_number_columns(self):
+        return len(self._data_frame.columns)
+
+    def get_number_rows(self):
+        return len(self._data_frame.index)
+
+    def get_column_serializers(self):
+        return self._column_serializers
+
+
+# Table wrapper handed to the serialization library for reading a table into a pandas.DataFrame.
+class ToDataFrameTable:
+    def __init__(self, column_names, column_types, column_serializers):
+        self._column_names = column_names
+        self._column_types = column_types
+        self._column_serializers = column_serializers
+        self._data_frame = DataFrame(columns=column_names)
+
+    def add_row(self, rowkey, values):
+        row = DataFrame([values], index=[rowkey], columns=self._column_names)
+        self._data_frame = self._data_frame.append(row)
+
+    def add_column(self, column_name, values):
+        self._data_frame[column_name] = values
+
+    def set_rowkeys(self, rowkeys):
+        if len(self._data_frame.columns) == 0:
+            self._data_frame = DataFrame(index=rowkeys)
+        else:
+            self._data_frame.index = rowkeys
+
+
+# Get the simple type of the given column and the id of the serializer used for its cells, which is None if the
+# cells are serialized directly. Follows the type mapping of the protobuf conversion.
+def simpletype_for_column(column, type_extension_manager):
+    if column.dtype == 'bool':
+        return Simpletype.BOOLEAN, None
+    if column.dtype == 'int64' or column.dtype == 'int32':
+        return integer_simpletype(column, Simpletype.INTEGER, Simpletype.LONG), None
+    if column.dtype == 'float64' or column.dtype == 'float32':
+        return Simpletype.DOUBLE, None
+    cells = [cell for cell in column if not is_missing(cell)]
+    if len(cells) == 0:
+        return Simpletype.STRING, None
+    if all(isinstance(cell, list) for cell in cells) or all(isinstance(cell, set) for cell in cells):
+        is_set = isinstance(cells[0], set)
+        values = [value for cell in cells for value in cell if not is_missing(value)]
+        types = [Simpletype.BOOLEAN_LIST, Simpletype.INTEGER_LIST, Simpletype.LONG_LIST, Simpletype.DOUBLE_LIST,
+                 Simpletype.STRING_LIST, Simpletype.BYTES_LIST]
+        if is_set:
+            types = [Simpletype.BOOLEAN_SET, Simpletype.INTEGER_SET, Simpletype.LONG_SET, Simpletype.DOUBLE_SET,
+                     Simpletype.STRING_SET, Simpletype.BYTES_SET]
+        return simpletype_for_values(values, types, type_extension_manager, column.name)
+    return simpletype_for_values(cells, [Simpletype.BOOLEAN, Simpletype.INTEGER, Simpletype.LONG, Simpletype.DOUBLE,
+                                         Simpletype.STRING, Simpletype.BYTES], type_extension_manager, column.name)
+
+
+# Get the simple type of the given non missing values out of types, which contains the boolean, integer, long,
+# double, string and bytes variant of the type, and the id of the serializer used for the values.
+def simpletype_for_values(values, types, type_extension_manager, column_name):
+    if len(values) == 0 or all(isinstance(value, _string_types) for value in values):
+        return types[4], None
+    if all(isinstance(value, (bool, numpy.bool_)) for value in values):
+        return types[0], None
+    if all(isinstance(value, _integer_types) and not isinstance(value, bool) for value in values):
+        return integer_simpletype(values, types[1], types[2]), None
+    if all(isinstance(value, (float, numpy.floating)) for value in values):
+        return types[3], None
+    if _python3 and all(isinstance(value, (bytes, bytearray)) for value in values):
+        return types[5], None
+    type_string = get_type_string(values[0])
+    if any(get_type_string(value) != type_string for value in values):
+        raise ValueError('More than one type in column ' + str(column_name) + '.')
+    serializer_id = type_extension_manager.get_serializer_id_by_type(type_string)
+    if serializer_id is None:
+        raise ValueError('Column ' + str(column_name) + ' has the unsupported type ' + type_string + '.')
+    return types[5], serializer_id
+
+
+# Get integer_type if all values fit into 32 bit and long_type otherwise.
+def integer_simpletype(values, integer_type, long_type):
+    if len(values) > 0 and (min(values) < _INT32_MIN or max(values) > _INT32_MAX):
+        return long_type
+    return integer_type
+
+
+def get_type_string(object):
+    if hasattr(object, '__module__'):
+        return object.__module__ + '.' + object.__class__.__name__
+    else:
+        return object.__class__.__name__
@@ -27,6 +27,7 @@ import sqlInput_pb2
 import sqlOutput_pb2
 import variables_pb2
 from DBUtil import *
+import LegacySerialization
 
 # suppress FutureWarnings
 import warnings
@@ -58,6 +59,10 @@ except ImportError:
 _exec_env = {}
 # TCP connection
 _connection = None
+# converts tables of a serialization library of the org.knime.python2 plugin
+_serialization_library = None
+# first byte of the commands that transfer tables using a serialization library
+SERIALIZATION_COMMAND_MARKER = chr(0)
 
 # list of equivalent types
 EQUIVALENT_TYPES = [
@@ -103,7 +108,9 @@ def run():
     try:
         while 1:
             command = read_next_command()
-            if command.HasField('execute'):
+            if isinstance(command, str):
+                run_serialization_command(command)
+            elif command.HasField('execute'):
                 execute_response = executeresponse_pb2.ExecuteResponse()
                 execute_response.output, execute_response.error = execute(command.execute.sourceCode)
                 write_message(execute_response)
@@ -244,16 +251,26 @@ def _cleanup():
 def read_size():
     data = ''
     while len(data) < 4:
-        data += _connection.recv(4)
+        data += _connection.recv(4 - len(data))
     return struct.unpack('>L', data)[0]
 
 
-# read the next command message from the input stream
-def read_next_command():
+# reads the next message from the input stream as raw bytes
+def read_bytes():
     size = read_size()
     data = ''
     while len(data) < size:
-        data += _connection.recv(size)
+        data += _connection.recv(size - len(data))
+    return data
+
+
+# read the next command message from the input stream
+# returns the name of the command if it is a serialization command (marked by a leading zero byte, which no
+# serialized protobuf command starts with)
+def read_next_command():
+    data = read_bytes()
+    if data[:1] == SERIALIZATION_COMMAND_MARKER:
+        return data[1:]
     command = command_pb2.Command()
     command.ParseFromString(data)
     return command
@@ -276,6 +293,69 @@ def write_dummy():
     write_size(0)
 
 
+# writes the given bytes as a message to the output stream
+def write_bytes(data):
+    write_size(len(data))
+    _connection.sendall(data)
+
+
+# loads the given serialization library of the org.knime.python2 plugin and uses it to convert between
+# pandas.DataFrames and serialized tables
+def load_serialization_library(module_path, serializer_path):
+    global _serialization_library
+    _serialization_library = LegacySerialization.SerializationLibraryAdapter(module_path, serializer_path,
+                                                                             _type_extension_manager)
+
+
+# get the data frame with the given name or raise an error if there is none
+def get_data_frame(name):
+    frame = get_variable(name)
+    if frame is None:
+        raise LookupError(name + ' is not defined')
+    if type(frame) is not DataFrame:
+        raise TypeError(name + ' is not a table')
+    return frame
+
+
+# runs a command transferring tables using a serialization library
+# each command reads its arguments as separate messages and answers with a status message, which is empty on success
+# and contains the error otherwise, followed by its results
+def run_serialization_command(command):
+    if command == 'loadSerializationLibrary':
+        arguments = [read_bytes().decode('utf-8'), read_bytes().decode('utf-8')]
+    elif command in ['putSerializedTable', 'appendSerializedTable']:
+        arguments = [read_bytes().decode('utf-8'), read_bytes()]
+    elif command == 'getSerializedTableSize':
+        arguments = [read_bytes().decode('utf-8')]
+    elif command == 'getSerializedTableChunk':
+        arguments = [read_bytes().decode('utf-8'), int(read_bytes()), int(read_bytes())]
+    else:
+        write_bytes(('Unknown command ' + command).encode('utf-8'))
+        return
+    try:
+        if command == 'loadSerializationLibrary':
+            load_serialization_library(arguments[0], arguments[1])
+            results = []
+        elif command == 'putSerializedTable':
+            put_variable(arguments[0], _serialization_library.bytes_to_data_frame(arguments[1]))
+            results = []
+        elif command == 'appendSerializedTable':
+            append_to_table(arguments[0], _serialization_library.bytes_to_data_frame(arguments[1]))
+            results = []
+        elif command == 'getSerializedTableSize':
+            results = [str(len(get_data_frame(arguments[0]).index))]
+        else:
+            frame = get_data_frame(arguments[0])
+            start = arguments[1]
+            results = [bytes(_serialization_library.data_frame_to_bytes(frame[start:arguments[2] + 1], start))]
+    except Exception as e:
+        write_bytes(object_to_unicode(e).encode('utf-8') or type(e).__name__)
+        return
+    write_dummy()
+    for result in results:
+        write_bytes(result)
+
+
 # execute the given source code
 def execute(source_code):
     output = StringIO()
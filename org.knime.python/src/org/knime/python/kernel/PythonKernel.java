@@ -56,6 +56,7 @@
 import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -78,6 +79,7 @@
 import org.knime.core.data.filestore.FileStoreFactory;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.NodeLogger;
@@ -125,6 +127,15 @@
 import org.knime.python.typeextension.PythonModuleExtensions;
 import org.knime.python.typeextension.PythonToKnimeExtension;
 import org.knime.python.typeextension.PythonToKnimeExtensions;
+import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtension;
+import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtensions;
+import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
+import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibrary;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.BufferedDataTableChunker;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.BufferedDataTableCreator;
+import org.knime.python2.kernel.PythonKernelOptions;
 import org.w3c.dom.svg.SVGDocument;
 
 import com.google.protobuf.ByteString;
@@ -140,6 +151,27 @@ public class PythonKernel {
 
     private static final int CHUNK_SIZE = 1000;
 
+    /**
+     * The id of the org.knime.python2 serialization library used for transferring tables. Tables are transferred as
+     * protobuf messages by default, a serialization library such as "org.knime.python2.serde.arrow" can be chosen
+     * using the VM option -Dknime.python.legacy.serializationlibrary=&lt;id&gt;.
+     */
+    private static final String SERIALIZATION_LIBRARY_ID =
+        System.getProperty("knime.python.legacy.serializationlibrary", "protobuf");
+
+    /**
+     * The number of rows transferred at once using a serialization library. May be overridden using the VM option
+     * -Dknime.python.legacy.chunksize=&lt;rows&gt;.
+     */
+    private static final int SERIALIZED_CHUNK_SIZE =
+        Integer.getInteger("knime.python.legacy.chunksize", PythonKernelOptions.DEFAULT_CHUNK_SIZE);
+
+    /**
+     * First byte of a command transferring tables using a serialization library. No serialized protobuf command
+     * starts with it.
+     */
+    private static final byte SERIALIZATION_COMMAND_MARKER = 0;
+
     private static final AtomicInteger THREAD_UNIQUE_ID = new AtomicInteger();
 
     private final Process m_process;
@@ -158,6 +190,10 @@ public class PythonKernel {
 
     private final PythonToKnimeExtensions pythonToKnimeExtensions = new PythonToKnimeExtensions();
 
+    private final SerializationOptions m_serializationOptions = new SerializationOptions();
+
+    private SerializationLibrary m_serializationLibrary = null;
+
     /**
      * Creates a python kernel by starting a python process and connecting to it.
      *
@@ -273,6 +309,45 @@ public void run() {
         inFromServer = m_socket.getInputStream();
         writeMessageBytes(commandBuilder.build().toByteArray(), outToServer);
         readMessageBytes(inFromServer);
+        m_serializationLibrary = loadSerializationLibrary(SERIALIZATION_LIBRARY_ID);
+    }
+
+    /**
+     * Loads the serialization library with the given id in the python process. Tables are transferred as protobuf
+     * messages if the library is not installed or cannot be loaded, e.g. because the python environment lacks one of
+     * its modules.
+     *
+     * @param id the id of a serialization library registered at the org.knime.python2 extension point
+     * @return the java part of the serialization library or null if tables are transferred as protobuf messages
+     */
+    private SerializationLibrary loadSerializationLibrary(final String id) {
+        if (id.isEmpty() || id.equals("protobuf")) {
+            return null;
+        }
+        String libraryPath = null;
+        for (final SerializationLibraryExtension extension : SerializationLibraryExtensions.getExtensions()) {
+            if (extension.getId().equals(id)) {
+                libraryPath = extension.getPythonSerializationLibraryPath();
+            }
+        }
+        if (libraryPath == null) {
+            LOGGER.debug("Serialization library " + id + " is not installed, using protobuf to transfer tables.");
+            return null;
+        }
+        // the serialization libraries import helper modules of the org.knime.python2 plugin
+        final String modulePath =
+            org.knime.python2.Activator.getFile(org.knime.python2.Activator.PLUGIN_ID, "py").getAbsolutePath();
+        try {
+            synchronized (this) {
+                runSerializationCommand("loadSerializationLibrary", 0, toBytes(modulePath), toBytes(libraryPath));
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Could not load serialization library " + id + ", using protobuf to transfer tables. Cause: "
+                + e.getMessage(), e);
+            return null;
+        }
+        LOGGER.debug("Using serialization library " + id + " to transfer tables.");
+        return new SerializationLibraryExtensions().getSerializationLibrary(id);
     }
 
     /**
@@ -465,6 +540,10 @@ public void putDataTable(final String name, final BufferedDataTable table, final
         if (rowLimit > table.getRowCount()) {
             rowLimit = table.getRowCount();
         }
+        if (m_serializationLibrary != null) {
+            putSerializedDataTable(name, table, executionMonitor, rowLimit);
+            return;
+        }
         final ExecutionMonitor serializationMonitor = executionMonitor.createSubProgress(0.5);
         final ExecutionMonitor deserializationMonitor = executionMonitor.createSubProgress(0.5);
         int rowsDeserialized = 0;
@@ -501,6 +580,46 @@ public void putDataTable(final String name, final BufferedDataTable table, final
         rowIterator.close();
     }
 
+    /**
+     * Put the given {@link BufferedDataTable} into the workspace using the serialization library.
+     *
+     * @param name The name of the table
+     * @param table The table
+     * @param executionMonitor The monitor that will be updated about progress
+     * @param rowLimit The amount of rows that will be transfered
+     * @throws IOException If an error occured
+     */
+    private void putSerializedDataTable(final String name, final BufferedDataTable table,
+        final ExecutionMonitor executionMonitor, final long rowLimit) throws IOException {
+        final ExecutionMonitor serializationMonitor = executionMonitor.createSubProgress(0.5);
+        final ExecutionMonitor deserializationMonitor = executionMonitor.createSubProgress(0.5);
+        final CloseableRowIterator iterator = table.iterator();
+        final BufferedDataTableChunker tableChunker =
+            new BufferedDataTableChunker(table.getDataTableSpec(), iterator, table.size());
+        long numberChunks = (long)Math.ceil(rowLimit / (double)SERIALIZED_CHUNK_SIZE);
+        if (numberChunks == 0) {
+            numberChunks = 1;
+        }
+        long rowsDone = 0;
+        try {
+            synchronized (this) {
+                for (long i = 0; i < numberChunks; i++) {
+                    checkCanceled(executionMonitor);
+                    final int rowsInThisIteration = (int)Math.min(rowLimit - rowsDone, SERIALIZED_CHUNK_SIZE);
+                    final TableIterator tableIterator = tableChunker.nextChunk(rowsInThisIteration,
+                        serializationMonitor.createSubProgress(rowsInThisIteration / (double)Math.max(1, rowLimit)));
+                    final byte[] bytes = m_serializationLibrary.tableToBytes(tableIterator, m_serializationOptions);
+                    rowsDone += rowsInThisIteration;
+                    runSerializationCommand(i == 0 ? "putSerializedTable" : "appendSerializedTable", 0,
+                        toBytes(name), bytes);
+                    deserializationMonitor.setProgress(rowsDone / (double)Math.max(1, rowLimit));
+                }
+            }
+        } finally {
+            iterator.close();
+        }
+    }
+
     /**
      * @param name the name of the sql Python variable
      * @param object the {@link DatabaseQueryConnectionSettings} to transfer
@@ -591,6 +710,9 @@ public void putDataTable(final String name, final BufferedDataTable table, final
      */
     public BufferedDataTable getDataTable(final String name, final ExecutionContext exec,
         final ExecutionMonitor executionMonitor) throws IOException {
+        if (m_serializationLibrary != null) {
+            return getSerializedDataTable(name, exec, executionMonitor);
+        }
         final ExecutionMonitor serializationMonitor = executionMonitor.createSubProgress(0.5);
         final ExecutionMonitor deserializationMonitor = executionMonitor.createSubProgress(0.5);
         int rowsSerialized = 0;
@@ -625,6 +747,60 @@ public BufferedDataTable getDataTable(final String name, final ExecutionContext
         return container.getTable();
     }
 
+    /**
+     * Get a {@link BufferedDataTable} from the workspace using the serialization library.
+     *
+     * @param name The name of the table to get
+     * @return The table
+     * @param executionMonitor The monitor that will be updated about progress
+     * @throws IOException If an error occured
+     */
+    private BufferedDataTable getSerializedDataTable(final String name, final ExecutionContext exec,
+        final ExecutionMonitor executionMonitor) throws IOException {
+        final ExecutionMonitor serializationMonitor = executionMonitor.createSubProgress(0.5);
+        final ExecutionMonitor deserializationMonitor = executionMonitor.createSubProgress(0.5);
+        synchronized (this) {
+            final long rows =
+                Long.parseLong(new String(runSerializationCommand("getSerializedTableSize", 1, toBytes(name))[0],
+                    StandardCharsets.UTF_8));
+            long chunks = (long)Math.ceil(rows / (double)SERIALIZED_CHUNK_SIZE);
+            if (chunks == 0) {
+                // this happens if the table has no rows, we still want to
+                // receive the specs
+                chunks = 1;
+            }
+            BufferedDataTableCreator tableCreator = null;
+            for (long i = 0; i < chunks; i++) {
+                checkCanceled(exec);
+                final long start = SERIALIZED_CHUNK_SIZE * i;
+                final long end = Math.min(rows, start + SERIALIZED_CHUNK_SIZE) - 1;
+                final byte[] bytes = runSerializationCommand("getSerializedTableChunk", 1, toBytes(name),
+                    toBytes(Long.toString(start)), toBytes(Long.toString(end)))[0];
+                serializationMonitor.setProgress((end + 1) / (double)Math.max(1, rows));
+                if (tableCreator == null) {
+                    final TableSpec spec = m_serializationLibrary.tableSpecFromBytes(bytes);
+                    tableCreator = new BufferedDataTableCreator(spec, exec, deserializationMonitor, rows);
+                }
+                m_serializationLibrary.bytesIntoTable(tableCreator, bytes, m_serializationOptions);
+            }
+            return tableCreator.getTable();
+        }
+    }
+
+    /**
+     * Checks if the execution has been canceled, like the protobuf conversion does after each row.
+     *
+     * @param executionMonitor the monitor of the table transfer
+     * @throws IOException If the execution has been canceled
+     */
+    private static void checkCanceled(final ExecutionMonitor executionMonitor) throws IOException {
+        try {
+            executionMonitor.checkCanceled();
+        } catch (final CanceledExecutionException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
     /**
      * Get an image from the workspace.
      *
@@ -994,6 +1170,43 @@ private static int readSize(final InputStream inputStream) throws IOException {
         return ByteBuffer.wrap(bytes).getInt();
     }
 
+    /**
+     * Runs a command transferring tables using the serialization library. Must be called while holding the lock on
+     * this kernel.
+     *
+     * @param command The name of the command
+     * @param numberResults The number of messages the command answers with on success
+     * @param arguments The arguments of the command, each sent as a separate message
+     * @return The results of the command
+     * @throws IOException If an error occured or the command failed in python
+     */
+    private byte[][] runSerializationCommand(final String command, final int numberResults,
+        final byte[]... arguments) throws IOException {
+        final OutputStream outToServer = m_socket.getOutputStream();
+        final InputStream inFromServer = m_socket.getInputStream();
+        final byte[] commandBytes = toBytes(command);
+        final byte[] message = new byte[commandBytes.length + 1];
+        message[0] = SERIALIZATION_COMMAND_MARKER;
+        System.arraycopy(commandBytes, 0, message, 1, commandBytes.length);
+        writeMessageBytes(message, outToServer);
+        for (final byte[] argument : arguments) {
+            writeMessageBytes(argument, outToServer);
+        }
+        final byte[] status = readMessageBytes(inFromServer);
+        if (status.length > 0) {
+            throw new IOException(new String(status, StandardCharsets.UTF_8));
+        }
+        final byte[][] results = new byte[numberResults][];
+        for (int i = 0; i < numberResults; i++) {
+            results[i] = readMessageBytes(inFromServer);
+        }
+        return results;
+    }
+
+    private static byte[] toBytes(final String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
     /**
      * Reads the next message from the input stream.
      *
@@ -45,19 +45,31 @@
 
 package org.knime.python2.nodes;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.knime.base.node.util.exttool.ExtToolOutputNodeModel;
+import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettings;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortType;
 import org.knime.core.node.workflow.FlowVariable;
 import org.knime.core.node.workflow.FlowVariable.Type;
+import org.knime.python2.Activator;
 import org.knime.python2.config.PythonSourceCodeConfig;
 import org.knime.python2.kernel.FlowVariableOptions;
+import org.knime.python2.kernel.PythonKernel;
 import org.knime.python2.kernel.PythonKernelOptions;
+import org.knime.python2.kernel.PythonOutputBuffer;
 
 /**
  * Base model for all python related nodes. Provides methods for loading and saving settings and for pushing a
@@ -70,6 +82,12 @@
 
     Config m_config = createConfig();
 
+    private List<FlowVariable> m_returnedVariables;
+
+    private PythonOutputBuffer m_stdoutBuffer;
+
+    private PythonOutputBuffer m_stderrBuffer;
+
     /**
      * Constructor.
      *
@@ -107,6 +125,136 @@ protected PythonKernelOptions getKernelOptions() {
         return options;
     }
 
+    /**
+     * Starts a new python kernel with the kernel specific options whose output is streamed to the node's external
+     * output (see {@link #streamOutput(PythonKernel)}).
+     *
+     * @return the started kernel
+     * @throws IOException if the kernel could not be started
+     */
+    protected PythonKernel createKernel() throws IOException {
+        return createKernel(getKernelOptions());
+    }
+
+    /**
+     * Starts a new python kernel with the given options whose output is streamed to the node's external output (see
+     * {@link #streamOutput(PythonKernel)}).
+     *
+     * @param options the kernel options
+     * @return the started kernel
+     * @throws IOException if the kernel could not be started
+     */
+    protected PythonKernel createKernel(final PythonKernelOptions options) throws IOException {
+        final PythonKernel kernel = new PythonKernel(options);
+        streamOutput(kernel);
+        return kernel;
+    }
+
+    /**
+     * Streams the stdout and stderr output of the given kernel to the node's external output while it executes. Only
+     * the most recent lines are kept, as configured by {@link PythonKernelOptions#getOutputCapacity()}, and updates are
+     * rate limited by {@link PythonKernelOptions#getOutputUpdateInterval()}.
+     *
+     * @param kernel the kernel whose output to stream
+     */
+    protected void streamOutput(final PythonKernel kernel) {
+        final PythonKernelOptions options = getConfig().getKernelOptions();
+        m_stdoutBuffer = new PythonOutputBuffer(options.getOutputCapacity(), options.getOutputUpdateInterval(),
+            lines -> setExternalOutput(lines));
+        m_stderrBuffer = new PythonOutputBuffer(options.getOutputCapacity(), options.getOutputUpdateInterval(),
+            lines -> setExternalErrorOutput(lines));
+        kernel.addStdoutListener(m_stdoutBuffer);
+        kernel.addStderrorListener(m_stderrBuffer);
+    }
+
+    /**
+     * Shows the error output of an execution, i.e. the traceback of a failing script, below the streamed error output.
+     * The standard output and warnings of the execution have already been streamed (see
+     * {@link #streamOutput(PythonKernel)}), so they are not replaced.
+     *
+     * @param output the output returned by {@link PythonKernel#execute(String, org.knime.core.node.ExecutionContext)}
+     */
+    protected void showErrorOutput(final String[] output) {
+        if (output[1].isEmpty()) {
+            return;
+        }
+        final List<String> lines = Arrays.asList(output[1].split("\n"));
+        if (m_stderrBuffer == null) {
+            setExternalErrorOutput(new LinkedList<String>(lines));
+            return;
+        }
+        for (final String line : lines) {
+            m_stderrBuffer.messageReceived(line);
+        }
+        m_stderrBuffer.flush();
+    }
+
+    /**
+     * Stops streaming the output of the given kernel to the node's external output. Has to be called by nodes that
+     * use a kernel that outlives their execution, e.g. the kernel of a python session, after passing it to
+     * {@link #streamOutput(PythonKernel)}.
+     *
+     * @param kernel the kernel whose output is streamed
+     */
+    protected void stopStreamingOutput(final PythonKernel kernel) {
+        if (m_stdoutBuffer != null) {
+            kernel.removeStdoutListener(m_stdoutBuffer);
+            m_stdoutBuffer = null;
+        }
+        if (m_stderrBuffer != null) {
+            kernel.removeStderrorListener(m_stderrBuffer);
+            m_stderrBuffer = null;
+        }
+    }
+
+    /**
+     * Runs the given execution unless the result cache is enabled in the config and holds the outputs of an earlier
+     * execution with the same settings, flow variables and inputs. In that case the cached outputs and flow variables
+     * are restored and python is not started at all. Otherwise the outputs and the flow variables passed to
+     * {@link #addNewVariables(Collection)} are stored in the cache after a successful execution.
+     *
+     * @param inData the input port objects
+     * @param exec the execution context
+     * @param execution the actual execution of the node
+     * @param <T> the type of the port objects, the outputs are restored into an array of the same type as the inputs
+     * @return the output port objects
+     * @throws Exception if the execution fails
+     */
+    protected <T extends PortObject> T[] executeCached(final T[] inData, final ExecutionContext exec,
+        final Callable<T[]> execution) throws Exception {
+        if (!m_config.getCacheResults()) {
+            return execution.call();
+        }
+        final NodeSettings settings = new NodeSettings("config");
+        m_config.saveTo(settings);
+        final String pythonCommand =
+            m_config.getKernelOptions().getPythonVersionOption() == PythonKernelOptions.PythonVersionOption.PYTHON3
+                ? Activator.getPython3Command() : Activator.getPython2Command();
+        final String key = PythonResultCache.fingerprint(getClass().getName(), settings, pythonCommand,
+            getAvailableFlowVariables().values(), inData, exec.createSubProgress(0));
+        if (key == null) {
+            return execution.call();
+        }
+        final PythonResultCache.Result cached = PythonResultCache.load(key, getNrOutPorts(), exec);
+        if (cached != null) {
+            getLogger().debug("Restored outputs from the python result cache (key " + key + ")");
+            setExternalOutput(new LinkedList<String>(Arrays.asList("Outputs restored from the result cache.")));
+            setExternalErrorOutput(new LinkedList<String>());
+            addNewVariables(cached.getFlowVariables());
+            @SuppressWarnings("unchecked")
+            final T[] outputs = (T[])Arrays.copyOf(cached.getOutputs(), cached.getOutputs().length, inData.getClass());
+            return outputs;
+        }
+        m_returnedVariables = new ArrayList<FlowVariable>();
+        try {
+            final T[] outputs = execution.call();
+            PythonResultCache.store(key, outputs, m_returnedVariables, exec);
+            return outputs;
+        } finally {
+            m_returnedVariables = null;
+        }
+    }
+
     /**
      * Push new variables to the stack.
      *
@@ -115,6 +263,9 @@ protected PythonKernelOptions getKernelOptions() {
      * @param newVariables The flow variables to push
      */
     protected void addNewVariables(final Collection<FlowVariable> newVariables) {
+        if (m_returnedVariables != null) {
+            m_returnedVariables.addAll(newVariables);
+        }
         final Map<String, FlowVariable> flowVariables = getAvailableFlowVariables();
         for (final FlowVariable variable : newVariables) {
             // Only push if variable is new or has changed type or value
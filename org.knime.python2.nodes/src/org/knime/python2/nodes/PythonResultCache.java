@@ -0,0 +1,453 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.nodes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataCellSerializer;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTypeRegistry;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.filestore.FileStoreCell;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortUtil;
+import org.knime.core.node.workflow.FlowVariable;
+import org.knime.core.node.workflow.FlowVariable.Type;
+import org.knime.core.util.FileUtil;
+import org.knime.python2.port.PickledObject;
+import org.knime.python2.port.PickledObjectPortObject;
+
+/**
+ * Disk cache for the outputs of python nodes. Entries are keyed by a fingerprint of the node type, its settings, the
+ * available flow variables and the content of its inputs. The cache is shared by all nodes and bounded in size, the
+ * least recently used entries are evicted first.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class PythonResultCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonResultCache.class);
+
+    /**
+     * The maximum size of the result cache on disk in megabytes. May be overridden using the VM option
+     * -Dknime.python.cache.size=&lt;megabytes&gt;.
+     */
+    static final long MAX_SIZE_MB = Long.getLong("knime.python.cache.size", 1024);
+
+    private static final String CACHE_DIRECTORY = "python-result-cache";
+
+    private static final String PORT_FILE_PREFIX = "port";
+
+    private static final String VARIABLES_FILE = "variables.xml";
+
+    private static final String CFG_NAME = "name";
+
+    private static final String CFG_TYPE = "type";
+
+    private static final String CFG_VALUE = "value";
+
+    private static final Object LOCK = new Object();
+
+    private PythonResultCache() {
+    }
+
+    /**
+     * Outputs restored from the cache.
+     */
+    static final class Result {
+
+        private final PortObject[] m_outputs;
+
+        private final List<FlowVariable> m_flowVariables;
+
+        private Result(final PortObject[] outputs, final List<FlowVariable> flowVariables) {
+            m_outputs = outputs;
+            m_flowVariables = flowVariables;
+        }
+
+        /**
+         * @return the output port objects
+         */
+        PortObject[] getOutputs() {
+            return m_outputs;
+        }
+
+        /**
+         * @return the flow variables that were returned by python
+         */
+        List<FlowVariable> getFlowVariables() {
+            return m_flowVariables;
+        }
+    }
+
+    /**
+     * Computes the cache key of an execution. Tables are fingerprinted by their spec, row keys and the content of their
+     * cells as written by the cells' {@link DataCellSerializer}s, pickled objects by their bytes. Other port objects
+     * only contribute their type. Tables containing cells without a serializer or file store cells, whose content is
+     * not part of the cell, cannot be fingerprinted.
+     *
+     * @param nodeType identifies the kind of node, e.g. the class name of its model
+     * @param settings the node settings, containing the source code and the kernel options
+     * @param pythonCommand the command used to start python, as configured in the preferences
+     * @param flowVariables the flow variables available to the node
+     * @param inData the input port objects
+     * @param exec monitor used to report progress and check for cancellation while reading the input tables
+     * @return the cache key or null if the inputs cannot be fingerprinted
+     * @throws CanceledExecutionException if execution has been canceled
+     * @throws IOException if the settings could not be serialized
+     */
+    static String fingerprint(final String nodeType, final NodeSettings settings, final String pythonCommand,
+        final Collection<FlowVariable> flowVariables, final PortObject[] inData, final ExecutionMonitor exec)
+        throws CanceledExecutionException, IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        update(digest, nodeType);
+        update(digest, pythonCommand);
+        final DigestingOutputStream settingsOut = new DigestingOutputStream(digest);
+        settings.saveToXML(settingsOut);
+        final Map<String, FlowVariable> sortedVariables = new TreeMap<String, FlowVariable>();
+        for (final FlowVariable variable : flowVariables) {
+            sortedVariables.put(variable.getName(), variable);
+        }
+        for (final FlowVariable variable : sortedVariables.values()) {
+            update(digest, variable.getName());
+            update(digest, variable.getType().name());
+            update(digest, variable.getValueAsString());
+        }
+        for (final PortObject port : inData) {
+            if (port == null) {
+                update(digest, "null");
+            } else if (port instanceof BufferedDataTable) {
+                try {
+                    updateTable(digest, (BufferedDataTable)port, exec);
+                } catch (final IOException e) {
+                    LOGGER.debug("Python results are not cached: " + e.getMessage());
+                    return null;
+                }
+            } else if (port instanceof PickledObjectPortObject) {
+                final PickledObject object = ((PickledObjectPortObject)port).getPickledObject();
+                update(digest, object.getType());
+                digest.update(object.getPickledObject());
+            } else {
+                update(digest, port.getClass().getName());
+            }
+        }
+        return String.format("%064x", new BigInteger(1, digest.digest()));
+    }
+
+    private static void updateTable(final MessageDigest digest, final BufferedDataTable table,
+        final ExecutionMonitor exec) throws CanceledExecutionException, IOException {
+        for (final DataColumnSpec column : table.getDataTableSpec()) {
+            update(digest, column.getName());
+            update(digest, column.getType().toString());
+        }
+        final long rowCount = table.size();
+        long rowIndex = 0;
+        final DigestingCellOutput cellOut = new DigestingCellOutput(digest);
+        final CloseableRowIterator iterator = table.iterator();
+        try {
+            while (iterator.hasNext()) {
+                final DataRow row = iterator.next();
+                update(digest, row.getKey().getString());
+                for (final DataCell cell : row) {
+                    cellOut.writeDataCell(cell);
+                }
+                cellOut.flush();
+                exec.checkCanceled();
+                exec.setProgress(++rowIndex / (double)Math.max(rowCount, 1), "Computing cache key");
+            }
+        } finally {
+            iterator.close();
+        }
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte)0);
+    }
+
+    /**
+     * Restores the outputs stored under the given key.
+     *
+     * @param key the cache key
+     * @param numOutputs the number of output ports of the node
+     * @param exec context used to create the restored tables
+     * @return the restored outputs or null if the cache holds no usable entry for the key
+     * @throws CanceledExecutionException if execution has been canceled
+     */
+    static Result load(final String key, final int numOutputs, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final File entry = new File(getCacheDirectory(), key);
+        if (!entry.isDirectory()) {
+            return null;
+        }
+        try {
+            final PortObject[] outputs = new PortObject[numOutputs];
+            for (int i = 0; i < numOutputs; i++) {
+                try (final InputStream in =
+                        new BufferedInputStream(new FileInputStream(new File(entry, PORT_FILE_PREFIX + i)))) {
+                    outputs[i] = PortUtil.readObjectFromStream(in, exec);
+                }
+            }
+            final NodeSettingsRO settings;
+            try (final InputStream in = new BufferedInputStream(new FileInputStream(new File(entry, VARIABLES_FILE)))) {
+                settings = NodeSettings.loadFromXML(in);
+            }
+            final List<FlowVariable> flowVariables = new ArrayList<FlowVariable>();
+            for (final String child : settings.keySet()) {
+                flowVariables.add(loadFlowVariable(settings.getNodeSettings(child)));
+            }
+            entry.setLastModified(System.currentTimeMillis());
+            return new Result(outputs, flowVariables);
+        } catch (final CanceledExecutionException e) {
+            throw e;
+        } catch (final Exception e) {
+            LOGGER.warn("Could not restore cached python results, executing instead: " + e.getMessage(), e);
+            synchronized (LOCK) {
+                FileUtil.deleteRecursively(entry);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stores the outputs of an execution under the given key and evicts the least recently used entries if the cache
+     * exceeds its maximum size. Failing to store an entry is logged but does not fail the execution.
+     *
+     * @param key the cache key
+     * @param outputs the output port objects
+     * @param flowVariables the flow variables returned by python
+     * @param exec monitor used to check for cancellation while writing the outputs
+     */
+    static void store(final String key, final PortObject[] outputs, final Collection<FlowVariable> flowVariables,
+        final ExecutionMonitor exec) {
+        final File directory = getCacheDirectory();
+        final File temp = new File(directory, "." + UUID.randomUUID());
+        try {
+            if (!temp.mkdirs()) {
+                throw new IOException("Could not create directory " + temp);
+            }
+            for (int i = 0; i < outputs.length; i++) {
+                try (final OutputStream out =
+                        new BufferedOutputStream(new FileOutputStream(new File(temp, PORT_FILE_PREFIX + i)))) {
+                    PortUtil.writeObjectToStream(outputs[i], out, exec);
+                }
+            }
+            final NodeSettings settings = new NodeSettings("variables");
+            int index = 0;
+            for (final FlowVariable variable : flowVariables) {
+                saveFlowVariable(variable, settings.addNodeSettings("variable_" + index++));
+            }
+            try (final OutputStream out =
+                    new BufferedOutputStream(new FileOutputStream(new File(temp, VARIABLES_FILE)))) {
+                settings.saveToXML(out);
+            }
+            synchronized (LOCK) {
+                final File entry = new File(directory, key);
+                if (!entry.exists() && !temp.renameTo(entry)) {
+                    throw new IOException("Could not create cache entry " + entry);
+                }
+                evict(directory);
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Could not cache python results: " + e.getMessage(), e);
+        } finally {
+            FileUtil.deleteRecursively(temp);
+        }
+    }
+
+    private static void evict(final File directory) {
+        final File[] entries = directory.listFiles(f -> f.isDirectory() && !f.getName().startsWith("."));
+        if (entries == null) {
+            return;
+        }
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+        final long[] sizes = new long[entries.length];
+        long total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            sizes[i] = sizeOf(entries[i]);
+            total += sizes[i];
+        }
+        final long maxSize = MAX_SIZE_MB * 1024 * 1024;
+        for (int i = 0; (i < entries.length) && (total > maxSize); i++) {
+            if (FileUtil.deleteRecursively(entries[i])) {
+                total -= sizes[i];
+            }
+        }
+    }
+
+    private static long sizeOf(final File entry) {
+        long size = 0;
+        final File[] files = entry.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                size += file.length();
+            }
+        }
+        return size;
+    }
+
+    private static void saveFlowVariable(final FlowVariable variable, final NodeSettingsWO settings) {
+        settings.addString(CFG_NAME, variable.getName());
+        settings.addString(CFG_TYPE, variable.getType().name());
+        if (variable.getType().equals(Type.INTEGER)) {
+            settings.addInt(CFG_VALUE, variable.getIntValue());
+        } else if (variable.getType().equals(Type.DOUBLE)) {
+            settings.addDouble(CFG_VALUE, variable.getDoubleValue());
+        } else {
+            settings.addString(CFG_VALUE, variable.getStringValue());
+        }
+    }
+
+    private static FlowVariable loadFlowVariable(final NodeSettingsRO settings) throws InvalidSettingsException {
+        final String name = settings.getString(CFG_NAME);
+        final Type type = Type.valueOf(settings.getString(CFG_TYPE));
+        if (type.equals(Type.INTEGER)) {
+            return new FlowVariable(name, settings.getInt(CFG_VALUE));
+        } else if (type.equals(Type.DOUBLE)) {
+            return new FlowVariable(name, settings.getDouble(CFG_VALUE));
+        }
+        return new FlowVariable(name, settings.getString(CFG_VALUE));
+    }
+
+    private static File getCacheDirectory() {
+        return new File(KNIMEConstants.getKNIMEHomeDir(), CACHE_DIRECTORY);
+    }
+
+    /**
+     * Output stream feeding all written bytes into a {@link MessageDigest}.
+     */
+    private static final class DigestingOutputStream extends OutputStream {
+
+        private final MessageDigest m_digest;
+
+        private DigestingOutputStream(final MessageDigest digest) {
+            m_digest = digest;
+        }
+
+        @Override
+        public void write(final int b) {
+            m_digest.update((byte)b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            m_digest.update(b, off, len);
+        }
+    }
+
+    /**
+     * Cell output feeding the class and the serialized content of all written cells into a {@link MessageDigest}.
+     */
+    private static final class DigestingCellOutput extends DataOutputStream implements DataCellDataOutput {
+
+        private DigestingCellOutput(final MessageDigest digest) {
+            super(new DigestingOutputStream(digest));
+        }
+
+        @Override
+        public void writeDataCell(final DataCell cell) throws IOException {
+            writeUTF(cell.getClass().getName());
+            if (cell.isMissing()) {
+                return;
+            }
+            if (cell instanceof FileStoreCell) {
+                throw new IOException("The content of " + cell.getType() + " cells is stored in files.");
+            }
+            @SuppressWarnings("unchecked")
+            final Optional<DataCellSerializer<DataCell>> serializer =
+                DataTypeRegistry.getInstance().getSerializer((Class<DataCell>)cell.getClass());
+            if (!serializer.isPresent()) {
+                throw new IOException("No serializer is available for " + cell.getType() + " cells.");
+            }
+            serializer.get().serialize(cell, this);
+        }
+    }
+
+}
@@ -64,7 +64,7 @@ protected String getDefaultSourceCode() {
         return "# To prevent changes to the database in the node dialog\n" + "# do NOT call commit() in your script!\n"
         + "# All changes to the database are automatically\n" + "# committed once the node is executed.\n"
         + "# To list all functions of the db_util object call\n" + "# " + var + ".print_description()\n\n" + "df = "
-        + var + ".get_dataframe()\n" + var + ".write_dataframe('resultTableName', df)";
+        + var + ".fetch_dataframe()\n" + var + ".write_dataframe('resultTableName', df)";
 
     }
 
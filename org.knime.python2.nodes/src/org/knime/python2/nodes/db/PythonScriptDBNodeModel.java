@@ -49,7 +49,6 @@
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
 
@@ -96,7 +95,7 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
 
         final DatabasePortObject dbObj = (DatabasePortObject)inData[0];
         checkDBConnection(dbObj.getSpec());
-        try(final PythonKernel kernel = new PythonKernel(options)) {
+        try(final PythonKernel kernel = createKernel(options)) {
             kernel.putFlowVariables(PythonScriptDBNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             final CredentialsProvider cp = getCredentialsProvider();
@@ -104,8 +103,7 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
             final Collection<String> jars = getJars(connIn);
             kernel.putSql(PythonScriptDBNodeConfig.getVariableNames().getGeneralInputObjects()[0], connIn, cp, jars);
             final String[] output = kernel.execute(getConfig().getSourceCode(), exec);
-            setExternalOutput(new LinkedList<>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<>(Arrays.asList(output[1].split("\n"))));
+            showErrorOutput(output);
             final Collection<FlowVariable> variables =
                     kernel.getFlowVariables(PythonScriptDBNodeConfig.getVariableNames().getFlowVariables());
             addNewVariables(variables);
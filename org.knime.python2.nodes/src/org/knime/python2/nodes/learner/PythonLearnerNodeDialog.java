@@ -81,6 +81,7 @@ protected PythonLearnerNodeDialog() {
         m_sourceCodePanel = new PythonSourceCodePanel(PythonLearnerNodeConfig.getVariableNames(),
             FlowVariableOptions.parse(getAvailableFlowVariables()));
         m_sourceCodeOptionsPanel = new PythonSourceCodeOptionsPanel(m_sourceCodePanel);
+        m_sourceCodeOptionsPanel.showCacheResultsOption();
         m_templatesPanel = new SourceCodeTemplatesPanel(m_sourceCodePanel, "python-learner");
         addTab("Script", m_sourceCodePanel, false);
         addTab("Options", m_sourceCodeOptionsPanel, true);
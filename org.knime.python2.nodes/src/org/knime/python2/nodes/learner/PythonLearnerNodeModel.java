@@ -47,9 +47,7 @@
  */
 package org.knime.python2.nodes.learner;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.ExecutionContext;
@@ -83,23 +81,24 @@ protected PythonLearnerNodeModel() {
      */
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
-        PickledObject object = null;
-        try(final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
-            kernel.putFlowVariables(PythonLearnerNodeConfig.getVariableNames().getFlowVariables(),
-                getAvailableFlowVariables().values());
-            kernel.putDataTable(PythonLearnerNodeConfig.getVariableNames().getInputTables()[0],
-                (BufferedDataTable)inData[0], exec.createSubProgress(0.3));
-            final String[] output = kernel.execute(getConfig().getSourceCode(), exec);
-            setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
-            exec.createSubProgress(0.6).setProgress(1);
-            final Collection<FlowVariable> variables =
-                    kernel.getFlowVariables(PythonLearnerNodeConfig.getVariableNames().getFlowVariables());
-            object = kernel.getObject(PythonLearnerNodeConfig.getVariableNames().getOutputObjects()[0], exec);
-            exec.createSubProgress(0.1).setProgress(1);
-            addNewVariables(variables);
-        }
-        return new PortObject[]{new PickledObjectPortObject(object)};
+        return executeCached(inData, exec, () -> {
+            PickledObject object = null;
+            try(final PythonKernel kernel = createKernel()) {
+                kernel.putFlowVariables(PythonLearnerNodeConfig.getVariableNames().getFlowVariables(),
+                    getAvailableFlowVariables().values());
+                kernel.putDataTable(PythonLearnerNodeConfig.getVariableNames().getInputTables()[0],
+                    (BufferedDataTable)inData[0], exec.createSubProgress(0.3));
+                final String[] output = kernel.execute(getConfig().getSourceCode(), exec);
+                showErrorOutput(output);
+                exec.createSubProgress(0.6).setProgress(1);
+                final Collection<FlowVariable> variables =
+                        kernel.getFlowVariables(PythonLearnerNodeConfig.getVariableNames().getFlowVariables());
+                object = kernel.getObject(PythonLearnerNodeConfig.getVariableNames().getOutputObjects()[0], exec);
+                exec.createSubProgress(0.1).setProgress(1);
+                addNewVariables(variables);
+            }
+            return new PortObject[]{new PickledObjectPortObject(object)};
+        });
     }
 
     /**
@@ -47,9 +47,7 @@
  */
 package org.knime.python2.nodes.objectwriter;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
@@ -81,15 +79,14 @@ protected PythonObjectWriterNodeModel() {
      */
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
-        try(final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try(final PythonKernel kernel = createKernel()) {
             kernel.putFlowVariables(PythonObjectWriterNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             kernel.putObject(PythonObjectWriterNodeConfig.getVariableNames().getInputObjects()[0],
                 ((PickledObjectPortObject)inData[0]).getPickledObject(), exec);
             exec.createSubProgress(0.1).setProgress(1);
             final String[] output = kernel.execute(getConfig().getSourceCode(), exec);
-            setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
+            showErrorOutput(output);
             final Collection<FlowVariable> variables =
                     kernel.getFlowVariables(PythonObjectWriterNodeConfig.getVariableNames().getFlowVariables());
             exec.createSubProgress(0.9).setProgress(1);
@@ -84,6 +84,7 @@ protected PythonPredictorNodeDialog() {
         m_sourceCodePanel = new PythonSourceCodePanel(PythonPredictorNodeConfig.getVariableNames(),
             FlowVariableOptions.parse(getAvailableFlowVariables()));
         m_sourceCodeOptionsPanel = new PythonSourceCodeOptionsPanel(m_sourceCodePanel);
+        m_sourceCodeOptionsPanel.showCacheResultsOption();
         m_templatesPanel = new SourceCodeTemplatesPanel(m_sourceCodePanel, "python-predictor");
         addTab("Script", m_sourceCodePanel, false);
         addTab("Options", m_sourceCodeOptionsPanel, true);
@@ -47,9 +47,7 @@
  */
 package org.knime.python2.nodes.predictor;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.ExecutionContext;
@@ -83,26 +81,27 @@ protected PythonPredictorNodeModel() {
      */
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
-        BufferedDataTable table = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
-            kernel.putFlowVariables(PythonPredictorNodeConfig.getVariableNames().getFlowVariables(),
-                getAvailableFlowVariables().values());
-            kernel.putObject(PythonPredictorNodeConfig.getVariableNames().getInputObjects()[0],
-                ((PickledObjectPortObject)inData[0]).getPickledObject(), exec);
-            exec.createSubProgress(0.1).setProgress(1);
-            kernel.putDataTable(PythonPredictorNodeConfig.getVariableNames().getInputTables()[0],
-                (BufferedDataTable)inData[1], exec.createSubProgress(0.2));
-            final String[] output = kernel.execute(getConfig().getSourceCode(), exec);
-            setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
-            exec.createSubProgress(0.4).setProgress(1);
-            final Collection<FlowVariable> variables =
-                kernel.getFlowVariables(PythonPredictorNodeConfig.getVariableNames().getFlowVariables());
-            table = kernel.getDataTable(PythonPredictorNodeConfig.getVariableNames().getOutputTables()[0], exec,
-                exec.createSubProgress(0.3));
-            addNewVariables(variables);
-        }
-        return new BufferedDataTable[]{table};
+        return executeCached(inData, exec, () -> {
+            BufferedDataTable table = null;
+            try (final PythonKernel kernel = createKernel()) {
+                kernel.putFlowVariables(PythonPredictorNodeConfig.getVariableNames().getFlowVariables(),
+                    getAvailableFlowVariables().values());
+                kernel.putObject(PythonPredictorNodeConfig.getVariableNames().getInputObjects()[0],
+                    ((PickledObjectPortObject)inData[0]).getPickledObject(), exec);
+                exec.createSubProgress(0.1).setProgress(1);
+                kernel.putDataTable(PythonPredictorNodeConfig.getVariableNames().getInputTables()[0],
+                    (BufferedDataTable)inData[1], exec.createSubProgress(0.2));
+                final String[] output = kernel.execute(getConfig().getSourceCode(), exec);
+                showErrorOutput(output);
+                exec.createSubProgress(0.4).setProgress(1);
+                final Collection<FlowVariable> variables =
+                    kernel.getFlowVariables(PythonPredictorNodeConfig.getVariableNames().getFlowVariables());
+                table = kernel.getDataTable(PythonPredictorNodeConfig.getVariableNames().getOutputTables()[0], exec,
+                    exec.createSubProgress(0.3));
+                addNewVariables(variables);
+            }
+            return new BufferedDataTable[]{table};
+        });
     }
 
     /**
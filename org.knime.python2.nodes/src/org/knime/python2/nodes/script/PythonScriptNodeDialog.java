@@ -81,6 +81,7 @@ protected PythonScriptNodeDialog() {
         m_sourceCodePanel = new PythonSourceCodePanel(PythonScriptNodeConfig.getVariableNames(),
             FlowVariableOptions.parse(getAvailableFlowVariables()));
         m_sourceCodeOptionsPanel = new PythonSourceCodeOptionsPanel(m_sourceCodePanel);
+        m_sourceCodeOptionsPanel.showCacheResultsOption();
         m_templatesPanel = new SourceCodeTemplatesPanel(m_sourceCodePanel, "python-script");
         addTab("Script", m_sourceCodePanel, false);
         addTab("Options", m_sourceCodeOptionsPanel, true);
@@ -81,6 +81,7 @@ protected PythonScript1In2OutNodeDialog() {
         m_sourceCodePanel = new PythonSourceCodePanel(PythonScript1In2OutNodeConfig.getVariableNames(),
             FlowVariableOptions.parse(getAvailableFlowVariables()));
         m_sourceCodeOptionsPanel = new PythonSourceCodeOptionsPanel(m_sourceCodePanel);
+        m_sourceCodeOptionsPanel.showCacheResultsOption();
         m_templatesPanel = new SourceCodeTemplatesPanel(m_sourceCodePanel, "python-script-1in2out");
         addTab("Script", m_sourceCodePanel, false);
         addTab("Options", m_sourceCodeOptionsPanel, true);
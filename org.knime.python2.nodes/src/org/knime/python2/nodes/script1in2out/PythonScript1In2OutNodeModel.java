@@ -47,9 +47,7 @@
  */
 package org.knime.python2.nodes.script1in2out;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataTable;
@@ -80,26 +78,27 @@ protected PythonScript1In2OutNodeModel() {
      */
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec) throws Exception {
-        BufferedDataTable table1 = null;
-        BufferedDataTable table2 = null;
-        try(final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
-        kernel.putFlowVariables(PythonScript1In2OutNodeConfig.getVariableNames().getFlowVariables(),
-                getAvailableFlowVariables().values());
-            kernel.putDataTable(PythonScript1In2OutNodeConfig.getVariableNames().getInputTables()[0], inData[0],
-                exec.createSubProgress(0.3));
-            final String[] output = kernel.execute(getConfig().getSourceCode(), exec);
-            setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
-            exec.createSubProgress(0.4).setProgress(1);
-            final Collection<FlowVariable> variables =
-                    kernel.getFlowVariables(PythonScript1In2OutNodeConfig.getVariableNames().getFlowVariables());
-            table1 = kernel.getDataTable(PythonScript1In2OutNodeConfig.getVariableNames().getOutputTables()[0], exec,
-                exec.createSubProgress(0.15));
-            table2 = kernel.getDataTable(PythonScript1In2OutNodeConfig.getVariableNames().getOutputTables()[1], exec,
-                exec.createSubProgress(0.15));
-            addNewVariables(variables);
-        }
-        return new BufferedDataTable[]{table1, table2};
+        return executeCached(inData, exec, () -> {
+            BufferedDataTable table1 = null;
+            BufferedDataTable table2 = null;
+            try(final PythonKernel kernel = createKernel()) {
+                kernel.putFlowVariables(PythonScript1In2OutNodeConfig.getVariableNames().getFlowVariables(),
+                    getAvailableFlowVariables().values());
+                kernel.putDataTable(PythonScript1In2OutNodeConfig.getVariableNames().getInputTables()[0], inData[0],
+                    exec.createSubProgress(0.3));
+                final String[] output = kernel.execute(getConfig().getSourceCode(), exec);
+                showErrorOutput(output);
+                exec.createSubProgress(0.4).setProgress(1);
+                final Collection<FlowVariable> variables =
+                        kernel.getFlowVariables(PythonScript1In2OutNodeConfig.getVariableNames().getFlowVariables());
+                table1 = kernel.getDataTable(PythonScript1In2OutNodeConfig.getVariableNames().getOutputTables()[0],
+                    exec, exec.createSubProgress(0.15));
+                table2 = kernel.getDataTable(PythonScript1In2OutNodeConfig.getVariableNames().getOutputTables()[1],
+                    exec, exec.createSubProgress(0.15));
+                addNewVariables(variables);
+            }
+            return new BufferedDataTable[]{table1, table2};
+        });
     }
 
     /**
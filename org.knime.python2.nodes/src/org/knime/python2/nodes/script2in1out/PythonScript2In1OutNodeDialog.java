@@ -81,6 +81,7 @@ protected PythonScript2In1OutNodeDialog() {
         m_sourceCodePanel = new PythonSourceCodePanel(PythonScript2In1OutNodeConfig.getVariableNames(),
             FlowVariableOptions.parse(getAvailableFlowVariables()));
         m_sourceCodeOptionsPanel = new PythonSourceCodeOptionsPanel(m_sourceCodePanel);
+        m_sourceCodeOptionsPanel.showCacheResultsOption();
         m_templatesPanel = new SourceCodeTemplatesPanel(m_sourceCodePanel, "python-script-2in1out");
         addTab("Script", m_sourceCodePanel, false);
         addTab("Options", m_sourceCodeOptionsPanel, true);
@@ -0,0 +1,152 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.nodes.session;
+
+import java.util.Collection;
+
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.FlowVariable;
+import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonSession;
+import org.knime.python2.nodes.PythonNodeModel;
+import org.knime.python2.port.PythonSessionPortObject;
+import org.knime.python2.port.PythonSessionPortObjectSpec;
+
+/**
+ * Opens a {@link PythonSession}, loads the optional reference table into it and runs the setup script. The session is
+ * closed again when this node is reset or disposed.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+class PythonSessionStartNodeModel extends PythonNodeModel<PythonSessionStartNodeConfig> {
+
+    private String m_sessionId;
+
+    /**
+     * Constructor for the node model.
+     */
+    protected PythonSessionStartNodeModel() {
+        super(new PortType[]{BufferedDataTable.TYPE_OPTIONAL}, new PortType[]{PythonSessionPortObject.TYPE});
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
+        closeSession();
+        final PythonSession session = PythonSession.open(getKernelOptions());
+        m_sessionId = session.getId();
+        session.lock();
+        try {
+            final PythonKernel kernel = session.getKernel();
+            kernel.putFlowVariables(PythonSessionStartNodeConfig.getVariableNames().getFlowVariables(),
+                getAvailableFlowVariables().values());
+            if (inData[0] != null) {
+                kernel.putDataTable(PythonSessionStartNodeConfig.getVariableNames().getInputTables()[0],
+                    (BufferedDataTable)inData[0], exec.createSubProgress(0.5));
+            }
+            streamOutput(kernel);
+            try {
+                showErrorOutput(kernel.execute(getConfig().getSourceCode(), exec));
+            } finally {
+                // The session's kernel outlives this execution
+                stopStreamingOutput(kernel);
+            }
+            exec.createSubProgress(0.5).setProgress(1);
+            final Collection<FlowVariable> variables =
+                kernel.getFlowVariables(PythonSessionStartNodeConfig.getVariableNames().getFlowVariables());
+            addNewVariables(variables);
+        } catch (final Exception e) {
+            closeSession();
+            throw e;
+        } finally {
+            session.unlock();
+        }
+        return new PortObject[]{new PythonSessionPortObject(session)};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+        return new PortObjectSpec[]{PythonSessionPortObjectSpec.INSTANCE};
+    }
+
+    @Override
+    protected void reset() {
+        closeSession();
+        super.reset();
+    }
+
+    @Override
+    protected void onDispose() {
+        closeSession();
+        super.onDispose();
+    }
+
+    private void closeSession() {
+        if (m_sessionId != null) {
+            PythonSession.close(m_sessionId);
+            m_sessionId = null;
+        }
+    }
+
+    @Override
+    protected PythonSessionStartNodeConfig createConfig() {
+        return new PythonSessionStartNodeConfig();
+    }
+
+}
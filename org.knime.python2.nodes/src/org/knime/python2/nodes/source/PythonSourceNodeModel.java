@@ -47,9 +47,7 @@
  */
 package org.knime.python2.nodes.source;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataTable;
@@ -81,21 +79,22 @@ protected PythonSourceNodeModel() {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
         throws Exception {
-        BufferedDataTable table = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
-            kernel.putFlowVariables(PythonSourceNodeConfig.getVariableNames().getFlowVariables(),
-                getAvailableFlowVariables().values());
-            final String[] output = kernel.execute(getConfig().getSourceCode(), exec);
-            setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
-            exec.createSubProgress(0.7).setProgress(1);
-            final Collection<FlowVariable> variables =
-                kernel.getFlowVariables(PythonSourceNodeConfig.getVariableNames().getFlowVariables());
-            table = kernel.getDataTable(PythonSourceNodeConfig.getVariableNames().getOutputTables()[0], exec,
-                exec.createSubProgress(0.3));
-            addNewVariables(variables);
-        }
-        return new BufferedDataTable[]{table};
+        return executeCached(inData, exec, () -> {
+            BufferedDataTable table = null;
+            try (final PythonKernel kernel = createKernel()) {
+                kernel.putFlowVariables(PythonSourceNodeConfig.getVariableNames().getFlowVariables(),
+                    getAvailableFlowVariables().values());
+                final String[] output = kernel.execute(getConfig().getSourceCode(), exec);
+                showErrorOutput(output);
+                exec.createSubProgress(0.7).setProgress(1);
+                final Collection<FlowVariable> variables =
+                    kernel.getFlowVariables(PythonSourceNodeConfig.getVariableNames().getFlowVariables());
+                table = kernel.getDataTable(PythonSourceNodeConfig.getVariableNames().getOutputTables()[0], exec,
+                    exec.createSubProgress(0.3));
+                addNewVariables(variables);
+            }
+            return new BufferedDataTable[]{table};
+        });
     }
 
     /**
@@ -47,9 +47,7 @@
  */
 package org.knime.python2.nodes.variables;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
@@ -82,21 +80,22 @@ protected PythonVariablesNodeModel() {
      */
     @Override
     protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
+        return executeCached(inObjects, exec, () -> {
 
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
-            kernel.putFlowVariables(PythonVariablesNodeConfig.getVariableNames().getFlowVariables(),
-                getAvailableFlowVariables().values());
-            exec.createSubProgress(0.1).setProgress(1);
-            final String[] output = kernel.execute(getConfig().getSourceCode(), exec);
-            setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
-            exec.createSubProgress(0.8).setProgress(1);
-            final Collection<FlowVariable> variables =
-                kernel.getFlowVariables(PythonVariablesNodeConfig.getVariableNames().getFlowVariables());
-            exec.createSubProgress(0.1).setProgress(1);
-            addNewVariables(variables);
-        }
-        return new PortObject[]{FlowVariablePortObject.INSTANCE};
+            try (final PythonKernel kernel = createKernel()) {
+                kernel.putFlowVariables(PythonVariablesNodeConfig.getVariableNames().getFlowVariables(),
+                    getAvailableFlowVariables().values());
+                exec.createSubProgress(0.1).setProgress(1);
+                final String[] output = kernel.execute(getConfig().getSourceCode(), exec);
+                showErrorOutput(output);
+                exec.createSubProgress(0.8).setProgress(1);
+                final Collection<FlowVariable> variables =
+                    kernel.getFlowVariables(PythonVariablesNodeConfig.getVariableNames().getFlowVariables());
+                exec.createSubProgress(0.1).setProgress(1);
+                addNewVariables(variables);
+            }
+            return new PortObject[]{FlowVariablePortObject.INSTANCE};
+        });
     }
 
     /**
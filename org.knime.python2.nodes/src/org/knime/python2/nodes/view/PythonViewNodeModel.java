@@ -49,12 +49,12 @@
 
 import java.awt.Image;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
+import java.nio.file.Files;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import javax.imageio.ImageIO;
 
@@ -66,6 +66,7 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeLogger;
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
@@ -85,7 +86,13 @@
  */
 class PythonViewNodeModel extends PythonNodeModel<PythonViewNodeConfig> {
 
-    private BufferedImage m_image;
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonViewNodeModel.class);
+
+    /** The PNG or SVG bytes of the output image as received from python. */
+    private byte[] m_imageBytes;
+
+    /** The output image, only decoded once the view asks for it. */
+    private Image m_image;
 
     /**
      * Constructor for the node model.
@@ -99,43 +106,60 @@ protected PythonViewNodeModel() {
      */
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
-        ImageContainer image = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        byte[] imageBytes = null;
+        try (final PythonKernel kernel = createKernel()) {
             kernel.putFlowVariables(PythonViewNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             kernel.putDataTable(PythonViewNodeConfig.getVariableNames().getInputTables()[0],
                 (BufferedDataTable)inData[0], exec.createSubProgress(0.3));
             final String[] output = kernel.execute(getConfig().getSourceCode(), exec);
-            setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
+            showErrorOutput(output);
             exec.createSubProgress(0.6).setProgress(1);
-            image = kernel.getImage(PythonViewNodeConfig.getVariableNames().getOutputImages()[0]);
+            imageBytes = kernel.getImageBytes(PythonViewNodeConfig.getVariableNames().getOutputImages()[0]);
             final Collection<FlowVariable> variables =
                 kernel.getFlowVariables(PythonViewNodeConfig.getVariableNames().getFlowVariables());
             exec.createSubProgress(0.1).setProgress(1);
             addNewVariables(variables);
-            m_image = image.getBufferedImage();
         }
-        if(m_image != null) {
-            if (image.hasSvgDocument()) {
-                return new PortObject[]{new ImagePortObject(new SvgImageContent(image.getSvgDocument()),
-                    new ImagePortObjectSpec(SvgCell.TYPE))};
-            } else {
-                return new PortObject[]{new ImagePortObject(new PNGImageContent(imageToBytes(image.getBufferedImage())),
-                    new ImagePortObjectSpec(PNGImageContent.TYPE))};
+        // PNG and SVG images are passed on as they are, they are only decoded if the view is opened
+        if (ImageContainer.isSvg(imageBytes)) {
+            m_imageBytes = imageBytes;
+            return new PortObject[]{new ImagePortObject(new SvgImageContent(new ByteArrayInputStream(imageBytes)),
+                new ImagePortObjectSpec(SvgCell.TYPE))};
+        }
+        if (!ImageContainer.isPng(imageBytes)) {
+            // Other formats readable by ImageIO are converted to PNG
+            final BufferedImage image = ImageContainer.fromBytes(imageBytes).getBufferedImage();
+            if (image == null) {
+                return new PortObject[]{InactiveBranchPortObject.INSTANCE};
             }
-        } else {
-            return new PortObject[]{InactiveBranchPortObject.INSTANCE};
+            imageBytes = imageToBytes(image);
         }
+        m_imageBytes = imageBytes;
+        return new PortObject[]{new ImagePortObject(new PNGImageContent(imageBytes),
+            new ImagePortObjectSpec(PNGImageContent.TYPE))};
     }
 
     @Override
     protected void reset() {
-        m_image = null;
+        synchronized (this) {
+            m_imageBytes = null;
+            m_image = null;
+        }
         super.reset();
     }
 
-    Image getOutputImage() {
+    /**
+     * @return the output image, decoded on the first call, or null if there is none
+     */
+    synchronized Image getOutputImage() {
+        if ((m_image == null) && (m_imageBytes != null)) {
+            try {
+                m_image = ImageContainer.fromBytes(m_imageBytes).getBufferedImage();
+            } catch (final IOException e) {
+                LOGGER.warn("Could not decode the output image: " + e.getMessage(), e);
+            }
+        }
         return m_image;
     }
 
@@ -171,9 +195,13 @@ protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs) throws Inva
     protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec)
         throws IOException, CanceledExecutionException {
         super.loadInternals(nodeInternDir, exec);
-        final File file = new File(nodeInternDir, "image.png");
-        if (file.exists() && file.canRead()) {
-            m_image = ImageIO.read(file);
+        // Images are kept as their original bytes, older versions always saved a PNG
+        for (final String name : new String[]{"image.svg", "image.png"}) {
+            final File file = new File(nodeInternDir, name);
+            if (file.exists() && file.canRead()) {
+                m_imageBytes = Files.readAllBytes(file.toPath());
+                return;
+            }
         }
     }
 
@@ -186,9 +214,10 @@ protected void loadInternals(final File nodeInternDir, final ExecutionMonitor ex
     protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec)
         throws IOException, CanceledExecutionException {
         super.saveInternals(nodeInternDir, exec);
-        if (m_image != null) {
-            final File file = new File(nodeInternDir, "image.png");
-            ImageIO.write(m_image, "png", file);
+        final byte[] imageBytes = m_imageBytes;
+        if (imageBytes != null) {
+            final File file = new File(nodeInternDir, ImageContainer.isSvg(imageBytes) ? "image.svg" : "image.png");
+            Files.write(file.toPath(), imageBytes);
         }
     }
 
@@ -58,6 +58,17 @@ import debug_util
 
 _python3 = sys.version_info >= (3, 0)
 
+# pandas nullable integer arrays (pandas >= 0.24) keep integer columns with missing values as integers
+_nullable_ints_ = hasattr(pandas, 'arrays') and hasattr(pandas.arrays, 'IntegerArray')
+
+# Row keys of the form prefix + consecutive numbers (e.g. Row0, Row1, ...) are
+# sent as a row key range instead of a string column
+supports_row_key_ranges = True
+
+# Integer columns with missing values are sent with a validity bitmap when
+# they are pandas nullable integer columns
+supports_nullable_ints = _nullable_ints_
+
 
 _types_ = None
 _pandas_native_types_ = None
@@ -270,6 +281,50 @@ def boolean_collection_generator(arrowcolumn, isset):
                     res.add(None)
                 yield res
 
+# Convert an Integer or Long column to a pandas.Series. Columns with missing values become pandas nullable integer
+# arrays that are built directly from the arrow values buffer and validity bitmap, instead of being upcast to float64.
+# @param arrowcolumn    the pyarrow.Column to convert
+# @param coltype        the type id of the column
+def int_column_to_pandas(arrowcolumn, coltype):
+    if not _nullable_ints_ or arrowcolumn.data.num_chunks != 1:
+        return arrowcolumn.to_pandas()
+    chunk = arrowcolumn.data.chunk(0)
+    if chunk.null_count == 0 or not hasattr(chunk, 'buffers'):
+        return arrowcolumn.to_pandas()
+    validity, data = chunk.buffers()[:2]
+    offset = chunk.offset
+    length = len(chunk)
+    numpy_type = '<i4' if coltype == _types_.INTEGER else '<i8'
+    values = np.frombuffer(data, dtype=numpy_type, count=offset + length)[offset:].astype(numpy_type[1:])
+    # arrow validity bitmaps are least significant bit first
+    bits = np.frombuffer(validity, dtype=np.uint8)
+    valid = ((bits[:, np.newaxis] >> np.arange(8, dtype=np.uint8)) & 1).astype(bool).ravel()[offset:offset + length]
+    return pandas.Series(pandas.arrays.IntegerArray(values, ~valid))
+
+# Check if the given column is a pandas nullable integer column.
+# @param column    a pandas.Series
+def is_nullable_int_column(column):
+    return _nullable_ints_ and pandas.api.types.is_extension_array_dtype(column.dtype) \
+        and pandas.api.types.is_integer_dtype(column.dtype)
+
+# Convert a pandas nullable integer column to a pyarrow.Array whose validity bitmap marks the missing values.
+# @param column         a pandas.Series holding a nullable integer array
+# @param numpy_type     the numpy type of the arrow array values
+# @param memory_pool    the pyarrow.MemoryPool to allocate the array in
+def nullable_int_column_to_arrow(column, numpy_type, memory_pool):
+    mask = np.asarray(column.isnull(), dtype=bool)
+    values = np.asarray(column.fillna(0), dtype=numpy_type)
+    return pyarrow.Array.from_pandas(values, mask=mask, memory_pool=memory_pool)
+
+# Create the row keys described by a row key range sent instead of the index column.
+# @param row_key_range  dict containing the common 'prefix' of the row keys and
+#                       the number of the first row key ('start')
+# @param num_rows       the number of row keys to create
+def row_key_range_to_index(row_key_range, num_rows):
+    prefix = row_key_range['prefix']
+    start = row_key_range['start']
+    return pandas.Index([prefix + str(number) for number in range(start, start + num_rows)], dtype=object)
+
 # Deserialize the data contained in the specified file as pandas.DataFrame.
 # The data frame is written to the global read_data_frame to avoid multiple
 # deserialization attempts.
@@ -296,7 +351,9 @@ def deserialize_data_frame(path):
         for arrowcolumn in arrowtable.itercolumns():
             typeidx = names.index(arrowcolumn.name)
             coltype = read_types[typeidx]
-            if coltype in _pandas_native_types_:
+            if coltype == _types_.INTEGER or coltype == _types_.LONG:
+                dfcol = int_column_to_pandas(arrowcolumn, coltype)
+            elif coltype in _pandas_native_types_:
                 dfcol = arrowcolumn.to_pandas()
             else:
                 if coltype == _types_.INTEGER_LIST or coltype == _types_.INTEGER_SET:
@@ -319,6 +376,10 @@ def deserialize_data_frame(path):
             else:
                 read_data_frame[arrowcolumn.name] = dfcol
                 
+        row_key_range = pandas_metadata.get('row_key_range')
+        if row_key_range is not None:
+            indexcol = row_key_range_to_index(row_key_range, arrowtable.num_rows)
+
         if not 'indexcol' in locals():  
             raise NameError('Variable indexcol has not been set properly, exiting!')
         
@@ -593,7 +654,11 @@ def table_to_bytes(table):
 
         # add the index column to the list of columns
         all_names.append("__index_level_0__")
-        if len(table._data_frame.index) > 0:
+        row_key_range = table.get_row_key_range()
+        if row_key_range is not None:
+            # The row keys are described by the range, no column needed
+            pass
+        elif len(table._data_frame.index) > 0:
             col_names.append("__index_level_0__")
             col_arrays.append(pyarrow.Array.from_pandas(table._data_frame.index, type=to_pyarrow_type(_types_.STRING), memory_pool=mp))
         else:
@@ -630,6 +695,11 @@ def table_to_bytes(table):
                 col_arrays.append(pyarrow.Array.from_pandas(binary_from_string_set_generator(table._data_frame.iloc[:,i])))
             elif table.get_type(i) == _types_.BYTES_SET:
                 col_arrays.append(pyarrow.Array.from_pandas(binary_from_bytes_set_generator(table._data_frame.iloc[:,i])))
+            #Nullable integer columns are sent with a validity bitmap instead of sentinels or float NaNs
+            elif table.get_type(i) == _types_.INTEGER and is_nullable_int_column(table._data_frame.iloc[:,i]):
+                col_arrays.append(nullable_int_column_to_arrow(table._data_frame.iloc[:,i], np.int32, mp))
+            elif table.get_type(i) == _types_.LONG and is_nullable_int_column(table._data_frame.iloc[:,i]):
+                col_arrays.append(nullable_int_column_to_arrow(table._data_frame.iloc[:,i], np.int64, mp))
             #Workaround until numpy typecasts are implemented in pyarrow 
             elif table.get_type(i) == _types_.INTEGER and table._data_frame.iloc[:,i].dtype == np.int64:
                 col_arrays.append(pyarrow.Array.from_pandas(np.array(table._data_frame.iloc[:,i], dtype=np.int32), memory_pool=mp))
@@ -652,6 +722,8 @@ def table_to_bytes(table):
                            "columns": [{"name": all_names[0], "metadata": {"serializer_id": "", "type_id": _types_.STRING}}], 
                            "missing_columns": missing_names, 
                            "num_rows": len(table._data_frame)}
+        if row_key_range is not None:
+            custom_metadata['row_key_range'] = {"prefix": row_key_range[0], "start": row_key_range[1]}
         
         real_col_names = list(table._data_frame.columns)
         for name in all_names[1:]:
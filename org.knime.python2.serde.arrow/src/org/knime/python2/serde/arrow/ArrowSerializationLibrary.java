@@ -79,8 +79,10 @@
 import org.apache.arrow.vector.util.OversizedAllocationException;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.knime.core.data.DataCell;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.util.FileUtil;
+import org.knime.python2.extensions.serializationlibrary.ColumnParallelSerialization;
 import org.knime.python2.extensions.serializationlibrary.SerializationException;
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
@@ -91,6 +93,7 @@
 import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 import org.knime.python2.extensions.serializationlibrary.interfaces.VectorExtractor;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.DataCellTableCreator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.RowImpl;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.TableSpecImpl;
 import org.knime.python2.serde.arrow.ReadContextManager.ReadContext;
@@ -110,6 +113,7 @@
 import org.knime.python2.serde.arrow.extractors.LongListExtractor;
 import org.knime.python2.serde.arrow.extractors.LongSetExtractor;
 import org.knime.python2.serde.arrow.extractors.MissingExtractor;
+import org.knime.python2.serde.arrow.extractors.RowKeyRangeExtractor;
 import org.knime.python2.serde.arrow.extractors.StringExtractor;
 import org.knime.python2.serde.arrow.extractors.StringListExtractor;
 import org.knime.python2.serde.arrow.extractors.StringSetExtractor;
@@ -129,9 +133,17 @@
 import org.knime.python2.serde.arrow.inserters.LongInserter;
 import org.knime.python2.serde.arrow.inserters.LongListInserter;
 import org.knime.python2.serde.arrow.inserters.LongSetInserter;
+import org.knime.python2.serde.arrow.inserters.RowKeyInserter;
 import org.knime.python2.serde.arrow.inserters.StringInserter;
 import org.knime.python2.serde.arrow.inserters.StringListInserter;
 import org.knime.python2.serde.arrow.inserters.StringSetInserter;
+import org.knime.python2.serde.arrow.readers.BooleanCellReader;
+import org.knime.python2.serde.arrow.readers.DataCellReader;
+import org.knime.python2.serde.arrow.readers.DoubleCellReader;
+import org.knime.python2.serde.arrow.readers.ExtractorCellReader;
+import org.knime.python2.serde.arrow.readers.IntCellReader;
+import org.knime.python2.serde.arrow.readers.LongCellReader;
+import org.knime.python2.serde.arrow.readers.StringCellReader;
 
 /**
  * Serializes tables to bytes and deserializes bytes to tables using the Apache Arrow Format.
@@ -155,6 +167,10 @@ public class ArrowSerializationLibrary implements SerializationLibrary {
 
     private String[] m_missingColumnNames = null;
 
+    private String m_rowKeyPrefix = null;
+
+    private long m_rowKeyStart = 0;
+
     private enum PandasType {
         BOOL("bool"),
         INT("int"),
@@ -247,7 +263,9 @@ private byte[] tableToBytesDynamic(final TableIterator tableIterator,
         // Row ids
         JsonObjectBuilder rowIdBuilder = createColumnMetadataBuilder(INDEX_COL_NAME, PandasType.UNICODE,
             NumpyType.OBJECT, Type.STRING);
-        inserters.add(new StringInserter(INDEX_COL_NAME, rootAllocator, numRows, ASSUMED_ROWID_VAL_BYTE_SIZE));
+        final RowKeyInserter rowKeyInserter =
+                new RowKeyInserter(INDEX_COL_NAME, rootAllocator, numRows, ASSUMED_ROWID_VAL_BYTE_SIZE);
+        inserters.add(rowKeyInserter);
         colBuilder.add(rowIdBuilder);
 
         // Create Inserters and metadata
@@ -384,22 +402,42 @@ private byte[] tableToBytesDynamic(final TableIterator tableIterator,
         metadataBuilder.add("columns", colBuilder);
 
         //Iterate over table and put every cell in an arrow buffer using the inserters
-        while (tableIterator.hasNext()) {
-            Row row = tableIterator.next();
-            inserters.get(0).put(new CellImpl(row.getRowKey()));
+        if (ColumnParallelSerialization.isEnabled(serializationOptions, spec.getNumberColumns())) {
+            //Inserters are independent, fill disjoint groups of columns concurrently
+            final List<Row> rows = ColumnParallelSerialization.materialize(tableIterator);
+            for (final Row row : rows) {
+                inserters.get(0).put(new CellImpl(row.getRowKey()));
+            }
+            ColumnParallelSerialization.insertColumns(rows, spec.getNumberColumns(), serializationOptions,
+                (column, cell) -> inserters.get(column + 1).put(cell));
+        } else {
+            while (tableIterator.hasNext()) {
+                Row row = tableIterator.next();
+                inserters.get(0).put(new CellImpl(row.getRowKey()));
 
-            for (int i = 0; i < spec.getNumberColumns(); i++) {
-                inserters.get(i + 1).put(row.getCell(i));
+                for (int i = 0; i < spec.getNumberColumns(); i++) {
+                    inserters.get(i + 1).put(row.getCell(i));
+                }
             }
         }
 
+        //Row keys like Row0, Row1, ... are sent as prefix and start instead of a vector. A record batch needs at least
+        //one vector though.
+        final boolean rowKeyRange = rowKeyInserter.isRange() && (spec.getNumberColumns() > 0);
+        if (rowKeyRange) {
+            JsonObjectBuilder rowKeyRangeBuilder = Json.createObjectBuilder();
+            rowKeyRangeBuilder.add("prefix", rowKeyInserter.getPrefix());
+            rowKeyRangeBuilder.add("start", rowKeyInserter.getStart());
+            metadataBuilder.add("row_key_range", rowKeyRangeBuilder);
+        }
+
         //Build final representation and transmit
         Map<String, String> metadata = new HashMap<String, String>();
         metadata.put("pandas", metadataBuilder.build().toString());
 
         List<FieldVector> vecs = new ArrayList<FieldVector>();
         List<Field> fields = new ArrayList<Field>();
-        for (int i = 0; i < inserters.size(); i++) {
+        for (int i = rowKeyRange ? 1 : 0; i < inserters.size(); i++) {
             final FieldVector vec = inserters.get(i).retrieveVector();
             vecs.add(vec);
             fields.add(vec.getField());
@@ -430,6 +468,37 @@ private VectorExtractor getStringOrByteextractor(final FieldVector vec) {
         }
     }
 
+    /**
+     * Binds a column's vector to a reader creating the matching {@link DataCell}s. Falls back to converting the
+     * extracted {@link org.knime.python2.extensions.serializationlibrary.interfaces.Cell}s using the table creator for
+     * columns without a direct conversion.
+     */
+    private DataCellReader getDataCellReader(final VectorSchemaRoot root, final String name, final Type type,
+        final VectorExtractor extractor, final DataCellTableCreator<?> tableCreator, final int column,
+        final SerializationOptions serializationOptions) {
+        if (!ArrayUtils.contains(m_missingColumnNames, name)) {
+            final FieldVector vec = root.getVector(name);
+            switch (type) {
+                case BOOLEAN:
+                    return new BooleanCellReader((NullableBitVector)vec);
+                case INTEGER:
+                    return new IntCellReader((NullableIntVector)vec, serializationOptions);
+                case LONG:
+                    return new LongCellReader((NullableBigIntVector)vec, serializationOptions);
+                case DOUBLE:
+                    return new DoubleCellReader((NullableFloat8Vector)vec);
+                case STRING:
+                    if (vec instanceof NullableVarCharVector) {
+                        return new StringCellReader((NullableVarCharVector)vec);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return new ExtractorCellReader(extractor, tableCreator, column);
+    }
+
     @Override
     public void bytesIntoTable(final TableCreator<?> tableCreator, final byte[] bytes,
         final SerializationOptions serializationOptions) throws SerializationException {
@@ -446,8 +515,12 @@ public void bytesIntoTable(final TableCreator<?> tableCreator, final byte[] byte
                 String[] names = spec.getColumnNames();
 
                 List<VectorExtractor> extractors = new ArrayList<VectorExtractor>();
-                // Index is always string
-                extractors.add(getStringOrByteextractor(root.getVector(m_indexColumnName)));
+                // Index is always string, either sent as vector or as range
+                if (m_rowKeyPrefix != null) {
+                    extractors.add(new RowKeyRangeExtractor(m_rowKeyPrefix, m_rowKeyStart));
+                } else {
+                    extractors.add(getStringOrByteextractor(root.getVector(m_indexColumnName)));
+                }
 
                 //Setup an extractor for every column
                 for (int j = 0; j < spec.getNumberColumns(); j++) {
@@ -527,14 +600,33 @@ public void bytesIntoTable(final TableCreator<?> tableCreator, final byte[] byte
                     }
                 }
 
-                //Extract each value as a Cell, collate the cells to Rows and add the rows to the table creator for
-                //further processing
-                for (int i = 0; i < root.getRowCount(); i++) {
-                    Row row = new RowImpl(extractors.get(0).extract().getStringValue(), spec.getNumberColumns());
-                    for (int j = 0; j < spec.getNumberColumns(); j++) {
-                        row.setCell(extractors.get(j + 1).extract(), j);
+                if (tableCreator instanceof DataCellTableCreator) {
+                    //Read each value straight into a DataCell and add the cells to the table creator, bypassing the
+                    //intermediate Cells and Rows
+                    final DataCellTableCreator<?> cellTableCreator = (DataCellTableCreator<?>)tableCreator;
+                    final DataCellReader[] readers = new DataCellReader[spec.getNumberColumns()];
+                    for (int j = 0; j < readers.length; j++) {
+                        readers[j] = getDataCellReader(root, names[j], types[j], extractors.get(j + 1),
+                            cellTableCreator, j, serializationOptions);
+                    }
+                    for (int i = 0; i < root.getRowCount(); i++) {
+                        final String rowKey = extractors.get(0).extract().getStringValue();
+                        final DataCell[] cells = new DataCell[readers.length];
+                        for (int j = 0; j < readers.length; j++) {
+                            cells[j] = readers[j].read();
+                        }
+                        cellTableCreator.addRow(rowKey, cells);
+                    }
+                } else {
+                    //Extract each value as a Cell, collate the cells to Rows and add the rows to the table creator for
+                    //further processing
+                    for (int i = 0; i < root.getRowCount(); i++) {
+                        Row row = new RowImpl(extractors.get(0).extract().getStringValue(), spec.getNumberColumns());
+                        for (int j = 0; j < spec.getNumberColumns(); j++) {
+                            row.setCell(extractors.get(j + 1).extract(), j);
+                        }
+                        tableCreator.addRow(row);
                     }
-                    tableCreator.addRow(row);
                 }
                 reader.close();
             }
@@ -566,7 +658,8 @@ public TableSpec tableSpecFromBytes(final byte[] bytes) throws SerializationExce
                     Map<String, String> columnSerializers = new HashMap<String, String>();
                     //Build the table spec out of the metadata available in JSON format
                     //Format: {"ArrowSerializationLibrary": {"index_columns": String[1], "columns": Column[?],
-                    //              "missing_columns": String[?], "num_rows": int}}
+                    //              "missing_columns": String[?], "num_rows": int,
+                    //              "row_key_range": {"prefix": String, "start": long} (optional)}}
                     //Column format: {"name": String, "metadata": {"serializer_id": String, "type_id": int}}
                     String custom_metadata = metadata.get("ArrowSerializationLibrary");
                     if (custom_metadata != null) {
@@ -608,6 +701,13 @@ public TableSpec tableSpecFromBytes(final byte[] bytes) throws SerializationExce
                         for (int i = 0; i < missing_cols.size(); i++) {
                             m_missingColumnNames[i] = missing_cols.getString(i);
                         }
+                        JsonObject rowKeyRange = jpandas_metadata.getJsonObject("row_key_range");
+                        if (rowKeyRange != null) {
+                            m_rowKeyPrefix = rowKeyRange.getString("prefix");
+                            m_rowKeyStart = rowKeyRange.getJsonNumber("start").longValue();
+                        } else {
+                            m_rowKeyPrefix = null;
+                        }
                         rc.setTableSpec(new TableSpecImpl(types, names, columnSerializers));
                     }
                 } else {
@@ -66,6 +66,8 @@ public class IntegerExtractor implements VectorExtractor {
 
     private final SerializationOptions m_serializationOptions;
 
+    private final boolean m_convertMissingFromPython;
+
     private int m_ctr;
 
     /**
@@ -77,6 +79,7 @@ public class IntegerExtractor implements VectorExtractor {
     public IntegerExtractor(final NullableIntVector vector, final SerializationOptions opts) {
         m_accessor = vector.getAccessor();
         m_serializationOptions = opts;
+        m_convertMissingFromPython = m_serializationOptions.getConvertMissingFromPython();
     }
 
     /**
@@ -89,7 +92,7 @@ public Cell extract() {
             c = new CellImpl();
         } else {
             int val = m_accessor.get(m_ctr);
-            if (m_serializationOptions.getConvertMissingFromPython()
+            if (m_convertMissingFromPython
                 && m_serializationOptions.isSentinel(Type.INTEGER, val)) {
                 c = new CellImpl();
             } else {
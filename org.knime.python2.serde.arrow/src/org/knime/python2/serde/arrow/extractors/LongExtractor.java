@@ -65,6 +65,7 @@ public class LongExtractor implements VectorExtractor {
 
     private final NullableBigIntVector.Accessor m_accessor;
     private final SerializationOptions m_serializationOptions;
+    private final boolean m_convertMissingFromPython;
     private int m_ctr;
 
     /**
@@ -75,6 +76,7 @@ public class LongExtractor implements VectorExtractor {
     public LongExtractor(final NullableBigIntVector vector, final SerializationOptions opts) {
         m_accessor = vector.getAccessor();
         m_serializationOptions = opts;
+        m_convertMissingFromPython = m_serializationOptions.getConvertMissingFromPython();
     }
 
     /**
@@ -87,7 +89,7 @@ public Cell extract() {
             c = new CellImpl();
         } else {
             long val = m_accessor.get(m_ctr);
-            if (m_serializationOptions.getConvertMissingFromPython()
+            if (m_convertMissingFromPython
                     && m_serializationOptions.isSentinel(Type.LONG, val)) {
                 c = new CellImpl();
             } else {
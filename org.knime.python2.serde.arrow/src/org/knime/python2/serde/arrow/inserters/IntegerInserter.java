@@ -65,6 +65,8 @@ public class IntegerInserter implements ArrowVectorInserter {
 
     private final SerializationOptions m_serializationOptions;
 
+    private final boolean m_convertMissingToPython;
+
     private final int m_intSentinel;
 
     private int m_ctr;
@@ -84,13 +86,14 @@ public IntegerInserter(final String name, final BufferAllocator allocator, final
         m_vec.allocateNew(numRows);
         m_mutator = m_vec.getMutator();
         m_serializationOptions = serializationOptions;
+        m_convertMissingToPython = m_serializationOptions.getConvertMissingToPython();
         m_intSentinel = (int)m_serializationOptions.getSentinelForType(Type.INTEGER);
     }
 
     @Override
     public void put(final Cell cell) {
         if (cell.isMissing()) {
-            if (m_serializationOptions.getConvertMissingToPython()) {
+            if (m_convertMissingToPython) {
                 m_mutator.set(m_ctr, m_intSentinel);
             }
         } else {
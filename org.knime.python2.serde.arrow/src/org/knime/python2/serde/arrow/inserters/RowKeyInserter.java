@@ -0,0 +1,206 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.serde.arrow.inserters;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+
+/**
+ * Manages the transfer of row keys. As long as the keys consist of a common prefix followed by consecutive numbers,
+ * e.g. Row0, Row1, ..., only the prefix and the first number are kept. The keys are written to a String vector only
+ * once a key breaks that pattern or the vector is requested.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class RowKeyInserter implements ArrowVectorInserter {
+
+    /* Longer numbers may overflow a long */
+    private static final int MAX_DIGITS = 18;
+
+    private final String m_name;
+
+    private final BufferAllocator m_allocator;
+
+    private final int m_numRows;
+
+    private final int m_bytesPerCellAssumption;
+
+    private StringInserter m_strings;
+
+    private String m_prefix;
+
+    private long m_start;
+
+    private int m_ctr;
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the managed vector
+     * @param allocator an allocator for the underlying buffer
+     * @param numRows the number of rows in the managed vector
+     * @param bytesPerCellAssumption an initial assumption of the number of bytes per cell
+     */
+    public RowKeyInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final int bytesPerCellAssumption) {
+        m_name = name;
+        m_allocator = allocator;
+        m_numRows = numRows;
+        m_bytesPerCellAssumption = bytesPerCellAssumption;
+    }
+
+    @Override
+    public void put(final Cell cell) {
+        if (m_strings == null) {
+            if (cell.isMissing()) {
+                materialize();
+            } else if (m_ctr == 0) {
+                startRange(cell.getStringValue());
+            } else if (!continuesRange(cell.getStringValue())) {
+                materialize();
+            }
+        }
+        if (m_strings != null) {
+            m_strings.put(cell);
+        }
+        m_ctr++;
+    }
+
+    /**
+     * @return true if all keys put so far are described by {@link #getPrefix()} and {@link #getStart()}
+     */
+    public boolean isRange() {
+        return (m_strings == null) && (m_ctr > 0);
+    }
+
+    /**
+     * @return the common prefix of the keys, only valid if {@link #isRange()}
+     */
+    public String getPrefix() {
+        return m_prefix;
+    }
+
+    /**
+     * @return the number of the first key, only valid if {@link #isRange()}
+     */
+    public long getStart() {
+        return m_start;
+    }
+
+    private void startRange(final String key) {
+        int digitsStart = key.length();
+        while ((digitsStart > 0) && isDigit(key.charAt(digitsStart - 1))) {
+            digitsStart--;
+        }
+        final int numDigits = key.length() - digitsStart;
+        // Leading zeros would be lost when printing the numbers again
+        if ((numDigits == 0) || (numDigits > MAX_DIGITS) || ((numDigits > 1) && (key.charAt(digitsStart) == '0'))) {
+            materialize();
+            return;
+        }
+        m_prefix = key.substring(0, digitsStart);
+        m_start = Long.parseLong(key.substring(digitsStart));
+    }
+
+    private boolean continuesRange(final String key) {
+        final int prefixLength = m_prefix.length();
+        final int numDigits = key.length() - prefixLength;
+        if ((numDigits <= 0) || (numDigits > MAX_DIGITS) || !key.startsWith(m_prefix)
+            || ((numDigits > 1) && (key.charAt(prefixLength) == '0'))) {
+            return false;
+        }
+        long number = 0;
+        for (int i = prefixLength; i < key.length(); i++) {
+            final char c = key.charAt(i);
+            if (!isDigit(c)) {
+                return false;
+            }
+            number = (number * 10) + (c - '0');
+        }
+        return number == m_start + m_ctr;
+    }
+
+    /* Only ASCII digits, other digits would not survive printing the numbers again */
+    private static boolean isDigit(final char c) {
+        return (c >= '0') && (c <= '9');
+    }
+
+    /**
+     * Writes the keys described by the range to a String vector and continues writing to it.
+     */
+    private void materialize() {
+        m_strings = new StringInserter(m_name, m_allocator, m_numRows, m_bytesPerCellAssumption);
+        if (m_prefix != null) {
+            for (int i = 0; i < m_ctr; i++) {
+                m_strings.put(new CellImpl(m_prefix + (m_start + i)));
+            }
+        }
+    }
+
+    @Override
+    public FieldVector retrieveVector() {
+        if (m_strings == null) {
+            materialize();
+        }
+        return m_strings.retrieveVector();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        if (m_strings != null) {
+            m_strings.close();
+        }
+    }
+
+}
@@ -51,6 +51,7 @@
 import java.util.List;
 import java.util.Map;
 
+import org.knime.python2.extensions.serializationlibrary.ColumnParallelSerialization;
 import org.knime.python2.extensions.serializationlibrary.SerializationException;
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
@@ -222,14 +223,26 @@ public byte[] tableToBytes(final TableIterator tableIterator, final Serializatio
 
         int rowIdx = 0;
         // Convert the rows to columns
-        while (tableIterator.hasNext()) {
-            final Row row = tableIterator.next();
-            rowIdOffsets[rowIdx] = builder.createString(row.getRowKey());
+        if (ColumnParallelSerialization.isEnabled(serializationOptions, inserters.size())) {
+            // Inserters are independent, fill disjoint groups of columns concurrently. The builder is not thread-safe
+            // and is only used on this thread.
+            final List<Row> rows = ColumnParallelSerialization.materialize(tableIterator);
+            for (final Row row : rows) {
+                rowIdOffsets[rowIdx] = builder.createString(row.getRowKey());
+                rowIdx++;
+            }
+            ColumnParallelSerialization.insertColumns(rows, inserters.size(), serializationOptions,
+                (column, cell) -> inserters.get(column).put(cell));
+        } else {
+            while (tableIterator.hasNext()) {
+                final Row row = tableIterator.next();
+                rowIdOffsets[rowIdx] = builder.createString(row.getRowKey());
 
-            for(int i=0; i<inserters.size(); i++) {
-                inserters.get(i).put(row.getCell(i));
+                for(int i=0; i<inserters.size(); i++) {
+                    inserters.get(i).put(row.getCell(i));
+                }
+                rowIdx++;
             }
-            rowIdx++;
         }
         int numCols = tableIterator.getTableSpec().getNumberColumns();
         final int[] colOffsets = new int[numCols];
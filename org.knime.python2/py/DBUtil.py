@@ -55,6 +55,7 @@ import codecs
 from datetime import datetime
 import sys
 import warnings
+from PythonToJavaMessage import SqlFetchRequest, SqlWriteRequest
 #from __builtin__ import int
 
 # suppress FutureWarnings
@@ -87,12 +88,16 @@ python_hive_mapping = {int : 'int',
 
 class DBUtil(object):
     """An utility class to interact with various databases."""
-    def __init__(self, sql):
+    def __init__(self, sql, kernel=None):
         """Initializes DBUtil object.
         
         Args:
             sql: A SQL object containing informations to connect to the database.
+            kernel: The PythonKernel used for fetching query results via KNIME.
+                Default is None, which means that results are only fetched via
+                jaydebeapi.
         """
+        self._kernel = kernel
         driver_args = {}
         if sql['username'][0]:
             driver_args["user"] = sql['username'][0]
@@ -462,6 +467,58 @@ class DBUtil(object):
                                           partition_columns=partition_columns)
         self._writer.write_many(dataframe)
 
+    def write_dataframe_bulk(self, tablename, dataframe, drop=False,
+                             batch_size=1000, commit_interval=0):
+        """Writes dataframe into database. In contrast to write_dataframe(), the
+        dataframe is transferred to KNIME using the configured serialization library
+        and inserted by KNIME using batches of prepared statements, which is
+        considerably faster for large dataframes. Note that the table is created
+        and the rows are committed immediately, even if the script is executed in
+        the node dialog. Hive tables are written using write_dataframe().
+        
+        Args:
+            tablename: Name of the table where the dataframe should be written to.
+                It can be the name of a new table or an existing one.
+            dataframe: A dataframe object to be written into the database.
+            drop: If it is true, the existing table will be dropped. Otherwise,
+                the dataframe will be appended to the table. Default value is False.
+            batch_size: The number of rows inserted with one batch. Default is 1000.
+            commit_interval: The number of rows after which the transaction is
+                committed. Default is 0, which means that all rows are committed
+                at once.
+        
+        Returns:
+            The number of written rows.
+        """
+        if self._kernel is None or isinstance(self._writer, HiveWriter):
+            self.write_dataframe(tablename, dataframe, drop)
+            return len(dataframe)
+        self._writer = self.get_db_writer(tablename=tablename,
+                                          col_specs=dataframe,
+                                          drop=drop)
+        # the table has to be visible to the connection of KNIME
+        self._writer.commit()
+        datetime_columns = []
+        data_frame = dataframe
+        for index, col_name in enumerate(dataframe.columns):
+            if np.issubclass_(dataframe[col_name].dtype.type, np.datetime64):
+                if not datetime_columns:
+                    data_frame = dataframe.copy()
+                datetime_columns.append(str(index))
+                column = dataframe[col_name]
+                data_frame[col_name] = column.dt.strftime('%Y-%m-%d %H:%M:%S.%f').where(column.notnull(), None)
+        query = self._build_insert_query(self._writer._tablename, list(dataframe))
+        name = '_sql_write_input'
+        self._kernel.put_variable(name, data_frame)
+        try:
+            response = self._kernel.write_message(SqlWriteRequest('\n'.join(
+                [name, str(int(batch_size)), str(int(commit_interval)), ','.join(datetime_columns), query])))
+        finally:
+            del self._kernel._exec_env[name]
+        if not response[0]:
+            raise DBUtilError('Could not write dataframe: ' + '\n'.join(response[1:]))
+        return int(response[0])
+
     def _fix_hive_col_name(self, col_name):
         """Hive's JDBC drivers always adds the table name to the column names. 
         This method returns the column name without the table name.
@@ -504,6 +561,35 @@ class DBUtil(object):
         
         return df
     
+    def fetch_dataframe(self, query=None):
+        """Returns the dataframe representation of the input SQL query. In contrast
+        to get_dataframe(), the query is executed by KNIME and the result is
+        transferred in chunks using the configured serialization library, which is
+        considerably faster for large results.
+        
+        Args:
+            query: A SQL query used to build the dataframe. Default is None, which
+                means that the input query of DBUtil object is used.
+        
+        Returns:
+            df: A dataframe representation of the input SQL query.
+        """
+        if self._kernel is None:
+            return self.get_dataframe(query)
+        if query == None:
+            query = self._input_query
+        response = self._kernel.write_message(SqlFetchRequest(query))
+        if not response[0]:
+            raise RuntimeError('Could not execute query: ' + '\n'.join(response[1:]))
+        df = self._kernel._exec_env.pop(response[0])
+        datetime_columns = response[1:]
+        if isinstance(self._writer, HiveWriter):
+            # Trim 'tablename' from hive column names
+            df.columns = [self._fix_hive_col_name(col_name) for col_name in df.columns]
+            datetime_columns = [self._fix_hive_col_name(col_name) for col_name in datetime_columns]
+        df[datetime_columns] = df[datetime_columns].astype('datetime64[ns]')
+        return df
+    
     def print_description(self, all=False):
         """Prints descriptions of this object.
         
@@ -50,6 +50,7 @@ if not _python3:
     import site
 import math
 import socket
+import threading
 import struct
 import base64
 import traceback
@@ -58,8 +59,11 @@ import os
 import pickle
 import types
 import collections
+import numbers
+import copy
 from datetime import datetime
-from pandas import DataFrame, Index
+import pandas
+from pandas import DataFrame, Index, RangeIndex
 from DBUtil import *
 from PythonToJavaMessage import *
 from TypeExtensionManager import *
@@ -110,6 +114,9 @@ if not _python3:
 if _tslib_available:
     EQUIVALENT_TYPES.append([datetime, Timestamp])
 
+# messages up to this size are sent together with their size header in a single write
+_COALESCE_LIMIT = 64 * 1024
+
 # ******************************************************
 # Remote debugging section
 # ******************************************************
@@ -145,7 +152,45 @@ class Logger(object):
 
     def isatty(self):
         return False
-        
+
+
+# Sink keeping only the most recent lines written to it. Older lines are dropped
+# (and counted) so that the memory needed for capturing the console output of a
+# script stays bounded no matter how much the script prints.
+class BoundedOutputBuffer(object):
+    def __init__(self, max_lines):
+        self._lines = collections.deque(maxlen=max(max_lines, 1))
+        self._current_line = []
+        self._dropped_lines = 0
+
+    def write(self, message):
+        parts = message.split('\n')
+        self._current_line.append(parts[0])
+        for part in parts[1:]:
+            self._append_line(''.join(self._current_line))
+            self._current_line = [part]
+
+    def writelines(self, sequence):
+        for message in sequence:
+            self.write(message)
+
+    def flush(self):
+        pass
+
+    def _append_line(self, line):
+        if len(self._lines) == self._lines.maxlen:
+            self._dropped_lines += 1
+        self._lines.append(line)
+
+    def getvalue(self):
+        lines = list(self._lines)
+        current_line = ''.join(self._current_line)
+        if current_line:
+            lines.append(current_line)
+        if self._dropped_lines > 0:
+            lines.insert(0, '[' + str(self._dropped_lines) + ' earlier lines omitted]')
+        return '\n'.join(lines)
+
 # Wrapper class for data that should be serialized using the serialization library. 
 # Manages the serialization of extension types to bytes before using the 
 # registered serialization library for serializing primitive types.
@@ -160,9 +205,13 @@ class FromPandasTable:
     # @param start_row_number  the corresponding row number to the first row of the
     #                          dataframe. Differs from 0 as soon as a table chunk is
     #                          sent.
-    def __init__(self, data_frame, kernel, start_row_number=0):
+    # @param row_key_ranges    if True, a default index is kept as row key range
+    #                          and the 'RowN' keys are only created on request
+    def __init__(self, data_frame, kernel, start_row_number=0, row_key_ranges=False):
         self._data_frame = data_frame.copy()
         self._data_frame.columns = self._data_frame.columns.astype(str)
+        if not kernel.serializer_supports_nullable_ints():
+            kernel.nullable_int_columns_to_numpy(self._data_frame)
         self._column_types = []
         self._column_serializers = {}
         for i, column in enumerate(self._data_frame.columns):
@@ -171,8 +220,36 @@ class FromPandasTable:
             if serializer_id is not None:
                 self._column_serializers[column] = serializer_id
         kernel.serialize_objects_to_bytes(self._data_frame, self._column_serializers)
-        self.standardize_default_indices(start_row_number)
-        self._row_indices = self._data_frame.index.astype(str)
+        self._row_key_range = None
+        self._row_indices = None
+        if row_key_ranges and self.is_default_index(start_row_number):
+            self._row_key_range = (u'Row', start_row_number)
+        else:
+            self.standardize_default_indices(start_row_number)
+            self._row_indices = self._data_frame.index.astype(str)
+
+    # Check if the index of the internal data_frame is a default index, i.e. all
+    # of its values are replaced by 'RowN' in standardize_default_indices.
+    # @param start_row_number  the corresponding row number to the first row of the
+    #                          dataframe
+    def is_default_index(self, start_row_number):
+        index = self._data_frame.index
+        return len(index) > 0 and isinstance(index, RangeIndex) and numpy.array_equal(
+            index.values, numpy.arange(start_row_number, start_row_number + len(index)))
+
+    # Get the row key range describing the row keys as ('Row', N), where N is the
+    # number of the first row, or None if the row keys have been created.
+    def get_row_key_range(self):
+        return self._row_key_range
+
+    # Get the row keys, creating them first if they are only described by the
+    # row key range.
+    def get_row_indices(self):
+        if self._row_indices is None:
+            self.standardize_default_indices(self._row_key_range[1])
+            self._row_indices = self._data_frame.index.astype(str)
+            self._row_key_range = None
+        return self._row_indices
 
 
     # Replace default numeric indices with the KNIME standard row indices.
@@ -225,10 +302,10 @@ class FromPandasTable:
 
     # example: table.get_rowkey(0)
     def get_rowkey(self, row_index):
-        return self._row_indices[row_index]
+        return self.get_row_indices()[row_index]
 
     def get_rowkeys(self):
-        return self._data_frame.index.astype(str)
+        return self.get_row_indices()
 
     def get_number_columns(self):
         return len(self._data_frame.columns)
@@ -335,37 +412,74 @@ class PythonKernel(Borg):
         self._exec_env = {'request_from_java': self.write_message}
         # TCP connection
         self._connection = None
+        # reusable buffer for reading message sizes
+        self._size_buffer = bytearray(4)
         self._cleanup_object_names = []
+        # the state of the variables at the last listing, used for listing only changed variables
+        self._listed_variables = {}
+        # copies of the variables put from java while recording, used for restoring the inputs on a workspace reset
+        self._input_snapshot = None
+        self._recording_inputs = False
+        # maximum number of console output lines kept per execution
+        self._output_capacity = 1000
+        # number of lines of profiling statistics collected per execution, 0 disables profiling
+        self._profile_lines = 0
+        # the profiling statistics of the last execution
+        self._last_profile = ''
 
         # serialization library module
         self._serializer = None
+        # all serialization library modules loaded so far, by path
+        self._serializers = {}
+
+        # rows staged for tables of the local environment, by table name
+        self._staged_tables = {}
+        # tables put from java, staged rows are only merged into tables that have not been reassigned since
+        self._put_tables = {}
         
         # Get the TypeExtensionManager instance
         self._type_extension_manager = TypeExtensionManager(self.write_message)
         
         # Define global command handlers
         self._command_handlers = [ExecuteCommandHandler(),PutFlowVariablesCommandHandler(),
-                             GetFlowVariablesCommandHandler(),PutTableCommandHandler(),
-                             AppendToTableCommandHandler(),GetTableSizeCommandHandler(),
+                             GetFlowVariablesCommandHandler(),PutFlowVariablesInlineCommandHandler(),
+                             GetFlowVariablesInlineCommandHandler(),PutTableCommandHandler(),
+                             AppendToTableCommandHandler(),StageTableCommandHandler(),
+                             UnstageTableCommandHandler(),GetTableSizeCommandHandler(),
+                             GetTableColumnTypesCommandHandler(),
                              GetTableCommandHandler(),GetTableChunkCommandHandler(),
-                             ListVariablesCommandHandler(),ResetCommandHandler(),
+                             ListVariablesCommandHandler(),ListChangedVariablesCommandHandler(),
+                             GetVariablePreviewsCommandHandler(),ResetCommandHandler(),
+                             RecordInputSnapshotCommandHandler(),RestoreInputSnapshotCommandHandler(),
                              HasAutoCompleteCommandHandler(),AutoCompleteCommandHandler(),
-                             GetImageCommandHandler(),GetObjectCommandHandler(),
+                             StartAutoCompleteCommandHandler(),
+                             GetImageCommandHandler(),GetObjectCommandHandler(),GetObjectInlineCommandHandler(),
                              PutObjectCommandHandler(),AddSerializerCommandHandler(),
                              AddDeserializerCommandHandler(),ShutdownCommandHandler(),
                              PutSqlCommandHandler(),GetSqlCommandHandler(),
-                             SetCustomModulePathsHandler()]
+                             SetCustomModulePathsHandler(),SetOutputCapacityCommandHandler(),
+                             SetProfilingCommandHandler(),GetProfileCommandHandler(),
+                             SetSerializerCommandHandler(),PingCommandHandler()]
         
         if sys.getdefaultencoding() != 'utf-8':
             warnings.warn('Your default encoding is not "utf-8". You may experience errors with non ascii characters!')
         
     def connect(self, parameters):
         self._connection = socket.socket(socket.AF_INET, socket.SOCK_STREAM)
+        # commands are small request/response frames, do not let Nagle's algorithm delay them
+        self._connection.setsockopt(socket.IPPROTO_TCP, socket.TCP_NODELAY, 1)
         self._connection.connect(parameters)
         
     def loadSerializer(self, path):
-         self._serializer = self.load_module_from_path(path)
-         self._serializer.init(Simpletype)
+         if path not in self._serializers:
+             last_separator = path.rfind(os.sep)
+             serializer_directory_path = path[0:last_separator + 1]
+             if serializer_directory_path not in sys.path:
+                 sys.path.append(serializer_directory_path)
+             serializer = self.load_module_from_path(path)
+             serializer.init(Simpletype)
+             self._serializers[path] = serializer
+         self._serializer = self._serializers[path]
          
     #Register a new command handler processing a custom command
     def registerCommandHandler(self, cmdhandler):
@@ -377,11 +491,7 @@ class PythonKernel(Borg):
     def run(self):
         self.connect(('localhost', int(sys.argv[1])))
         # load serialization library
-        serializer_path = sys.argv[2]
-        last_separator = serializer_path.rfind(os.sep)
-        serializer_directory_path = serializer_path[0:last_separator + 1]
-        sys.path.append(serializer_directory_path)
-        self.loadSerializer(serializer_path)
+        self.loadSerializer(sys.argv[2])
         
         # First send PID of this process (so it can reliably be killed later)
         self.write_integer(os.getpid())
@@ -426,7 +536,8 @@ class PythonKernel(Borg):
     #                          dataframe. Differs from 0 as soon as a table chunk is
     #                          sent.
     def data_frame_to_bytes(self, data_frame, start_row_number=0):
-        table = FromPandasTable(data_frame, self, start_row_number)
+        table = FromPandasTable(data_frame, self, start_row_number,
+                                getattr(self._serializer, 'supports_row_key_ranges', False))
         #Uncomment to profile serialization time
         #import cProfile
         #profilepath = os.path.join(os.path.expanduser('~'), 'profileres.txt')
@@ -466,6 +577,119 @@ class PythonKernel(Borg):
                 df[key] = [str(dictionary[key])]
         return df
 
+    # Convert a python dict of flow variables to a dict holding only int, float and string values, using the same
+    # types as flow_variables_dict_to_data_frame.
+    # @param dictionary    a python dictionary
+    def flow_variables_to_key_values(self, dictionary):
+        key_values = collections.OrderedDict()
+        for key in dictionary:
+            value = dictionary[key]
+            if isinstance(value, bool):
+                key_values[key] = str(value)
+            elif isinstance(value, numbers.Integral):
+                # ints that are too large for an int flow variable are skipped by java, like long columns
+                key_values[key] = int(value)
+            elif isinstance(value, numbers.Real):
+                key_values[key] = float(value)
+            else:
+                key_values[key] = str(value)
+        return key_values
+
+
+    # Encode a dict of int, float, string and bytes values in the compact inline format read by java's
+    # InlineKeyValues: the number of entries, followed by each entry's length prefixed utf-8 key, a one byte type code
+    # and the value (all big endian).
+    # @param dictionary    a python dictionary
+    def key_values_to_bytes(self, dictionary):
+        parts = [struct.pack('>i', len(dictionary))]
+        for key in dictionary:
+            value = dictionary[key]
+            key_bytes = self.string_to_utf8(key)
+            parts.append(struct.pack('>i', len(key_bytes)))
+            parts.append(key_bytes)
+            if isinstance(value, bytearray) or (_python3 and isinstance(value, bytes)):
+                parts.append(b'b' + struct.pack('>i', len(value)))
+                parts.append(bytes(value))
+            elif isinstance(value, float):
+                parts.append(b'd' + struct.pack('>d', value))
+            elif isinstance(value, numbers.Integral) and not isinstance(value, bool):
+                if -2147483648 <= value <= 2147483647:
+                    parts.append(b'i' + struct.pack('>i', value))
+                else:
+                    parts.append(b'l' + struct.pack('>q', value))
+            else:
+                value_bytes = self.string_to_utf8(value)
+                parts.append(b's' + struct.pack('>i', len(value_bytes)))
+                parts.append(value_bytes)
+        return bytearray(b''.join(parts))
+
+
+    # Compute the size of the compact inline encoding of the given dict without encoding it.
+    # @param dictionary    a python dictionary
+    def key_values_size(self, dictionary):
+        size = 4
+        for key in dictionary:
+            value = dictionary[key]
+            size += 4 + len(self.string_to_utf8(key)) + 1
+            if isinstance(value, bytearray) or (_python3 and isinstance(value, bytes)):
+                size += 4 + len(value)
+            elif isinstance(value, float):
+                size += 8
+            elif isinstance(value, numbers.Integral) and not isinstance(value, bool):
+                size += 4 if -2147483648 <= value <= 2147483647 else 8
+            else:
+                size += 4 + len(self.string_to_utf8(value))
+        return size
+
+    # Pickle the given object. The result is passed on without copying where possible: python 3 bytes are
+    # recognized as raw bytes by the serializers, python 2 strings have to be wrapped into a bytearray.
+    def pickle_object(self, data_object):
+        o_bytes = pickle.dumps(data_object)
+        return o_bytes if _python3 else bytearray(o_bytes)
+
+
+    # Decode the compact inline key/value format written by java's InlineKeyValues.
+    # @param data_bytes    the encoded key/values
+    # @return an ordered dict of the decoded key/values
+    def bytes_to_key_values(self, data_bytes):
+        data_bytes = bytes(data_bytes)
+        key_values = collections.OrderedDict()
+        size = struct.unpack_from('>i', data_bytes, 0)[0]
+        position = 4
+        for i in range(size):
+            key_length = struct.unpack_from('>i', data_bytes, position)[0]
+            position += 4
+            key = data_bytes[position:position + key_length].decode('utf-8')
+            position += key_length
+            value_type = data_bytes[position:position + 1]
+            position += 1
+            if value_type == b'i':
+                key_values[key] = struct.unpack_from('>i', data_bytes, position)[0]
+                position += 4
+            elif value_type == b'l':
+                key_values[key] = struct.unpack_from('>q', data_bytes, position)[0]
+                position += 8
+            elif value_type == b'd':
+                key_values[key] = struct.unpack_from('>d', data_bytes, position)[0]
+                position += 8
+            else:
+                value_length = struct.unpack_from('>i', data_bytes, position)[0]
+                position += 4
+                value = data_bytes[position:position + value_length]
+                position += value_length
+                key_values[key] = value.decode('utf-8') if value_type == b's' else bytearray(value)
+        return key_values
+
+
+    # Encode the given value as utf-8 string.
+    def string_to_utf8(self, value):
+        if _python3:
+            return str(value).encode('utf-8')
+        if isinstance(value, unicode):
+            return value.encode('utf-8')
+        return str(value)
+
+
     # Is called on shutdown to clean up all variables that names are registered in 
     # _cleanup_object_names.
     def _cleanup(self):
@@ -479,16 +703,28 @@ class PythonKernel(Borg):
 
     # execute the given source code
     def execute(self, source_code):
-        output = StringIO()
-        error = StringIO()
+        output = BoundedOutputBuffer(self._output_capacity)
+        error = BoundedOutputBuffer(self._output_capacity)
         
         #log to stdout and output variable simultaneously
         backupStdOut = sys.stdout
         sys.stdout = Logger(sys.stdout, output)
         
+        profiler = None
+        if self._profile_lines > 0:
+            import cProfile
+            profiler = cProfile.Profile()
+        
         # run execute with the provided source code
         try:
-            exec(source_code, self._exec_env, self._exec_env)
+            if profiler is None:
+                exec(source_code, self._exec_env, self._exec_env)
+            else:
+                profiler.enable()
+                try:
+                    exec(source_code, self._exec_env, self._exec_env)
+                finally:
+                    profiler.disable()
         except Exception:
             backupStdError = sys.stderr
             sys.stderr = error
@@ -496,21 +732,63 @@ class PythonKernel(Borg):
             sys.stderr = backupStdError
         
         sys.stdout = backupStdOut
+        self._last_profile = self.format_profile(profiler) if profiler is not None else ''
         self.write_message(SuccessMessage())
         return [output.getvalue(), error.getvalue()]
 
+    # format the statistics of the given profiler, sorted by cumulative time and limited
+    # to the configured number of lines
+    def format_profile(self, profiler):
+        import pstats
+        stream = StringIO()
+        try:
+            stats = pstats.Stats(profiler, stream=stream)
+            stats.strip_dirs().sort_stats('cumulative').print_stats(self._profile_lines)
+        except Exception:
+            # no calls were recorded
+            return ''
+        return stream.getvalue()
+
 
     # put the given variable into the local environment under the given name
     def put_variable(self, name, variable):
         self._exec_env[name] = variable
 
 
+    # put the given data frame received from java into the local environment
+    def put_table(self, name, data_frame):
+        self._exec_env[name] = data_frame
+        self._put_tables[name] = data_frame
+
+
     # append the given data frame to an existing one, if it does not exist put the data frame into the local environment
     def append_to_table(self, name, data_frame):
         if self._exec_env[name] is None:
             self._exec_env[name] = data_frame
         else:
             self._exec_env[name] = self._exec_env[name].append(data_frame)
+        self._put_tables[name] = self._exec_env[name]
+
+
+    # append the given data frame to the rows staged for the table with the given name, staged rows are kept outside
+    # of the local environment until they are merged into the table
+    def stage_table(self, name, data_frame):
+        staged = self._staged_tables.get(name)
+        self._staged_tables[name] = data_frame if staged is None else staged.append(data_frame)
+
+
+    # discard the rows staged for the table with the given name, appending them to the table first if merge is True
+    # and the variable is still the table put from java, returns True if the rows have been appended
+    def unstage_table(self, name, merge):
+        staged = self._staged_tables.pop(name, None)
+        if not merge or staged is None:
+            return False
+        table = self._put_tables.get(name)
+        if table is None or self._exec_env.get(name) is not table:
+            return False
+        self.append_to_table(name, staged)
+        self.record_input(name, staged, append=True)
+        return True
 
 
     # get the variable with the given name
@@ -529,30 +807,52 @@ class PythonKernel(Borg):
             return default
 
 
-    # list all currently loaded modules and defined classes, functions and variables
-    def list_variables(self):
+    # List all variables of the workspace. Only names, types and sizes are computed
+    # for most variables, their values are previewed lazily using get_variable_previews.
+    # @param changed_only  if true, only the variables that changed since the last
+    #                      listing are contained, together with the removed ones
+    def list_variables(self, changed_only=False):
         # create lists of modules, classes, functions and variables
         modules = []
         classes = []
         functions = []
         variables = []
+        removed = []
+        listed_variables = {}
         # iterate over dictionary to and put modules, classes, functions and variables in their respective lists
         for key, value in dict(self._exec_env).items():
+            if key == '__builtins__':
+                continue
             # get name of the type
             var_type = type(value).__name__
+            size = self.variable_size(value)
+            state = (id(value), var_type, size)
+            listed_variables[key] = state
+            if changed_only and self._listed_variables.get(key) == state:
+                continue
+            entry = {'name': key, 'type': var_type, 'size': size, 'value': '', 'lazy': '0', 'removed': '0'}
             # class type changed from classobj to type in python 3
             class_type = 'classobj'
             if _python3:
                 class_type = 'type'
             if var_type == 'module':
-                modules.append({'name': key, 'type': var_type, 'value': ''})
+                modules.append(entry)
             elif var_type == class_type:
-                classes.append({'name': key, 'type': var_type, 'value': ''})
+                classes.append(entry)
             elif var_type == 'function':
-                functions.append({'name': key, 'type': var_type, 'value': ''})
-            elif key != '__builtins__':
-                value = self.object_to_string(value)
-                variables.append({'name': key, 'type': var_type, 'value': value})
+                functions.append(entry)
+            else:
+                preview = self.variable_preview(value)
+                if preview is None:
+                    entry['lazy'] = '1'
+                else:
+                    entry['value'] = preview
+                variables.append(entry)
+        if changed_only:
+            for key in self._listed_variables:
+                if key not in listed_variables:
+                    removed.append({'name': key, 'type': '', 'size': '', 'value': '', 'lazy': '0', 'removed': '1'})
+        self._listed_variables = listed_variables
         # sort lists by name
         modules = sorted(modules, key=lambda k: k['name'])
         classes = sorted(classes, key=lambda k: k['name'])
@@ -564,13 +864,82 @@ class PythonKernel(Borg):
         response.extend(classes)
         response.extend(functions)
         response.extend(variables)
+        response.extend(removed)
         return response
 
+    # Get a cheap description of the size of a variable, e.g. the shape of a DataFrame.
+    def variable_size(self, value):
+        try:
+            shape = getattr(value, 'shape', None)
+            if isinstance(shape, tuple):
+                return ' x '.join(str(dim) for dim in shape)
+            if isinstance(value, (str, bytes, list, tuple, dict, set)):
+                return str(len(value))
+        except Exception:
+            pass
+        return ''
+
+    # Get the value of a variable as string if this is cheap, None otherwise.
+    def variable_preview(self, value):
+        if value is None or isinstance(value, (bool, int, float, complex, numpy.number)):
+            return self.object_to_string(value)
+        if isinstance(value, str) and len(value) <= 1000:
+            return self.object_to_string(value)
+        return None
+
+    # Get the values of the given variables as strings truncated to max_length characters.
+    def get_variable_previews(self, names, max_length=10000):
+        previews = []
+        for name in names:
+            if name in self._exec_env:
+                value = self.object_to_string(self._exec_env[name])
+                if len(value) > max_length:
+                    value = value[:max_length] + '...'
+                previews.append({'name': name, 'value': value})
+        return previews
+
 
     # reset the current environment
     def reset(self):
         # reset environment by emptying variable definitions
         self._exec_env = {}
+        self._listed_variables = {}
+        self._staged_tables = {}
+        self._put_tables = {}
+
+
+    # start (record=True) or stop (record=False) recording copies of the variables that are put from java
+    def record_input_snapshot(self, record):
+        if record:
+            self._input_snapshot = collections.OrderedDict()
+        self._recording_inputs = record
+
+
+    # record a copy of the given variable put from java, appended data frames are appended to the recorded copy
+    def record_input(self, name, variable, append=False):
+        if self._recording_inputs:
+            if append and self._input_snapshot.get(name) is not None:
+                self._input_snapshot[name] = self._input_snapshot[name].append(variable)
+            else:
+                self._input_snapshot[name] = self.copy_variable(variable)
+
+
+    # returns a deep copy of the given variable or the variable itself if it cannot be copied
+    def copy_variable(self, variable):
+        try:
+            return copy.deepcopy(variable)
+        except Exception:
+            return variable
+
+
+    # replace the current environment by copies of the recorded inputs, returns false if no inputs have been recorded
+    def restore_input_snapshot(self):
+        if self._input_snapshot is None:
+            return False
+        self._exec_env = {'request_from_java': self.write_message}
+        for name, variable in self._input_snapshot.items():
+            self._exec_env[name] = self.copy_variable(variable)
+        return True
 
 
     # returns true if auto complete is available, false otherwise
@@ -824,33 +1193,42 @@ class PythonKernel(Borg):
 
     # reads 4 bytes from the input stream and interprets them as size
     def read_size(self):
-        data = bytearray()
-        while len(data) < 4:
-            data.extend(self._connection.recv(4))
-        return struct.unpack('>L', data)[0]
+        self._read_into(self._size_buffer)
+        return struct.unpack('>L', self._size_buffer)[0]
 
 
     # read the next data from the input stream
     def read_data(self):
         size = self.read_size()
-        data = bytearray()
-        while len(data) < size:
-            data.extend(self._connection.recv(size))
+        data = bytearray(size)
+        self._read_into(data)
         return data
 
 
+    # fill the given buffer with exactly len(buffer) bytes from the input stream
+    def _read_into(self, buffer):
+        view = memoryview(buffer)
+        received = 0
+        while received < len(buffer):
+            count = self._connection.recv_into(view[received:], len(buffer) - received)
+            if count == 0:
+                raise EOFError('The connection to java was closed.')
+            received += count
+
+
     # writes the given size as 4 byte integer to the output stream
     def write_size(self, size):
-        writer = self._connection.makefile('wb', 4)
-        writer.write(struct.pack('>L', size))
-        writer.flush()
-        #_connection.sendall(struct.pack('>L', size))
+        self._connection.sendall(struct.pack('>L', size))
 
 
-    # writes the given data to the output stream
+    # writes the given data to the output stream, small messages are sent together
+    # with their size in a single packet
     def write_data(self, data):
-        self.write_size(len(data))
-        self._connection.sendall(data)
+        if len(data) <= _COALESCE_LIMIT:
+            self._connection.sendall(struct.pack('>L', len(data)) + bytes(data))
+        else:
+            self.write_size(len(data))
+            self._connection.sendall(data)
 
 
     # writes an empty message
@@ -866,6 +1244,14 @@ class PythonKernel(Borg):
         self.write_data(struct.pack('>L', integer))
 
 
+    def read_long(self):
+        return struct.unpack('>q', self.read_data())[0]
+
+
+    def write_long(self, value):
+        self.write_data(struct.pack('>q', value))
+
+
     def read_string(self):
         try:
             return self.read_data().decode('utf-8')
@@ -904,6 +1290,30 @@ class PythonKernel(Borg):
             return self.read_response(msg)
 
 
+    # Check if the given column is a pandas nullable integer column (pandas >= 0.24), whose missing values do not
+    # turn the column into floats.
+    def is_nullable_int_column(self, data_frame, column_name):
+        dtype = data_frame[column_name].dtype
+        return hasattr(pandas.api.types, 'is_extension_array_dtype') \
+            and pandas.api.types.is_extension_array_dtype(dtype) and pandas.api.types.is_integer_dtype(dtype)
+
+    # Check if the active serialization library transfers pandas nullable integer columns including their missing
+    # values. Only then such columns are typed as INTEGER or LONG columns.
+    def serializer_supports_nullable_ints(self):
+        return getattr(self._serializer, 'supports_nullable_ints', False)
+
+    # Convert the pandas nullable integer columns of the given data frame (inplace) for serialization libraries that
+    # do not support them: columns without missing values become plain integer columns, the others float columns
+    # with NaN for the missing values, like pandas does for integer columns with missing values.
+    # @param data_frame    a pandas.DataFrame
+    def nullable_int_columns_to_numpy(self, data_frame):
+        for column in data_frame.columns:
+            if self.is_nullable_int_column(data_frame, column):
+                if data_frame[column].isnull().any():
+                    data_frame[column] = data_frame[column].astype('float64')
+                else:
+                    data_frame[column] = data_frame[column].astype(data_frame[column].dtype.numpy_dtype)
+
     # Get the {@link Simpletype} of a column in the passed dataframe and the serializer_id
     # if available (only interesting for extension types that are transferred as bytes).
     # @param data_frame    the dataframe containing the columns to evaluate
@@ -917,12 +1327,15 @@ class PythonKernel(Borg):
         else:
             if data_frame[column_name].dtype == 'bool':
                 simple_type = Simpletype.BOOLEAN
-            elif data_frame[column_name].dtype == 'int32' or data_frame[column_name].dtype == 'int64':
-                minvalue = data_frame[column_name][data_frame[column_name].idxmin()]
-                maxvalue = data_frame[column_name][data_frame[column_name].idxmax()]
+            elif data_frame[column_name].dtype == 'int32' or data_frame[column_name].dtype == 'int64' \
+                    or (self.serializer_supports_nullable_ints()
+                        and self.is_nullable_int_column(data_frame, column_name)):
+                # min and max skip the missing values of nullable integer columns
+                minvalue = data_frame[column_name].min()
+                maxvalue = data_frame[column_name].max()
                 int32min = -2147483648
                 int32max = 2147483647
-                if minvalue >= int32min and maxvalue <= int32max:
+                if pandas.isnull(minvalue) or (minvalue >= int32min and maxvalue <= int32max):
                     simple_type = Simpletype.INTEGER
                 else:
                     simple_type = Simpletype.LONG
@@ -1122,9 +1535,15 @@ class ExecuteCommandHandler(CommandHandler):
         
     def execute(self, kernel):
         source_code = kernel.read_string()
+        output_marker = kernel.read_string()
         debug_util.debug_msg('executing: ' + source_code + '\n')
         output, error = kernel.execute(source_code)
         debug_util.debug_msg('executing done!')
+        # tells java that all output of the execution has been read from the pipes
+        if output_marker:
+            for stream in [sys.stdout, sys.stderr]:
+                stream.write(output_marker + '\n')
+                stream.flush()
         kernel.write_string(output)
         kernel.write_string(error)
         
@@ -1139,6 +1558,7 @@ class PutFlowVariablesCommandHandler(CommandHandler):
         data_frame = kernel.bytes_to_data_frame(data_bytes)
         kernel.fill_flow_variables_from_data_frame(flow_variables, data_frame)
         kernel.put_variable(name, flow_variables)
+        kernel.record_input(name, flow_variables)
         kernel.write_dummy()
         
 class GetFlowVariablesCommandHandler(CommandHandler):
@@ -1152,6 +1572,35 @@ class GetFlowVariablesCommandHandler(CommandHandler):
         data_bytes = kernel.data_frame_to_bytes(data_frame)
         kernel.write_bytearray(data_bytes)
         
+class PutFlowVariablesInlineCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'putFlowVariablesInline'
+        
+    def execute(self, kernel):
+        name = kernel.read_string()
+        flow_variables = kernel.bytes_to_key_values(kernel.read_bytearray())
+        kernel.put_variable(name, flow_variables)
+        kernel.record_input(name, flow_variables)
+        kernel.write_dummy()
+        
+class GetFlowVariablesInlineCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'getFlowVariablesInline'
+        
+    def execute(self, kernel):
+        name = kernel.read_string()
+        threshold = kernel.read_integer()
+        current_variables = kernel.get_variable(name)
+        key_values = kernel.flow_variables_to_key_values(current_variables)
+        # the first frame tells java whether the payload is inline (0) or a serialized table (1)
+        if kernel.key_values_size(key_values) <= threshold:
+            kernel.write_integer(0)
+            kernel.write_bytearray(kernel.key_values_to_bytes(key_values))
+        else:
+            data_frame = kernel.flow_variables_dict_to_data_frame(current_variables)
+            kernel.write_integer(1)
+            kernel.write_bytearray(kernel.data_frame_to_bytes(data_frame))
+        
 class PutTableCommandHandler(CommandHandler):
     def __init__(self):
         self._command = 'putTable'
@@ -1160,7 +1609,8 @@ class PutTableCommandHandler(CommandHandler):
         name = kernel.read_string()
         data_bytes = kernel.read_bytearray()
         data_frame = kernel.bytes_to_data_frame(data_bytes)
-        kernel.put_variable(name, data_frame)
+        kernel.put_table(name, data_frame)
+        kernel.record_input(name, data_frame)
         kernel.write_message(SuccessMessage())
         
 class AppendToTableCommandHandler(CommandHandler):
@@ -1172,8 +1622,28 @@ class AppendToTableCommandHandler(CommandHandler):
         data_bytes = kernel.read_bytearray()
         data_frame = kernel.bytes_to_data_frame(data_bytes)
         kernel.append_to_table(name, data_frame)
+        kernel.record_input(name, data_frame, append=True)
         kernel.write_message(SuccessMessage())
         
+class StageTableCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'stageTable'
+        
+    def execute(self, kernel):
+        name = kernel.read_string()
+        data_bytes = kernel.read_bytearray()
+        kernel.stage_table(name, kernel.bytes_to_data_frame(data_bytes))
+        kernel.write_message(SuccessMessage())
+        
+class UnstageTableCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'unstageTable'
+        
+    def execute(self, kernel):
+        name = kernel.read_string()
+        merged = kernel.unstage_table(name, kernel.read_integer() > 0)
+        kernel.write_integer(1 if merged else 0)
+        
 class GetTableSizeCommandHandler(CommandHandler):
     def __init__(self):
         self._command = 'getTableSize'
@@ -1181,7 +1651,24 @@ class GetTableSizeCommandHandler(CommandHandler):
     def execute(self, kernel):
         name = kernel.read_string()
         data_frame = kernel.get_variable(name)
-        kernel.write_integer(len(data_frame))
+        kernel.write_long(len(data_frame))
+        
+# Returns the comma separated ids of the simple types the columns of a table would be serialized as
+class GetTableColumnTypesCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'getTableColumnTypes'
+        
+    def execute(self, kernel):
+        name = kernel.read_string()
+        data_frame = kernel.get_variable(name)
+        type_ids = []
+        for column in data_frame.columns:
+            try:
+                type_ids.append(kernel.simpletype_for_column(data_frame, column)[0])
+            except Exception:
+                # the transfer reports the actual problem, only the estimate is affected here
+                type_ids.append(Simpletype.STRING)
+        kernel.write_string(','.join(str(type_id) for type_id in type_ids))
         
 class GetTableCommandHandler(CommandHandler):
     def __init__(self):
@@ -1205,8 +1692,8 @@ class GetTableChunkCommandHandler(CommandHandler):
     def execute(self, kernel):
         debug_util.debug_msg('getTableChunk\n')
         name = kernel.read_string()
-        start = kernel.read_integer()
-        end = kernel.read_integer()
+        start = kernel.read_long()
+        end = kernel.read_long()
         data_frame = kernel.get_variable(name)
         import pandas
         if type(data_frame) != pandas.core.frame.DataFrame:
@@ -1225,6 +1712,27 @@ class ListVariablesCommandHandler(CommandHandler):
         data_frame = DataFrame(variables)
         data_bytes = kernel.data_frame_to_bytes(data_frame)
         kernel.write_bytearray(data_bytes)
+
+class ListChangedVariablesCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'listChangedVariables'
+        
+    def execute(self, kernel):
+        variables = kernel.list_variables(changed_only=True)
+        data_frame = DataFrame(variables)
+        data_bytes = kernel.data_frame_to_bytes(data_frame)
+        kernel.write_bytearray(data_bytes)
+
+class GetVariablePreviewsCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'getVariablePreviews'
+        
+    def execute(self, kernel):
+        names = kernel.read_string().split('\n')
+        previews = kernel.get_variable_previews(names)
+        data_frame = DataFrame(previews)
+        data_bytes = kernel.data_frame_to_bytes(data_frame)
+        kernel.write_bytearray(data_bytes)
         
 class ResetCommandHandler(CommandHandler):
     def __init__(self):
@@ -1234,6 +1742,25 @@ class ResetCommandHandler(CommandHandler):
         kernel.reset()
         kernel.write_dummy()
         
+class RecordInputSnapshotCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'recordInputSnapshot'
+        
+    def execute(self, kernel):
+        kernel.record_input_snapshot(kernel.read_integer() > 0)
+        kernel.write_dummy()
+        
+class RestoreInputSnapshotCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'restoreInputSnapshot'
+        
+    def execute(self, kernel):
+        if kernel.restore_input_snapshot():
+            value = 1
+        else:
+            value = 0
+        kernel.write_integer(value)
+        
 class HasAutoCompleteCommandHandler(CommandHandler):
     def __init__(self):
         self._command = 'hasAutoComplete'
@@ -1258,6 +1785,62 @@ class AutoCompleteCommandHandler(CommandHandler):
         data_bytes = kernel.data_frame_to_bytes(data_frame)
         kernel.write_bytearray(data_bytes)
         
+class StartAutoCompleteCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'startAutoComplete'
+        
+    def execute(self, kernel):
+        port = kernel.read_integer()
+        AutoCompleteServer(kernel, port).start()
+        kernel.write_dummy()
+
+# Serves auto completion requests on a separate connection, so that they are
+# answered while a command is executed.
+class AutoCompleteServer(threading.Thread):
+    def __init__(self, kernel, port):
+        threading.Thread.__init__(self, name='AutoCompleteServer')
+        self.daemon = True
+        self._kernel = kernel
+        self._connection = socket.socket(socket.AF_INET, socket.SOCK_STREAM)
+        self._connection.setsockopt(socket.IPPROTO_TCP, socket.TCP_NODELAY, 1)
+        self._connection.connect(('localhost', port))
+    
+    def run(self):
+        try:
+            while True:
+                line = int(self._read_string())
+                column = int(self._read_string())
+                source_code = self._read_string()
+                try:
+                    completions = self._kernel.auto_complete(source_code, line, column)
+                except Exception:
+                    completions = []
+                response = [str(len(completions))]
+                for completion in completions:
+                    response.extend([completion['name'], completion['type'], completion['doc']])
+                self._connection.sendall(b''.join(self._frame(string) for string in response))
+        except (EOFError, socket.error):
+            pass
+        finally:
+            self._connection.close()
+    
+    def _frame(self, string):
+        data = string.encode('utf-8')
+        return struct.pack('>L', len(data)) + data
+    
+    def _read_string(self):
+        size = struct.unpack('>L', self._read(4))[0]
+        return self._read(size).decode('utf-8')
+    
+    def _read(self, size):
+        data = b''
+        while len(data) < size:
+            chunk = self._connection.recv(size - len(data))
+            if not chunk:
+                raise EOFError('The connection to java was closed.')
+            data += chunk
+        return data
+
 class GetImageCommandHandler(CommandHandler):
     def __init__(self):
         self._command = 'getImage'
@@ -1284,13 +1867,35 @@ class GetObjectCommandHandler(CommandHandler):
     def execute(self, kernel):
         name = kernel.read_string()
         data_object = kernel.get_variable(name)
-        o_bytes = bytearray(pickle.dumps(data_object))
+        o_bytes = kernel.pickle_object(data_object)
         o_type = type(data_object).__name__
         o_representation = kernel.object_to_string(data_object)
         data_frame = DataFrame([{'bytes': o_bytes, 'type': o_type, 'representation': o_representation}])
         data_bytes = kernel.data_frame_to_bytes(data_frame)
         kernel.write_bytearray(data_bytes)
         
+class GetObjectInlineCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'getObjectInline'
+        
+    def execute(self, kernel):
+        name = kernel.read_string()
+        threshold = kernel.read_integer()
+        data_object = kernel.get_variable(name)
+        o_bytes = kernel.pickle_object(data_object)
+        o_type = type(data_object).__name__
+        o_representation = kernel.object_to_string(data_object)
+        key_values = collections.OrderedDict(
+            [('bytes', o_bytes), ('type', o_type), ('representation', o_representation)])
+        # the first frame tells java whether the payload is inline (0) or a serialized table (1)
+        if kernel.key_values_size(key_values) <= threshold:
+            kernel.write_integer(0)
+            kernel.write_bytearray(kernel.key_values_to_bytes(key_values))
+        else:
+            data_frame = DataFrame([key_values])
+            kernel.write_integer(1)
+            kernel.write_bytearray(kernel.data_frame_to_bytes(data_frame))
+        
 class PutObjectCommandHandler(CommandHandler):
     def __init__(self):
         self._command = 'putObject'
@@ -1300,6 +1905,7 @@ class PutObjectCommandHandler(CommandHandler):
         data_bytes = kernel.read_bytearray()
         data_object = pickle.loads(data_bytes)
         kernel.put_variable(name, data_object)
+        kernel.record_input(name, data_object)
         kernel.write_dummy()
         
 class AddSerializerCommandHandler(CommandHandler):
@@ -1313,6 +1919,22 @@ class AddSerializerCommandHandler(CommandHandler):
         kernel._type_extension_manager.add_serializer(s_id, s_type, s_path)
         kernel.write_dummy()
         
+class PingCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'ping'
+        
+    def execute(self, kernel):
+        kernel.write_dummy()
+        
+class SetSerializerCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'setSerializer'
+        
+    def execute(self, kernel):
+        s_path = kernel.read_string()
+        kernel.loadSerializer(s_path)
+        kernel.write_dummy()
+        
 class AddDeserializerCommandHandler(CommandHandler):
     def __init__(self):
         self._command = 'addDeserializer'
@@ -1339,7 +1961,7 @@ class PutSqlCommandHandler(CommandHandler):
         name = kernel.read_string()
         data_bytes = kernel.read_bytearray()
         data_frame = kernel.bytes_to_data_frame(data_bytes)
-        db_util = DBUtil(data_frame)
+        db_util = DBUtil(data_frame, kernel)
         kernel._exec_env[name] = db_util
         kernel._cleanup_object_names.append(name)
         kernel.write_dummy()
@@ -1366,6 +1988,34 @@ class SetCustomModulePathsHandler(CommandHandler):
         sys.path.append(path)
         kernel.write_dummy()
 
+# Sets the maximum number of console output lines that are kept and returned to
+# java per execution
+class SetOutputCapacityCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'setOutputCapacity'
+        
+    def execute(self, kernel):
+        kernel._output_capacity = kernel.read_integer()
+        kernel.write_dummy()
+
+# Sets the number of lines of profiling statistics collected per execution, 0 disables
+# profiling
+class SetProfilingCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'setProfiling'
+        
+    def execute(self, kernel):
+        kernel._profile_lines = kernel.read_integer()
+        kernel.write_dummy()
+
+# Returns the profiling statistics of the last execution, empty if profiling is disabled
+class GetProfileCommandHandler(CommandHandler):
+    def __init__(self):
+        self._command = 'getProfile'
+        
+    def execute(self, kernel):
+        kernel.write_string(kernel._last_profile)
+
 if __name__=="__main__":
     # Uncomment below and comment the run() call for profiling
     # See https://docs.python.org/3/library/profile.html on how to interpet the result
@@ -99,4 +99,23 @@ class DeserializerRequest(PythonToJavaMessage):
                 return res
         except:
             pass
-        return None
\ No newline at end of file
+        return None
+
+class SqlFetchRequest(PythonToJavaMessage):
+    def __init__(self, val):
+        PythonToJavaMessage.__init__(self, 'sql_fetch_request', val, True)
+    
+    # Returns the name of the variable holding the result followed by the names of
+    # its date and time columns. If the query failed, the name is empty and the
+    # error message follows.
+    def process_response(self, val):
+        return val.split('\n')
+
+class SqlWriteRequest(PythonToJavaMessage):
+    def __init__(self, val):
+        PythonToJavaMessage.__init__(self, 'sql_write_request', val, True)
+    
+    # Returns the number of written rows. If writing failed, the first entry is
+    # empty and the error message follows.
+    def process_response(self, val):
+        return val.split('\n')
@@ -59,6 +59,8 @@
 import org.knime.python2.PythonKernelTester.PythonKernelTestResult;
 import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtensions;
 import org.knime.python2.generic.templates.SourceCodeTemplatesExtensions;
+import org.knime.python2.kernel.PythonKernelMetrics;
+import org.knime.python2.kernel.PythonSession;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
@@ -105,6 +107,7 @@ public void run() {
         }).start();
         SerializationLibraryExtensions.init();
         SourceCodeTemplatesExtensions.init();
+        PythonKernelMetrics.registerTotal();
     }
 
     /**
@@ -112,6 +115,8 @@ public void run() {
      */
     @Override
     public void stop(final BundleContext bundleContext) throws Exception {
+        PythonSession.closeAll();
+        PythonKernelMetrics.unregisterTotal();
     }
 
     /**
@@ -87,6 +87,7 @@
 import org.knime.python2.PythonPathEditor.PythonVersionId;
 import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtension;
 import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtensions;
+import org.knime.python2.extensions.serializationlibrary.SerializationLibrarySelector;
 import org.osgi.service.prefs.BackingStoreException;
 
 /**
@@ -346,9 +347,11 @@ private static void initListOfSerializers(final boolean forceReinit) {
                     sortedExtensions.put(extension.getJavaSerializationLibraryFactory().getName(), extension.getId());
                 }
             }
-            m_serializerNames = new String[sortedExtensions.size()];
+            m_serializerNames = new String[sortedExtensions.size() + 1];
             m_serializerIds = new ArrayList<String>();
-            int i = 0;
+            m_serializerNames[0] = SerializationLibrarySelector.AUTO_SERIALIZER_NAME;
+            m_serializerIds.add(SerializationLibrarySelector.AUTO_SERIALIZER_ID);
+            int i = 1;
             for (final Entry<String, String> extension : sortedExtensions.entrySet()) {
                 m_serializerNames[i] = extension.getKey();
                 m_serializerIds.add(extension.getValue());
@@ -0,0 +1,299 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.knime.core.node.NodeLogger;
+import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtension;
+import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtensions;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.SyntheticTableChunker;
+import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonKernelOptions;
+import org.knime.python2.kernel.PythonKernelOptions.PythonVersionOption;
+import org.knime.python2.port.PickledObject;
+
+/**
+ * Headless application measuring the whole round trip between KNIME and python: kernel startup, command latency,
+ * table transfer in both directions, execution of a no-op script, transfer of pickled objects and shutdown. The
+ * measurements are run for every combination of serialization library and chunk size and written as CSV to a file or
+ * to stdout. The ping operation reports the mean latency of a series of empty commands.
+ *
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * knime -nosplash -consoleLog -application org.knime.python2.PythonKernelBenchmark
+ *     -serializers org.knime.serialization.flatbuffers.column,org.knime.python2.serde.arrow
+ *     -chunkSizes 50000,500000 -rows 1000,100000,1000000 -columns 10 -objectSizes 1024,1048576
+ *     -pings 1000 -repetitions 5 -warmup 1 -python 3 -out results.csv
+ * </pre>
+ *
+ * All options are optional. By default all installed serialization libraries are measured.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class PythonKernelBenchmark implements IApplication {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonKernelBenchmark.class);
+
+    private static final String TABLE_NAME = "benchmark_table";
+
+    private static final String OBJECT_NAME = "benchmark_object";
+
+    private final List<String> m_serializerIds = new ArrayList<String>();
+
+    private final List<Integer> m_chunkSizes = new ArrayList<Integer>();
+
+    private final List<Long> m_rows = new ArrayList<Long>();
+
+    private final List<Integer> m_objectSizes = new ArrayList<Integer>();
+
+    private int m_columns = 10;
+
+    private int m_pings = 1000;
+
+    private int m_repetitions = 5;
+
+    private int m_warmup = 1;
+
+    private PythonVersionOption m_pythonVersion = null;
+
+    private File m_outputFile = null;
+
+    private PrintStream m_out;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object start(final IApplicationContext context) throws Exception {
+        final Object args = context.getArguments().get(IApplicationContext.APPLICATION_ARGS);
+        try {
+            parseArguments(args instanceof String[] ? (String[])args : new String[0]);
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            return Integer.valueOf(1);
+        }
+        m_out = m_outputFile == null ? System.out : new PrintStream(new FileOutputStream(m_outputFile), true, "UTF-8");
+        try {
+            m_out.println("operation,serializer,chunk_size,rows,columns,bytes,repetition,millis");
+            for (final String serializerId : m_serializerIds) {
+                for (final int chunkSize : m_chunkSizes) {
+                    for (int i = 0; i < m_warmup + m_repetitions; i++) {
+                        // Warm-up repetitions have a negative index and may be filtered out
+                        runRepetition(serializerId, chunkSize, i - m_warmup);
+                    }
+                }
+            }
+        } finally {
+            if (m_outputFile != null) {
+                m_out.close();
+            }
+        }
+        return IApplication.EXIT_OK;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        // Nothing to do, the benchmark runs to completion
+    }
+
+    private void runRepetition(final String serializerId, final int chunkSize, final int repetition)
+        throws IOException {
+        final PythonKernelOptions options = new PythonKernelOptions();
+        if (m_pythonVersion != null) {
+            options.setPythonVersionOption(m_pythonVersion);
+        }
+        options.setOverrulePreferencePage(true);
+        options.setSerializerId(serializerId);
+        options.setChunkSize(chunkSize);
+        long start = System.nanoTime();
+        final PythonKernel kernel = new PythonKernel(options);
+        record("startup", serializerId, chunkSize, 0, 0, repetition, start);
+        try {
+            if (m_pings > 0) {
+                start = System.nanoTime();
+                for (int i = 0; i < m_pings; i++) {
+                    kernel.ping();
+                }
+                record("ping", serializerId, chunkSize, 0, 0, repetition, start, m_pings);
+            }
+            start = System.nanoTime();
+            kernel.execute("pass");
+            record("execute", serializerId, chunkSize, 0, 0, repetition, start);
+            for (final long rows : m_rows) {
+                start = System.nanoTime();
+                kernel.putData(TABLE_NAME, new SyntheticTableChunker(rows, m_columns), rows);
+                record("put_table", serializerId, chunkSize, rows, 0, repetition, start);
+                start = System.nanoTime();
+                final TableCreator<?> creator = kernel.getData(TABLE_NAME, new CountingTableCreatorFactory());
+                record("get_table", serializerId, chunkSize, rows, 0, repetition, start);
+                if (((Long)creator.getTable()).longValue() != rows) {
+                    throw new IOException("Expected " + rows + " rows from python but received " + creator.getTable()
+                        + ".");
+                }
+            }
+            for (final int size : m_objectSizes) {
+                kernel.execute(OBJECT_NAME + " = bytearray(" + size + ")");
+                start = System.nanoTime();
+                final PickledObject object = kernel.getObject(OBJECT_NAME, null);
+                record("get_object", serializerId, chunkSize, 0, size, repetition, start);
+                start = System.nanoTime();
+                kernel.putObject(OBJECT_NAME, object);
+                record("put_object", serializerId, chunkSize, 0, size, repetition, start);
+            }
+        } catch (final IOException e) {
+            LOGGER.error("Benchmark failed for serialization library " + serializerId + ": " + e.getMessage(), e);
+            throw e;
+        } finally {
+            start = System.nanoTime();
+            kernel.close();
+            record("shutdown", serializerId, chunkSize, 0, 0, repetition, start);
+        }
+    }
+
+    private void record(final String operation, final String serializerId, final int chunkSize, final long rows,
+        final long bytes, final int repetition, final long startNanos) {
+        record(operation, serializerId, chunkSize, rows, bytes, repetition, startNanos, 1);
+    }
+
+    /**
+     * Writes the mean time of the given number of operations that ran since startNanos.
+     */
+    private void record(final String operation, final String serializerId, final int chunkSize, final long rows,
+        final long bytes, final int repetition, final long startNanos, final int operations) {
+        final double millis = (System.nanoTime() - startNanos) / 1e6 / operations;
+        m_out.println(String.format(Locale.US, "%s,%s,%d,%d,%d,%d,%d,%.3f", operation, serializerId, chunkSize, rows,
+            rows > 0 ? m_columns : 0, bytes, repetition, millis));
+    }
+
+    private void parseArguments(final String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            final String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for option " + option + ".");
+            }
+            final String value = args[++i];
+            try {
+                if (option.equals("-serializers")) {
+                    for (final String id : value.split(",")) {
+                        m_serializerIds.add(id.trim());
+                    }
+                } else if (option.equals("-chunkSizes")) {
+                    for (final String size : value.split(",")) {
+                        m_chunkSizes.add(Integer.parseInt(size.trim()));
+                    }
+                } else if (option.equals("-rows")) {
+                    for (final String rows : value.split(",")) {
+                        m_rows.add(Long.parseLong(rows.trim()));
+                    }
+                } else if (option.equals("-objectSizes")) {
+                    for (final String size : value.split(",")) {
+                        m_objectSizes.add(Integer.parseInt(size.trim()));
+                    }
+                } else if (option.equals("-columns")) {
+                    m_columns = Integer.parseInt(value);
+                } else if (option.equals("-pings")) {
+                    m_pings = Integer.parseInt(value);
+                } else if (option.equals("-repetitions")) {
+                    m_repetitions = Integer.parseInt(value);
+                } else if (option.equals("-warmup")) {
+                    m_warmup = Integer.parseInt(value);
+                } else if (option.equals("-python")) {
+                    m_pythonVersion = value.equals("2") ? PythonVersionOption.PYTHON2 : PythonVersionOption.PYTHON3;
+                } else if (option.equals("-out")) {
+                    m_outputFile = new File(value);
+                } else {
+                    throw new IllegalArgumentException("Unknown option " + option + ".");
+                }
+            } catch (final NumberFormatException e) {
+                throw new IllegalArgumentException("Option " + option + " expects a number but got " + value + ".", e);
+            }
+        }
+        if (m_serializerIds.isEmpty()) {
+            for (final SerializationLibraryExtension extension : SerializationLibraryExtensions.getExtensions()) {
+                if (!extension.isHidden()) {
+                    m_serializerIds.add(extension.getId());
+                }
+            }
+        }
+        if (m_chunkSizes.isEmpty()) {
+            m_chunkSizes.add(PythonKernelOptions.DEFAULT_CHUNK_SIZE);
+        }
+        if (m_rows.isEmpty()) {
+            m_rows.add(1000L);
+            m_rows.add(100000L);
+        }
+        if (m_objectSizes.isEmpty()) {
+            m_objectSizes.add(1024);
+            m_objectSizes.add(1024 * 1024);
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: -application org.knime.python2.PythonKernelBenchmark [-serializers id,...] "
+            + "[-chunkSizes n,...] [-rows n,...] [-columns n] [-objectSizes bytes,...] [-pings n] [-repetitions n] "
+            + "[-warmup n] [-python 2|3] [-out file]");
+    }
+
+}
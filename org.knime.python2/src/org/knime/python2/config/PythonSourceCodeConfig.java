@@ -75,8 +75,16 @@ public class PythonSourceCodeConfig extends SourceCodeConfig {
 
     private static final String CFG_CHUNK_SIZE = "chunkSize";
 
+    private static final String CFG_OUTPUT_CAPACITY = "outputCapacity";
+
+    private static final String CFG_CACHE_RESULTS = "cacheResults";
+
+    private static final String CFG_PROFILE_EXECUTION = "profileExecution";
+
     private PythonKernelOptions m_kernelOptions = new PythonKernelOptions();
 
+    private boolean m_cacheResults = false;
+
     @Override
     public void saveTo(final NodeSettingsWO settings) {
         super.saveTo(settings);
@@ -86,6 +94,9 @@ public void saveTo(final NodeSettingsWO settings) {
         settings.addString(CFG_SENTINEL_OPTION, m_kernelOptions.getSentinelOption().name());
         settings.addInt(CFG_SENTINEL_VALUE, m_kernelOptions.getSentinelValue());
         settings.addInt(CFG_CHUNK_SIZE, m_kernelOptions.getChunkSize());
+        settings.addInt(CFG_OUTPUT_CAPACITY, m_kernelOptions.getOutputCapacity());
+        settings.addBoolean(CFG_CACHE_RESULTS, m_cacheResults);
+        settings.addBoolean(CFG_PROFILE_EXECUTION, m_kernelOptions.getProfileExecution());
     }
 
     @Override
@@ -102,6 +113,11 @@ public void loadFrom(final NodeSettingsRO settings) throws InvalidSettingsExcept
         m_kernelOptions
         .setSentinelValue(settings.getInt(CFG_SENTINEL_VALUE, SerializationOptions.DEFAULT_SENTINEL_VALUE));
         m_kernelOptions.setChunkSize(settings.getInt(CFG_CHUNK_SIZE, PythonKernelOptions.DEFAULT_CHUNK_SIZE));
+        m_kernelOptions.setOutputCapacity(
+            settings.getInt(CFG_OUTPUT_CAPACITY, PythonKernelOptions.DEFAULT_OUTPUT_CAPACITY));
+        m_cacheResults = settings.getBoolean(CFG_CACHE_RESULTS, false);
+        m_kernelOptions.setProfileExecution(
+            settings.getBoolean(CFG_PROFILE_EXECUTION, PythonKernelOptions.DEFAULT_PROFILE_EXECUTION));
     }
 
     @Override
@@ -118,6 +134,11 @@ public void loadFromInDialog(final NodeSettingsRO settings) {
         m_kernelOptions
         .setSentinelValue(settings.getInt(CFG_SENTINEL_VALUE, SerializationOptions.DEFAULT_SENTINEL_VALUE));
         m_kernelOptions.setChunkSize(settings.getInt(CFG_CHUNK_SIZE, PythonKernelOptions.DEFAULT_CHUNK_SIZE));
+        m_kernelOptions.setOutputCapacity(
+            settings.getInt(CFG_OUTPUT_CAPACITY, PythonKernelOptions.DEFAULT_OUTPUT_CAPACITY));
+        m_cacheResults = settings.getBoolean(CFG_CACHE_RESULTS, false);
+        m_kernelOptions.setProfileExecution(
+            settings.getBoolean(CFG_PROFILE_EXECUTION, PythonKernelOptions.DEFAULT_PROFILE_EXECUTION));
     }
 
     /**
@@ -132,8 +153,21 @@ public void loadFromInDialog(final NodeSettingsRO settings) {
      */
     public void setKernelOptions(final PythonVersionOption versionOption, final boolean convertToPython,
         final boolean convertFromPython, final SentinelOption sentinelOption, final int sentinelValue, final int chunkSize) {
+        final int outputCapacity = m_kernelOptions.getOutputCapacity();
+        final boolean profileExecution = m_kernelOptions.getProfileExecution();
         m_kernelOptions =
                 new PythonKernelOptions(versionOption, convertToPython, convertFromPython, sentinelOption, sentinelValue, chunkSize);
+        m_kernelOptions.setOutputCapacity(outputCapacity);
+        m_kernelOptions.setProfileExecution(profileExecution);
+    }
+
+    /**
+     * Sets if executions are run under the python profiler.
+     *
+     * @param profileExecution profile executions yes/no
+     */
+    public void setProfileExecution(final boolean profileExecution) {
+        m_kernelOptions.setProfileExecution(profileExecution);
     }
 
     /**
@@ -145,6 +179,25 @@ public PythonKernelOptions getKernelOptions() {
         return new PythonKernelOptions(m_kernelOptions);
     }
 
+    /**
+     * Indicates if the results of an execution should be cached and reused by later executions with identical source
+     * code, options, flow variables and inputs.
+     *
+     * @return cache results yes/no
+     */
+    public boolean getCacheResults() {
+        return m_cacheResults;
+    }
+
+    /**
+     * Sets if the results of an execution should be cached.
+     *
+     * @param cacheResults cache results yes/no
+     */
+    public void setCacheResults(final boolean cacheResults) {
+        m_cacheResults = cacheResults;
+    }
+
     /**
      * Indicates if the use of python 3 is configured.
      *
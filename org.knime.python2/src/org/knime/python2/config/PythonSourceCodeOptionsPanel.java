@@ -109,6 +109,12 @@
 
     private JSpinner m_chunkSize;
 
+    private JCheckBox m_cacheResults;
+
+    private JCheckBox m_profileExecution;
+
+    private JPanel m_cachePanel;
+
     private JPanel m_versionPanel;
 
     private final EnforcePythonVersion m_enforcedVersion;
@@ -237,9 +243,35 @@ public void changedUpdate(final DocumentEvent e) {
         gbc.gridy++;
         panel.add(chunkingPanel, gbc);
 
+        final JPanel profilingPanel = new JPanel(new FlowLayout());
+        profilingPanel.setBorder(BorderFactory.createTitledBorder("Profiling"));
+        m_profileExecution = new JCheckBox("append profiler statistics of the script to the console output");
+        m_profileExecution.addActionListener(pkol);
+        profilingPanel.add(m_profileExecution);
+        gbc.gridx = 0;
+        gbc.gridy++;
+        panel.add(profilingPanel, gbc);
+
+        m_cachePanel = new JPanel(new FlowLayout());
+        m_cachePanel.setBorder(BorderFactory.createTitledBorder("Result Cache"));
+        m_cacheResults = new JCheckBox("reuse results of earlier executions with identical inputs");
+        m_cachePanel.add(m_cacheResults);
+        m_cachePanel.setVisible(false);
+        gbc.gridx = 0;
+        gbc.gridy++;
+        panel.add(m_cachePanel, gbc);
+
         return panel;
     }
 
+    /**
+     * Shows the option to cache the results of the node. Only dialogs of nodes whose model executes through the result
+     * cache should show it.
+     */
+    public void showCacheResultsOption() {
+        m_cachePanel.setVisible(true);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -265,6 +297,8 @@ public void loadSettingsFrom(final PythonSourceCodeConfig config) {
         m_sentinelInput.setText(kopts.getSentinelValue() + "");
         m_sentinelValue = kopts.getSentinelValue();
         m_chunkSize.setValue(kopts.getChunkSize());
+        m_cacheResults.setSelected(config.getCacheResults());
+        m_profileExecution.setSelected(kopts.getProfileExecution());
         getSourceCodePanel().setKernelOptions(getSelectedOpitons());
     }
 
@@ -277,6 +311,8 @@ public void saveSettingsTo(final PythonSourceCodeConfig config) {
         config.setKernelOptions(getSelectedPythonVersion(), m_convertToPython.isSelected(),
             m_convertFromPython.isSelected(), getSelectedSentinelOption(), m_sentinelValue,
             ((Integer)m_chunkSize.getValue()).intValue());
+        config.setCacheResults(m_cacheResults.isSelected());
+        config.setProfileExecution(m_profileExecution.isSelected());
     }
 
     /**
@@ -346,9 +382,11 @@ private PythonKernelOptions.PythonVersionOption getSelectedPythonVersion() {
     }
 
     private PythonKernelOptions getSelectedOpitons() {
-        return new PythonKernelOptions(getSelectedPythonVersion(),
+        final PythonKernelOptions options = new PythonKernelOptions(getSelectedPythonVersion(),
             m_convertToPython.isSelected(), m_convertFromPython.isSelected(), getSelectedSentinelOption(),
             m_sentinelValue, ((Integer)m_chunkSize.getValue()).intValue());
+        options.setProfileExecution(m_profileExecution.isSelected());
+        return options;
     }
 
 }
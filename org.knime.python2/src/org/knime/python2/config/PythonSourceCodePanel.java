@@ -50,9 +50,17 @@
 import java.io.IOException;
 import java.net.SocketException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -63,8 +71,12 @@
 import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.DefaultNodeProgressMonitor;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.FlowVariable;
+import org.knime.core.node.workflow.NodeProgressEvent;
+import org.knime.core.node.workflow.NodeProgressListener;
 import org.knime.python2.PythonKernelTester;
 import org.knime.python2.PythonKernelTester.PythonKernelTestResult;
 import org.knime.python2.generic.ImageContainer;
@@ -88,6 +100,30 @@ public class PythonSourceCodePanel extends SourceCodePanel {
 
     private static final long serialVersionUID = -3111905445745421972L;
 
+    /**
+     * The number of rows of each input table that are loaded before the dialog becomes interactive, the remaining rows
+     * up to the dialog's row limit are loaded in the background. May be overridden using the VM option
+     * -Dknime.python.dialog.samplerows=&lt;rows&gt;.
+     */
+    private static final int SAMPLE_ROWS = Integer.getInteger("knime.python.dialog.samplerows", 1000);
+
+    /**
+     * The time a python kernel is kept running after the dialog has been closed, so that it can be reused if the
+     * dialog is opened again with unchanged inputs. May be overridden using the VM option
+     * -Dknime.python.dialog.keepalive=&lt;milliseconds&gt;, 0 disables keeping kernels alive.
+     */
+    private static final long KEEP_ALIVE_MILLIS = Long.getLong("knime.python.dialog.keepalive", 120000);
+
+    private static final ScheduledExecutorService KEEP_ALIVE_TIMER =
+        Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, "Python dialog kernel keep-alive");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
     //private PythonKernelManager m_kernelManager;
 
     private ConcurrentLinkedDeque<PythonKernelManagerWrapper> m_kernelManagerQueue;
@@ -102,6 +138,8 @@ public class PythonSourceCodePanel extends SourceCodePanel {
 
     private JProgressBarProgressMonitor m_progressMonitor;
 
+    private volatile DefaultNodeProgressMonitor m_backgroundLoadMonitor;
+
     private final FlowVariableOptions m_flowVariableOptions;
 
     private PythonKernelOptions m_kernelOptions;
@@ -116,6 +154,12 @@ public class PythonSourceCodePanel extends SourceCodePanel {
 
     private Variable[] m_variables;
 
+    private PythonKernelManager m_listedKernelManager;
+
+    private PythonKernelManagerWrapper m_warmManager;
+
+    private ScheduledFuture<?> m_warmManagerExpiry;
+
     private final Runnable m_stopCallback = new Runnable(){
 
         @Override
@@ -126,7 +170,9 @@ public void run() {
                 if (m_progressMonitor != null) {
                     m_progressMonitor.setCanceled(true);
                 }
+                cancelBackgroundLoad();
                 if(getKernelManager() != null) {
+                    getKernelManagerWrapper().setInputsLoaded(false);
                     getKernelManager().close();
                 }
                 // Disable interactivity while we restart
@@ -184,6 +230,9 @@ private void startKernelManagerAsync(final PythonKernelOptions kernelOptions) {
             public void run() {
                 setInteractive(false);
                 setRunning(false);
+                if (reuseWarmKernelManager()) {
+                    return;
+                }
                 // Test if local python installation is capable of running
                 // the kernel
                 // This will return immediately if the test result was
@@ -244,6 +293,15 @@ public void run() {
     @Override
     public void close() {
         super.close();
+        releaseKernelManager(KEEP_ALIVE_MILLIS > 0);
+    }
+
+    /**
+     * Releases the oldest kernel manager of this panel.
+     *
+     * @param keepAlive true if the kernel should be kept running for reuse if its inputs have been loaded completely
+     */
+    private void releaseKernelManager(final boolean keepAlive) {
         new Thread(new Runnable() {
 
             @Override
@@ -261,11 +319,16 @@ public void run() {
                     if (m_progressMonitor != null) {
                         m_progressMonitor.setCanceled(true);
                     }
+                    cancelBackgroundLoad();
                     if(managerWrapper.holdsManager()) {
                         PythonKernelManager manager = managerWrapper.getManager();
                         manager.removeStdoutListener(m_stdoutToConsole);
                         manager.removeStderrorListener(m_stderrorToConsole);
-                        manager.close();
+                        if (keepAlive && managerWrapper.isInputsLoaded() && !manager.isExecuting()) {
+                            keepWarm(managerWrapper);
+                        } else {
+                            manager.close();
+                        }
                     }
                 } catch (InterruptedException ex) {
                     LOGGER.warn("Interrupted close method!");
@@ -372,27 +435,34 @@ protected void updateVariables() {
         if (getKernelManager() != null) {
             m_lock.lock();
             try {
-                if (getKernelManager() != null) {
-                    getKernelManager()
-                        .listVariables(new PythonKernelResponseHandler<List<Map<String, String>>>() {
+                final PythonKernelManager manager = getKernelManager();
+                if (manager != null) {
+                    // Only list the changed variables if the workspace was listed before by the same kernel
+                    final boolean changedOnly = manager == m_listedKernelManager;
+                    final PythonKernelResponseHandler<List<Map<String, String>>> responseHandler =
+                        new PythonKernelResponseHandler<List<Map<String, String>>>() {
                             @Override
                             public void handleResponse(final List<Map<String, String>> response,
                                 final Exception exception) {
                                 if (exception != null) {
-                                    setVariables(new Variable[0]);
+                                    m_listedKernelManager = null;
+                                    m_variables = new Variable[0];
+                                    setVariables(m_variables);
                                 } else {
-                                    // Create Variable array from response
-                                    m_variables = new Variable[response.size()];
-                                    for (int i = 0; i < m_variables.length; i++) {
-                                        final Map<String, String> variable = response.get(i);
-                                        m_variables[i] = new Variable(variable.get("name"), variable.get("type"),
-                                            variable.get("value"));
-                                    }
+                                    m_listedKernelManager = manager;
+                                    m_variables = mergeVariables(
+                                        changedOnly && (m_variables != null) ? m_variables : new Variable[0],
+                                        response);
                                     // Fill variable table
                                     setVariables(m_variables);
                                 }
                             }
-                        });
+                        };
+                    if (changedOnly) {
+                        manager.listChangedVariables(responseHandler);
+                    } else {
+                        manager.listVariables(responseHandler);
+                    }
                 }
             } finally {
                 m_lock.unlock();
@@ -404,6 +474,72 @@ public void handleResponse(final List<Map<String, String>> response,
         }
     }
 
+    /**
+     * Applies the listed variables to the given ones. Values that are loaded lazily are dropped from the unchanged
+     * variables since they may have been modified in place.
+     *
+     * @param variables the variables of the previous listing
+     * @param response the listed variables
+     * @return the merged variables, ordered as modules, classes, functions and other variables by name
+     */
+    private static Variable[] mergeVariables(final Variable[] variables, final List<Map<String, String>> response) {
+        final Map<String, Variable> merged = new HashMap<String, Variable>();
+        for (final Variable variable : variables) {
+            merged.put(variable.getName(), variable.isLazy() ? variable.withValue(null) : variable);
+        }
+        for (final Map<String, String> variable : response) {
+            if ("1".equals(variable.get("removed"))) {
+                merged.remove(variable.get("name"));
+            } else {
+                merged.put(variable.get("name"), new Variable(variable.get("name"), variable.get("type"),
+                    variable.get("size"), "1".equals(variable.get("lazy")) ? null : variable.get("value")));
+            }
+        }
+        final Variable[] result = merged.values().toArray(new Variable[merged.size()]);
+        Arrays.sort(result, new Comparator<Variable>() {
+            @Override
+            public int compare(final Variable v1, final Variable v2) {
+                final int categoryComparison = Integer.compare(getCategory(v1), getCategory(v2));
+                return categoryComparison != 0 ? categoryComparison : v1.getName().compareTo(v2.getName());
+            }
+        });
+        return result;
+    }
+
+    private static int getCategory(final Variable variable) {
+        switch (variable.getType()) {
+            case "module":
+                return 0;
+            case "classobj":
+            case "type":
+                return 1;
+            case "function":
+                return 2;
+            default:
+                return 3;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void requestVariableValues(final List<String> names) {
+        final PythonKernelManager manager = getKernelManager();
+        if (manager != null) {
+            manager.getVariablePreviews(names, new PythonKernelResponseHandler<Map<String, String>>() {
+                @Override
+                public void handleResponse(final Map<String, String> response, final Exception exception) {
+                    if (exception != null) {
+                        LOGGER.debug("Could not load variable values: " + exception.getMessage(), exception);
+                    } else {
+                        setVariableValues(response);
+                    }
+                }
+            });
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -412,8 +548,16 @@ protected void runReset() {
         if (getKernelManagerWrapper() != null) {
             m_lock.lock();
             try {
-                if (getKernelManagerWrapper() != null) {
-                    switchToNewKernel(m_kernelOptions);
+                final PythonKernelManagerWrapper managerWrapper = getKernelManagerWrapper();
+                if (managerWrapper != null) {
+                    // A plain workspace reset restores the recorded inputs instead of restarting python, changed
+                    // options (m_resetInProgress) require a new kernel
+                    if (!m_resetInProgress.get() && managerWrapper.isInputsLoaded()
+                        && !managerWrapper.getManager().isExecuting()) {
+                        restoreWorkspace(managerWrapper);
+                    } else {
+                        switchToNewKernel(m_kernelOptions);
+                    }
                 }
             } finally {
                 m_lock.unlock();
@@ -495,6 +639,8 @@ private void putDataIntoPython() {
             setStatusMessage("Loading input data into python");
             m_progressMonitor = new JProgressBarProgressMonitor(getProgressBar());
             int kernelRestarts = m_kernelRestarts;
+            // Only a head sample is loaded up front, the rest follows in the background
+            final int sampleRows = Math.min(SAMPLE_ROWS, getRowLimit());
             if (getKernelManager() != null) {
                 m_lock.lock();
                 try {
@@ -503,6 +649,13 @@ private void putDataIntoPython() {
                         if(m_resetInProgress.get()) {
                             return;
                         }
+                        final PythonKernelManagerWrapper managerWrapper = getKernelManagerWrapper();
+                        managerWrapper.setInputKey(currentInputKey());
+                        try {
+                            getKernelManager().getKernel().recordInputSnapshot(true);
+                        } catch (final IOException e) {
+                            LOGGER.debug("Could not record the python inputs of the dialog", e);
+                        }
                         getKernelManager().putData(getVariableNames().getInputTables(), m_inputData,
                             getVariableNames().getFlowVariables(), getFlowVariables(),
                             getVariableNames().getInputObjects(), m_pythonInputObjects,
@@ -525,14 +678,21 @@ public void handleResponse(final Void response, final Exception exception) {
                                             }
                                         } else {
                                             updateVariables();
-                                            setStatusMessage("Successfully loaded input data into python");
+                                            if (sampleRows < getRowLimit() && exceedsRows(m_inputData, sampleRows)) {
+                                                setStatusMessage("Loaded the first " + sampleRows
+                                                    + " rows of the input data into python");
+                                                appendDataIntoPython(managerWrapper, kernelRestarts, sampleRows);
+                                            } else {
+                                                finishInputSnapshot(managerWrapper);
+                                                setStatusMessage("Successfully loaded input data into python");
+                                            }
                                         }
                                         setRunning(false);
                                     } finally {
                                         m_lock.unlock();
                                     }
                                 }
-                            }, new ExecutionMonitor(m_progressMonitor), getRowLimit());
+                            }, new ExecutionMonitor(m_progressMonitor), sampleRows);
                         for (final WorkspacePreparer workspacePreparer : m_workspacePreparers) {
                             workspacePreparer.prepareWorkspace(getKernelManager().getKernel());
                         }
@@ -544,6 +704,228 @@ public void handleResponse(final Void response, final Exception exception) {
         }
     }
 
+    /**
+     * Appends the rows of the input tables following the already loaded head sample in the background. The transfer
+     * is paused by the kernel manager while code is being executed and the rows are only appended to input tables that
+     * the code has not reassigned. Its progress is shown in the status bar.
+     *
+     * @param managerWrapper the wrapper of the kernel manager the head sample has been loaded into
+     * @param kernelRestarts the number of kernel restarts when the head sample was loaded
+     * @param sampleRows the number of rows of each table that have already been loaded
+     */
+    private void appendDataIntoPython(final PythonKernelManagerWrapper managerWrapper, final int kernelRestarts,
+        final int sampleRows) {
+        final DefaultNodeProgressMonitor monitor = new DefaultNodeProgressMonitor();
+        monitor.addProgressListener(new NodeProgressListener() {
+            @Override
+            public void progressChanged(final NodeProgressEvent pe) {
+                final Double progress = pe.getNodeProgress().getProgress();
+                if ((progress != null) && (m_backgroundLoadMonitor == monitor)) {
+                    setStatusMessage("Loading remaining input data into python in the background ("
+                        + (int)Math.round(progress * 100) + "%)");
+                }
+            }
+        });
+        m_backgroundLoadMonitor = monitor;
+        getKernelManager().appendData(getVariableNames().getInputTables(), m_inputData, sampleRows,
+            new PythonKernelResponseHandler<Boolean>() {
+                @Override
+                public void handleResponse(final Boolean response, final Exception exception) {
+                    m_lock.lock();
+                    try {
+                        if ((getKernelManager() == null) || (kernelRestarts != m_kernelRestarts)
+                            || (m_backgroundLoadMonitor != monitor)) {
+                            return;
+                        }
+                        m_backgroundLoadMonitor = null;
+                        if (exception != null) {
+                            if ((exception.getCause() == null)
+                                || !(exception.getCause() instanceof CanceledExecutionException)) {
+                                logError(exception, "Error while loading remaining input data into python");
+                            }
+                        } else if (response) {
+                            finishInputSnapshot(managerWrapper);
+                            updateVariables();
+                            setStatusMessage("Successfully loaded input data into python");
+                        } else {
+                            setStatusMessage("Only the first " + sampleRows
+                                + " rows of the input data are available in python as the input tables have been"
+                                + " reassigned");
+                        }
+                    } finally {
+                        m_lock.unlock();
+                    }
+                }
+            }, new ExecutionMonitor(monitor), getRowLimit());
+    }
+
+    /**
+     * Stops recording the inputs of the given kernel manager after all of them have been loaded. From then on the
+     * workspace can be reset by restoring the recorded inputs and the kernel can be kept alive for reuse.
+     *
+     * @param managerWrapper the wrapper of the kernel manager whose inputs have been loaded
+     */
+    private void finishInputSnapshot(final PythonKernelManagerWrapper managerWrapper) {
+        try {
+            managerWrapper.getManager().getKernel().recordInputSnapshot(false);
+            managerWrapper.setInputsLoaded(true);
+        } catch (final IOException e) {
+            LOGGER.debug("Could not record the python inputs of the dialog", e);
+        }
+    }
+
+    /**
+     * Resets the workspace of the given kernel manager by restoring its recorded inputs and preparing it again. Falls
+     * back to starting a new kernel if that fails.
+     *
+     * @param managerWrapper the wrapper of the current kernel manager
+     */
+    private void restoreWorkspace(final PythonKernelManagerWrapper managerWrapper) {
+        final int kernelRestarts = m_kernelRestarts;
+        setStopCallback(m_stopCallback);
+        setRunning(true);
+        setStatusMessage("Resetting workspace");
+        managerWrapper.getManager().restoreInputSnapshot(new PythonKernelResponseHandler<Boolean>() {
+            @Override
+            public void handleResponse(final Boolean response, final Exception exception) {
+                m_lock.lock();
+                try {
+                    if ((getKernelManagerWrapper() != managerWrapper) || (kernelRestarts != m_kernelRestarts)) {
+                        return;
+                    }
+                    if ((exception != null) || !response) {
+                        if (exception != null) {
+                            LOGGER.debug("Could not restore the python inputs of the dialog", exception);
+                        }
+                        switchToNewKernel(m_kernelOptions);
+                        return;
+                    }
+                    for (final WorkspacePreparer workspacePreparer : m_workspacePreparers) {
+                        workspacePreparer.prepareWorkspace(managerWrapper.getManager().getKernel());
+                    }
+                    // Setting running to false will also update the variables
+                    setRunning(false);
+                    setInteractive(true);
+                    setStatusMessage("Successfully reset the workspace");
+                } finally {
+                    m_lock.unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Takes the kernel manager kept alive since the dialog has been closed and reuses it if it has been started with
+     * the current inputs, otherwise it is closed.
+     *
+     * @return true if a kernel manager is reused, false if a new one has to be started
+     */
+    private boolean reuseWarmKernelManager() {
+        m_lock.lock();
+        try {
+            final PythonKernelManagerWrapper managerWrapper = takeWarmKernelManager();
+            if (managerWrapper == null) {
+                return false;
+            }
+            if (!currentInputKey().equals(managerWrapper.getInputKey())) {
+                managerWrapper.getManager().close();
+                return false;
+            }
+            m_resetInProgress.set(false);
+            m_kernelRestarts++;
+            m_kernelManagerQueue.addLast(managerWrapper);
+            managerWrapper.getManager().addStdoutListener(m_stdoutToConsole);
+            managerWrapper.getManager().addStderrorListener(m_stderrorToConsole);
+            restoreWorkspace(managerWrapper);
+            return true;
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * Keeps the given kernel manager alive for {@link #KEEP_ALIVE_MILLIS}, a kernel manager kept alive before is
+     * closed.
+     *
+     * @param managerWrapper the wrapper of the kernel manager to keep alive
+     */
+    private void keepWarm(final PythonKernelManagerWrapper managerWrapper) {
+        m_lock.lock();
+        try {
+            final PythonKernelManagerWrapper previous = takeWarmKernelManager();
+            if (previous != null) {
+                previous.getManager().close();
+            }
+            m_warmManager = managerWrapper;
+            m_warmManagerExpiry = KEEP_ALIVE_TIMER.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    m_lock.lock();
+                    try {
+                        if (m_warmManager == managerWrapper) {
+                            takeWarmKernelManager().getManager().close();
+                        }
+                    } finally {
+                        m_lock.unlock();
+                    }
+                }
+            }, KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS);
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * @return the kernel manager kept alive since the dialog has been closed or null, it is no longer kept alive
+     */
+    private PythonKernelManagerWrapper takeWarmKernelManager() {
+        final PythonKernelManagerWrapper managerWrapper = m_warmManager;
+        m_warmManager = null;
+        if (m_warmManagerExpiry != null) {
+            m_warmManagerExpiry.cancel(false);
+            m_warmManagerExpiry = null;
+        }
+        return managerWrapper;
+    }
+
+    /**
+     * @return everything the inputs loaded into a dialog kernel depend on, tables and objects are compared by
+     *         identity as they are replaced whenever the node's inputs change
+     */
+    private List<Object> currentInputKey() {
+        final List<String> flowVariables = new ArrayList<String>();
+        for (final FlowVariable flowVariable : getFlowVariables()) {
+            flowVariables.add(flowVariable.getName() + "=" + flowVariable.getValueAsString());
+        }
+        return Arrays.<Object> asList(new PythonKernelOptions(m_kernelOptions), getRowLimit(),
+            Arrays.asList(m_inputData), Arrays.asList(m_pythonInputObjects), flowVariables);
+    }
+
+    /**
+     * Cancels a running background transfer of input rows.
+     */
+    private void cancelBackgroundLoad() {
+        final DefaultNodeProgressMonitor monitor = m_backgroundLoadMonitor;
+        m_backgroundLoadMonitor = null;
+        if (monitor != null) {
+            monitor.setExecuteCanceled();
+        }
+    }
+
+    /**
+     * @param tables the tables to check
+     * @param rows the number of rows
+     * @return true if at least one of the given tables has more than the given number of rows
+     */
+    private static boolean exceedsRows(final BufferedDataTable[] tables, final long rows) {
+        for (final BufferedDataTable table : tables) {
+            if ((table != null) && (table.size() > rows)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Logs the given error in the console as error and optionally sets a status message.
      *
@@ -681,7 +1063,8 @@ private PythonKernelManagerWrapper getKernelManagerWrapper() {
     private void switchToNewKernel(final PythonKernelOptions kernelOptions) {
         PythonKernelManagerWrapper managerWrapper = m_kernelManagerQueue.peekLast();
         if(managerWrapper != null) {
-            close();
+            super.close();
+            releaseKernelManager(false);
             startKernelManagerAsync(kernelOptions);
         }
     }
@@ -721,10 +1104,34 @@ private class PythonKernelManagerWrapper {
 
         private PythonKernelManager m_manager;
 
+        private List<Object> m_inputKey;
+
+        private volatile boolean m_inputsLoaded;
+
         PythonKernelManagerWrapper(final PythonKernelManager manager) {
             m_manager = manager;
         }
 
+        List<Object> getInputKey() {
+            return m_inputKey;
+        }
+
+        void setInputKey(final List<Object> inputKey) {
+            m_inputKey = inputKey;
+            m_inputsLoaded = false;
+        }
+
+        /**
+         * @return true if all inputs have been loaded and recorded by the kernel
+         */
+        boolean isInputsLoaded() {
+            return m_inputsLoaded;
+        }
+
+        void setInputsLoaded(final boolean inputsLoaded) {
+            m_inputsLoaded = inputsLoaded;
+        }
+
         boolean holdsManager() {
             return m_manager != null;
         }
@@ -0,0 +1,181 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.extensions.serializationlibrary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
+
+/**
+ * Helper for serialization libraries filling the columns of a table chunk concurrently. The chunk is materialized once
+ * on the calling thread, which keeps the {@link TableIterator} and any type extension serializers it invokes confined
+ * to that thread. Afterwards the columns are split into disjoint groups that are filled on a shared fork-join pool.
+ * Each column, and therefore each per-column inserter, is only ever accessed by a single thread.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public final class ColumnParallelSerialization {
+
+    private static ForkJoinPool pool;
+
+    private ColumnParallelSerialization() {
+        // utility class
+    }
+
+    /**
+     * Receives the cells of a single column.
+     */
+    @FunctionalInterface
+    public interface ColumnInserter {
+
+        /**
+         * Inserts the next cell of the given column.
+         *
+         * @param column the index of the column
+         * @param cell the cell to insert
+         * @throws Exception if the cell could not be inserted
+         */
+        void put(int column, Cell cell) throws Exception;
+    }
+
+    /**
+     * Indicates if a chunk with the given number of columns should be serialized column-parallel.
+     *
+     * @param serializationOptions the options of the current serialization
+     * @param numberColumns the number of columns of the chunk
+     * @return true if the columns should be filled concurrently, false otherwise
+     */
+    public static boolean isEnabled(final SerializationOptions serializationOptions, final int numberColumns) {
+        return (serializationOptions.getSerializationThreads() > 1) && (numberColumns > 1);
+    }
+
+    /**
+     * Reads all remaining rows of the given iterator.
+     *
+     * @param tableIterator the iterator over the chunk
+     * @return the rows of the chunk
+     */
+    public static List<Row> materialize(final TableIterator tableIterator) {
+        final List<Row> rows = new ArrayList<Row>(tableIterator.getNumberRemainingRows());
+        while (tableIterator.hasNext()) {
+            rows.add(tableIterator.next());
+        }
+        return rows;
+    }
+
+    /**
+     * Passes the cells of the given rows to the inserter column by column. The columns are split into at most
+     * {@link SerializationOptions#getSerializationThreads()} groups which are processed concurrently. Within a column,
+     * cells are passed in row order.
+     *
+     * @param rows the materialized rows of the chunk
+     * @param numberColumns the number of columns
+     * @param serializationOptions the options of the current serialization
+     * @param inserter the inserter receiving the cells
+     * @throws SerializationException if inserting a cell failed with a checked exception or the calling thread was
+     *             interrupted
+     */
+    public static void insertColumns(final List<Row> rows, final int numberColumns,
+        final SerializationOptions serializationOptions, final ColumnInserter inserter) throws SerializationException {
+        final int groups = Math.max(1, Math.min(serializationOptions.getSerializationThreads(), numberColumns));
+        final List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>(groups);
+        for (int g = 0; g < groups; g++) {
+            final int from = (int)(((long)numberColumns * g) / groups);
+            final int to = (int)(((long)numberColumns * (g + 1)) / groups);
+            tasks.add(getPool().submit(() -> {
+                insertColumnRange(rows, from, to, inserter);
+                return null;
+            }));
+        }
+        try {
+            for (final ForkJoinTask<?> task : tasks) {
+                task.get();
+            }
+        } catch (final InterruptedException e) {
+            for (final ForkJoinTask<?> task : tasks) {
+                task.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new SerializationException("Serialization was interrupted.", e);
+        } catch (final ExecutionException e) {
+            // Rethrow unchecked exceptions as is, so libraries can handle them like in sequential serialization
+            final Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new SerializationException(cause.getMessage(), cause);
+        }
+    }
+
+    private static void insertColumnRange(final List<Row> rows, final int from, final int to,
+        final ColumnInserter inserter) throws Exception {
+        for (int i = from; i < to; i++) {
+            for (final Row row : rows) {
+                inserter.put(i, row.getCell(i));
+            }
+        }
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return pool;
+    }
+
+}
@@ -120,6 +120,9 @@ public SerializationLibrary getSerializationLibrary(final String id) {
      * @return a human readable name if id matches, null otherwise
      */
     public static String getNameForId(final String id) {
+        if (SerializationLibrarySelector.isAuto(id)) {
+            return SerializationLibrarySelector.AUTO_SERIALIZER_NAME;
+        }
         SerializationLibraryExtension ext = extensions.get(id);
         if(ext != null) {
             return ext.getJavaSerializationLibraryFactory().getName();
@@ -0,0 +1,335 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.extensions.serializationlibrary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibrary;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.SyntheticTableChunker;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.TemporaryTableCreator;
+
+/**
+ * Selects a serialization library per table transfer. Each available library is calibrated once per session and set
+ * of serialization options by a micro-benchmark that round-trips small synthetic tables of numeric and string columns.
+ * The resulting cost model (fixed cost per chunk, cost per numeric cell, cost per other cell) is used to estimate the
+ * transfer time of a table given its column types, row count and chunk size, and the library with the lowest estimate
+ * is chosen. Calibration runs in the background, no library is selected until all candidates have been calibrated.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class SerializationLibrarySelector {
+
+    /**
+     * The pseudo serialization library id indicating that the library is selected automatically per table.
+     */
+    public static final String AUTO_SERIALIZER_ID = "org.knime.python2.serde.auto";
+
+    /**
+     * The human readable name of the automatic selection.
+     */
+    public static final String AUTO_SERIALIZER_NAME = "Automatic (per table)";
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(SerializationLibrarySelector.class);
+
+    private static final int CALIBRATION_ROWS = 1000;
+
+    private static final int CALIBRATION_COLUMNS = 4;
+
+    private static final int CALIBRATION_RUNS = 3;
+
+    private static final Map<CostModelKey, CostModel> COST_MODELS = new ConcurrentHashMap<CostModelKey, CostModel>();
+
+    private static final Set<CostModelKey> CALIBRATING =
+        Collections.newSetFromMap(new ConcurrentHashMap<CostModelKey, Boolean>());
+
+    private static final ExecutorService CALIBRATION_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "Python serialization library calibration");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private final SerializationLibraryExtensions m_extensions;
+
+    private final List<String> m_candidateIds;
+
+    /**
+     * Constructor.
+     *
+     * @param extensions the {@link SerializationLibraryExtensions} used for creating the library instances
+     */
+    public SerializationLibrarySelector(final SerializationLibraryExtensions extensions) {
+        m_extensions = extensions;
+        final List<String> candidateIds = new ArrayList<String>();
+        for (final SerializationLibraryExtension extension : SerializationLibraryExtensions.getExtensions()) {
+            if (!extension.isHidden()) {
+                candidateIds.add(extension.getId());
+            }
+        }
+        Collections.sort(candidateIds);
+        m_candidateIds = Collections.unmodifiableList(candidateIds);
+    }
+
+    /**
+     * Indicates if the given id requests automatic selection.
+     *
+     * @param id a serialization library id
+     * @return true if the library is selected automatically per table, false otherwise
+     */
+    public static boolean isAuto(final String id) {
+        return AUTO_SERIALIZER_ID.equals(id);
+    }
+
+    /**
+     * Gets the ids of all libraries that take part in the selection.
+     *
+     * @return the candidate serialization library ids
+     */
+    public List<String> getCandidateIds() {
+        return m_candidateIds;
+    }
+
+    /**
+     * Selects the serialization library with the lowest estimated cost for transferring the given table.
+     *
+     * @param spec the spec of the table to transfer, null if unknown
+     * @param numberRows the number of rows to transfer
+     * @param chunkSize the number of rows transferred at once
+     * @param serializationOptions the options used for the transfer
+     * @return the id of the selected serialization library, null if no library is available or the libraries have
+     *         not been calibrated yet
+     */
+    public String select(final TableSpec spec, final long numberRows, final int chunkSize,
+        final SerializationOptions serializationOptions) {
+        return select(spec == null ? null : spec.getColumnTypes(), numberRows, chunkSize, serializationOptions);
+    }
+
+    /**
+     * Selects the serialization library with the lowest estimated cost for transferring a table with the given column
+     * types.
+     *
+     * @param columnTypes the column types of the table to transfer, null if unknown
+     * @param numberRows the number of rows to transfer
+     * @param chunkSize the number of rows transferred at once
+     * @param serializationOptions the options used for the transfer
+     * @return the id of the selected serialization library, null if no library is available or the libraries have
+     *         not been calibrated yet
+     */
+    public String select(final Type[] columnTypes, final long numberRows, final int chunkSize,
+        final SerializationOptions serializationOptions) {
+        final long numberChunks = Math.max(1, (long)Math.ceil(numberRows / (double)Math.max(1, chunkSize)));
+        String bestId = null;
+        double bestCost = Double.POSITIVE_INFINITY;
+        boolean calibrated = true;
+        for (final String id : m_candidateIds) {
+            final CostModel model = getCostModel(id, serializationOptions);
+            if (model == null) {
+                calibrated = false;
+                continue;
+            }
+            final double cost = model.estimate(columnTypes, numberRows, numberChunks);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestId = id;
+            }
+        }
+        if (!calibrated) {
+            // Keep the current library until the estimates of all candidates can be compared
+            return null;
+        }
+        if (bestId == null && !m_candidateIds.isEmpty()) {
+            bestId = m_candidateIds.get(0);
+        }
+        if (bestId != null) {
+            LOGGER.debug("Selected serialization library " + SerializationLibraryExtensions.getNameForId(bestId)
+                + " for " + numberRows + " rows and "
+                + (columnTypes == null ? "unknown" : Integer.toString(columnTypes.length)) + " columns (estimated "
+                + Math.round(bestCost / 1e6) + "ms).");
+        }
+        return bestId;
+    }
+
+    /**
+     * Gets the cost model of the given library for the given options, starting its calibration in the background if
+     * it is not available yet.
+     *
+     * @return the cost model or null if the library has not been calibrated yet
+     */
+    private CostModel getCostModel(final String id, final SerializationOptions serializationOptions) {
+        final CostModelKey key = new CostModelKey(id, serializationOptions);
+        final CostModel model = COST_MODELS.get(key);
+        if ((model == null) && CALIBRATING.add(key)) {
+            CALIBRATION_EXECUTOR.execute(() -> COST_MODELS.put(key, calibrate(id, key.m_serializationOptions)));
+        }
+        return model;
+    }
+
+    private CostModel calibrate(final String id, final SerializationOptions serializationOptions) {
+        try {
+            final SerializationLibrary library = m_extensions.getSerializationLibrary(id);
+            // Warm up the library so class loading and JIT do not end up in the measurement
+            roundTrip(library, Type.DOUBLE, CALIBRATION_ROWS, serializationOptions);
+            roundTrip(library, Type.STRING, CALIBRATION_ROWS, serializationOptions);
+            final double fixed = measure(library, Type.DOUBLE, 1, serializationOptions);
+            final double cells = CALIBRATION_ROWS * (double)CALIBRATION_COLUMNS;
+            final double numeric =
+                Math.max(0, measure(library, Type.DOUBLE, CALIBRATION_ROWS, serializationOptions) - fixed) / cells;
+            final double other =
+                Math.max(0, measure(library, Type.STRING, CALIBRATION_ROWS, serializationOptions) - fixed) / cells;
+            LOGGER.debug("Calibrated serialization library " + SerializationLibraryExtensions.getNameForId(id)
+                + ": " + Math.round(fixed) + "ns per chunk, " + Math.round(numeric) + "ns per numeric cell, "
+                + Math.round(other) + "ns per other cell.");
+            return new CostModel(fixed, numeric, other);
+        } catch (final SerializationException | RuntimeException e) {
+            LOGGER.warn("Could not calibrate serialization library " + SerializationLibraryExtensions.getNameForId(id)
+                + ", it will not be selected automatically: " + e.getMessage(), e);
+            return new CostModel(Double.POSITIVE_INFINITY, 0, 0);
+        }
+    }
+
+    private static double measure(final SerializationLibrary library, final Type type, final int numberRows,
+        final SerializationOptions serializationOptions) throws SerializationException {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            best = Math.min(best, roundTrip(library, type, numberRows, serializationOptions));
+        }
+        return best;
+    }
+
+    private static long roundTrip(final SerializationLibrary library, final Type type, final int numberRows,
+        final SerializationOptions serializationOptions) throws SerializationException {
+        final Type[] columnTypes = new Type[CALIBRATION_COLUMNS];
+        for (int i = 0; i < CALIBRATION_COLUMNS; i++) {
+            columnTypes[i] = type;
+        }
+        final TableIterator iterator = new SyntheticTableChunker(numberRows, columnTypes).nextChunk(numberRows);
+        final long start = System.nanoTime();
+        final byte[] bytes = library.tableToBytes(iterator, serializationOptions);
+        final TableSpec spec = library.tableSpecFromBytes(bytes);
+        library.bytesIntoTable(new TemporaryTableCreator(spec), bytes, serializationOptions);
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Identifies a cost model by the library id and the serialization options it was calibrated with.
+     */
+    private static final class CostModelKey {
+
+        private final String m_id;
+
+        private final SerializationOptions m_serializationOptions;
+
+        private CostModelKey(final String id, final SerializationOptions serializationOptions) {
+            m_id = id;
+            // Copy the options, so that later changes of the caller's options do not affect the key
+            m_serializationOptions = new SerializationOptions(serializationOptions);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * m_id.hashCode()) + m_serializationOptions.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof CostModelKey)) {
+                return false;
+            }
+            final CostModelKey other = (CostModelKey)obj;
+            return m_id.equals(other.m_id) && m_serializationOptions.equals(other.m_serializationOptions);
+        }
+    }
+
+    /**
+     * Linear cost model of a serialization library. All costs are in nanoseconds.
+     */
+    private static final class CostModel {
+
+        private final double m_fixed;
+
+        private final double m_numericCell;
+
+        private final double m_otherCell;
+
+        private CostModel(final double fixed, final double numericCell, final double otherCell) {
+            m_fixed = fixed;
+            m_numericCell = numericCell;
+            m_otherCell = otherCell;
+        }
+
+        private double estimate(final Type[] columnTypes, final long numberRows, final long numberChunks) {
+            double perRow;
+            if (columnTypes == null) {
+                // Unknown spec, assume a single column with an even mix of numeric and other cells
+                perRow = (m_numericCell + m_otherCell) / 2;
+            } else {
+                perRow = 0;
+                for (final Type type : columnTypes) {
+                    perRow += isNumeric(type) ? m_numericCell : m_otherCell;
+                }
+            }
+            return (m_fixed * numberChunks) + (perRow * numberRows);
+        }
+
+        private static boolean isNumeric(final Type type) {
+            return (type == Type.BOOLEAN) || (type == Type.INTEGER) || (type == Type.LONG) || (type == Type.DOUBLE);
+        }
+    }
+
+}
@@ -78,6 +78,12 @@ public class SerializationOptions {
      */
     public final static int DEFAULT_SENTINEL_VALUE = 0;
 
+    /**
+     * Fill the columns of a chunk on a single thread by default. May be overridden using the VM option
+     * -Dknime.python.serializationthreads=&lt;threads&gt;.
+     */
+    public final static int DEFAULT_SERIALIZATION_THREADS = Integer.getInteger("knime.python.serializationthreads", 1);
+
     private boolean m_convertMissingToPython = DEFAULT_CONVERT_MISSING_TO_PYTHON;
 
     private boolean m_convertMissingFromPython = DEFAULT_CONVERT_MISSING_FROM_PYTHON;
@@ -86,6 +92,8 @@ public class SerializationOptions {
 
     private int m_sentinelValue = DEFAULT_SENTINEL_VALUE;
 
+    private int m_serializationThreads = DEFAULT_SERIALIZATION_THREADS;
+
     /**
      * Default Constructor.
      */
@@ -119,6 +127,7 @@ public SerializationOptions(final SerializationOptions other) {
         m_convertMissingToPython = other.getConvertMissingToPython();
         m_sentinelOption = other.getSentinelOption();
         m_sentinelValue = other.getSentinelValue();
+        m_serializationThreads = other.getSerializationThreads();
     }
 
     /**
@@ -193,6 +202,26 @@ public void setSentinelValue(final int sentinelValue) {
         this.m_sentinelValue = sentinelValue;
     }
 
+    /**
+     * Gets the number of threads used for filling the columns of a table chunk during serialization.
+     *
+     * @return the number of serialization threads, values smaller than 2 mean sequential serialization
+     */
+    public int getSerializationThreads() {
+        return m_serializationThreads;
+    }
+
+    /**
+     * Sets the number of threads used for filling the columns of a table chunk during serialization. Serialization
+     * libraries supporting it materialize the chunk once and fill disjoint groups of columns concurrently.
+     *
+     * @param serializationThreads the number of serialization threads, values smaller than 2 mean sequential
+     *            serialization
+     */
+    public void setSerializationThreads(final int serializationThreads) {
+        this.m_serializationThreads = serializationThreads;
+    }
+
     /**
      * Return the sentinel value for the given type.
      *
@@ -254,6 +283,7 @@ public int hashCode() {
         result = prime * result + (m_convertMissingToPython ? 1231 : 1237);
         result = prime * result + ((m_sentinelOption == null) ? 0 : m_sentinelOption.hashCode());
         result = prime * result + m_sentinelValue;
+        result = prime * result + m_serializationThreads;
         return result;
     }
 
@@ -281,6 +311,9 @@ public boolean equals(final Object obj) {
         if (m_sentinelValue != other.m_sentinelValue) {
             return false;
         }
+        if (m_serializationThreads != other.m_serializationThreads) {
+            return false;
+        }
         return true;
     }
 }
@@ -70,7 +70,7 @@ public interface TableChunker {
     /**
      * @return The number of rows remaining to be processed
      */
-    int getNumberRemainingRows();
+    long getNumberRemainingRows();
 
     /**
      * @return The {@link TableSpec}.
@@ -60,6 +60,6 @@ public interface TableCreatorFactory {
      * @param tableSize - the number of rows in the resulting table
      * @return a {@link TableCreator}
      */
-    public TableCreator<?> createTableCreator(TableSpec spec, int tableSize);
+    public TableCreator<?> createTableCreator(TableSpec spec, long tableSize);
 
 }
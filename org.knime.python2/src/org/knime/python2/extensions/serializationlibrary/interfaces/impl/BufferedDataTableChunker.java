@@ -80,7 +80,7 @@ public class BufferedDataTableChunker implements TableChunker {
      * @param numberRows the number of rows of the table to chunk
      */
     public BufferedDataTableChunker(final DataTableSpec spec, final CloseableRowIterator rowIterator,
-        final int numberRows) {
+        final long numberRows) {
         this(BufferedDataTableIterator.dataTableSpecToTableSpec(spec), rowIterator, numberRows);
     }
 
@@ -92,7 +92,7 @@ public BufferedDataTableChunker(final DataTableSpec spec, final CloseableRowIter
      * @param numberRows the number of rows of the table to chunk
      */
     public BufferedDataTableChunker(final TableSpec spec, final CloseableRowIterator rowIterator,
-        final int numberRows) {
+        final long numberRows) {
         m_spec = spec;
         m_iterationProperties = new IterationProperties(numberRows);
         m_iterator = rowIterator;
@@ -124,7 +124,7 @@ public TableIterator nextChunk(final int numRows) {
      */
     public TableIterator nextChunk(int numRows, final ExecutionMonitor executionMonitor) {
         if (numRows > m_iterationProperties.m_remainingRows) {
-            numRows = m_iterationProperties.m_remainingRows;
+            numRows = (int)m_iterationProperties.m_remainingRows;
         }
         if (m_currentTableIterator != null) {
             m_currentTableIterator.close();
@@ -138,7 +138,7 @@ public TableIterator nextChunk(int numRows, final ExecutionMonitor executionMoni
      * {@inheritDoc}
      */
     @Override
-    public int getNumberRemainingRows() {
+    public long getNumberRemainingRows() {
         return m_iterationProperties.m_remainingRows;
     }
 
@@ -155,9 +155,9 @@ public TableSpec getTableSpec() {
      * ends.
      */
     class IterationProperties {
-        public int m_remainingRows;
+        public long m_remainingRows;
 
-        private IterationProperties(final int numRows) {
+        private IterationProperties(final long numRows) {
             m_remainingRows = numRows;
         }
     }
@@ -82,7 +82,6 @@
 import org.knime.python.typeextension.PythonToKnimeExtensions;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
-import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
 
 /**
@@ -90,7 +89,7 @@
  *
  * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
  */
-public class BufferedDataTableCreator implements TableCreator<BufferedDataTable> {
+public class BufferedDataTableCreator implements DataCellTableCreator<BufferedDataTable> {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(BufferedDataTableCreator.class);
 
@@ -104,9 +103,9 @@ public class BufferedDataTableCreator implements TableCreator<BufferedDataTable>
 
     private final ExecutionMonitor m_executionMonitor;
 
-    private final int m_tableSize;
+    private final long m_tableSize;
 
-    private int m_rowsDone = 0;
+    private long m_rowsDone = 0;
 
     private final HashMap<Integer, DataTypeContainer> m_columnsToRetype;
 
@@ -123,7 +122,7 @@ public class BufferedDataTableCreator implements TableCreator<BufferedDataTable>
      * @param tableSize the number of rows of the table to create
      */
     public BufferedDataTableCreator(final TableSpec spec, final ExecutionContext context,
-        final ExecutionMonitor executionMonitor, final int tableSize) {
+        final ExecutionMonitor executionMonitor, final long tableSize) {
         m_tableSize = tableSize;
         m_executionMonitor = executionMonitor;
         m_fileStoreFactory = FileStoreFactory.createWorkflowFileStoreFactory(context);
@@ -245,289 +244,301 @@ public BufferedDataTableCreator(final TableSpec spec, final ExecutionContext con
 
     @Override
     public void addRow(final Row row) {
+        final DataCell[] cells = new DataCell[row.getNumberCells()];
+        int i = 0;
+        for (final Cell cell : row) {
+            cells[i] = createDataCell(i, cell);
+            i++;
+        }
+        addRow(row.getRowKey(), cells);
+    }
+
+    @Override
+    public void addRow(final String rowKey, final DataCell[] cells) {
         try {
             m_executionMonitor.checkCanceled();
         } catch (final CanceledExecutionException e) {
             throw new RuntimeException(e.getMessage(), e);
         }
-        final DataCell[] cells = new DataCell[row.getNumberCells()];
-        int i = 0;
-        for (final Cell cell : row) {
-            if (cell.isMissing()) {
-                cells[i] = new MissingCell(null);
-            } else {
-                switch (cell.getColumnType()) {
-                    case BOOLEAN:
-                        cells[i] = BooleanCellFactory.create(cell.getBooleanValue());
-                        break;
-                    case BOOLEAN_LIST:
-                        final List<DataCell> booleanListCells = new ArrayList<DataCell>();
-                        int pos = 0;
-                        for (final boolean value : cell.getBooleanArrayValue()) {
-                            if (cell.isMissing(pos)) {
-                                booleanListCells.add(new MissingCell(null));
-                            } else {
-                                booleanListCells.add(BooleanCellFactory.create(value));
-                            }
-                            pos++;
-                        }
-                        cells[i] = CollectionCellFactory.createListCell(booleanListCells);
-                        break;
-                    case BOOLEAN_SET:
-                        final List<DataCell> booleanSetCells = new ArrayList<DataCell>();
-                        for (final boolean value : cell.getBooleanArrayValue()) {
-                            booleanSetCells.add(BooleanCellFactory.create(value));
+        m_container.addRowToTable(new DefaultRow(rowKey, cells));
+        m_rowsDone++;
+        m_executionMonitor.setProgress(m_rowsDone / (double)m_tableSize);
+    }
+
+    @Override
+    public DataCell createDataCell(final int column, final Cell cell) {
+        DataCell dataCell;
+        if (cell.isMissing()) {
+            dataCell = new MissingCell(null);
+        } else {
+            switch (cell.getColumnType()) {
+                case BOOLEAN:
+                    dataCell = BooleanCellFactory.create(cell.getBooleanValue());
+                    break;
+                case BOOLEAN_LIST:
+                    final List<DataCell> booleanListCells = new ArrayList<DataCell>();
+                    int pos = 0;
+                    for (final boolean value : cell.getBooleanArrayValue()) {
+                        if (cell.isMissing(pos)) {
+                            booleanListCells.add(new MissingCell(null));
+                        } else {
+                            booleanListCells.add(BooleanCellFactory.create(value));
                         }
-                        if (cell.hasMissingInSet()) {
-                            booleanSetCells.add(new MissingCell(null));
+                        pos++;
+                    }
+                    dataCell = CollectionCellFactory.createListCell(booleanListCells);
+                    break;
+                case BOOLEAN_SET:
+                    final List<DataCell> booleanSetCells = new ArrayList<DataCell>();
+                    for (final boolean value : cell.getBooleanArrayValue()) {
+                        booleanSetCells.add(BooleanCellFactory.create(value));
+                    }
+                    if (cell.hasMissingInSet()) {
+                        booleanSetCells.add(new MissingCell(null));
+                    }
+                    dataCell = CollectionCellFactory.createSetCell(booleanSetCells);
+                    break;
+                case INTEGER:
+                    dataCell = new IntCell(cell.getIntegerValue());
+                    break;
+                case INTEGER_LIST:
+                    final List<DataCell> integerListCells = new ArrayList<DataCell>();
+                    for (int ipos = 0; ipos < cell.getIntegerArrayValue().length; ipos++) {
+                        if (cell.isMissing(ipos)) {
+                            integerListCells.add(new MissingCell(null));
+                        } else {
+                            integerListCells.add(new IntCell(cell.getIntegerArrayValue()[ipos]));
                         }
-                        cells[i] = CollectionCellFactory.createSetCell(booleanSetCells);
-                        break;
-                    case INTEGER:
-                        cells[i] = new IntCell(cell.getIntegerValue());
-                        break;
-                    case INTEGER_LIST:
-                        final List<DataCell> integerListCells = new ArrayList<DataCell>();
-                        for (int ipos = 0; ipos < cell.getIntegerArrayValue().length; ipos++) {
-                            if (cell.isMissing(ipos)) {
-                                integerListCells.add(new MissingCell(null));
-                            } else {
-                                integerListCells.add(new IntCell(cell.getIntegerArrayValue()[ipos]));
-                            }
+                    }
+                    dataCell = CollectionCellFactory.createListCell(integerListCells);
+                    break;
+                case INTEGER_SET:
+                    final List<DataCell> integerSetCells = new ArrayList<DataCell>();
+                    for (final Integer value : cell.getIntegerArrayValue()) {
+                        integerSetCells.add(new IntCell(value));
+                    }
+                    if (cell.hasMissingInSet()) {
+                        integerSetCells.add(new MissingCell(null));
+                    }
+                    dataCell = CollectionCellFactory.createSetCell(integerSetCells);
+                    break;
+                case LONG:
+                    dataCell = new LongCell(cell.getLongValue());
+                    break;
+                case LONG_LIST:
+                    final List<DataCell> longListCells = new ArrayList<DataCell>();
+                    int lpos = 0;
+                    for (final long value : cell.getLongArrayValue()) {
+                        if (cell.isMissing(lpos)) {
+                            longListCells.add(new MissingCell(null));
+                        } else {
+                            longListCells.add(new LongCell(value));
                         }
-                        cells[i] = CollectionCellFactory.createListCell(integerListCells);
-                        break;
-                    case INTEGER_SET:
-                        final List<DataCell> integerSetCells = new ArrayList<DataCell>();
-                        for (final Integer value : cell.getIntegerArrayValue()) {
-                            integerSetCells.add(new IntCell(value));
+                        lpos++;
+                    }
+                    dataCell = CollectionCellFactory.createListCell(longListCells);
+                    break;
+                case LONG_SET:
+                    final List<DataCell> longSetCells = new ArrayList<DataCell>();
+                    for (final long value : cell.getLongArrayValue()) {
+                        longSetCells.add(new LongCell(value));
+                    }
+                    if (cell.hasMissingInSet()) {
+                        longSetCells.add(new MissingCell(null));
+                    }
+                    dataCell = CollectionCellFactory.createSetCell(longSetCells);
+                    break;
+                case DOUBLE:
+                    dataCell = new DoubleCell(cell.getDoubleValue());
+                    break;
+                case DOUBLE_LIST:
+                    final List<DataCell> doubleListCells = new ArrayList<DataCell>();
+                    int dpos = 0;
+                    for (final double value : cell.getDoubleArrayValue()) {
+                        if (cell.isMissing(dpos)) {
+                            doubleListCells.add(new MissingCell(null));
+                        } else {
+                            doubleListCells.add(new DoubleCell(value));
                         }
-                        if (cell.hasMissingInSet()) {
-                            integerSetCells.add(new MissingCell(null));
+                        dpos++;
+                    }
+                    dataCell = CollectionCellFactory.createListCell(doubleListCells);
+                    break;
+                case DOUBLE_SET:
+                    final List<DataCell> doubleSetCells = new ArrayList<DataCell>();
+                    for (final double value : cell.getDoubleArrayValue()) {
+                        doubleSetCells.add(new DoubleCell(value));
+                    }
+                    if (cell.hasMissingInSet()) {
+                        doubleSetCells.add(new MissingCell(null));
+                    }
+                    dataCell = CollectionCellFactory.createSetCell(doubleSetCells);
+                    break;
+                case STRING:
+                    dataCell = new StringCell(cell.getStringValue());
+                    break;
+                case STRING_LIST:
+                    final List<DataCell> stringListCells = new ArrayList<DataCell>();
+                    int spos = 0;
+                    for (final String value : cell.getStringArrayValue()) {
+                        if (cell.isMissing(spos)) {
+                            stringListCells.add(new MissingCell(null));
+                        } else {
+                            stringListCells.add(new StringCell(value));
                         }
-                        cells[i] = CollectionCellFactory.createSetCell(integerSetCells);
-                        break;
-                    case LONG:
-                        cells[i] = new LongCell(cell.getLongValue());
-                        break;
-                    case LONG_LIST:
-                        final List<DataCell> longListCells = new ArrayList<DataCell>();
-                        int lpos = 0;
-                        for (final long value : cell.getLongArrayValue()) {
-                            if (cell.isMissing(lpos)) {
-                                longListCells.add(new MissingCell(null));
+                        spos++;
+                    }
+                    dataCell = CollectionCellFactory.createListCell(stringListCells);
+                    break;
+                case STRING_SET:
+                    final List<DataCell> stringSetCells = new ArrayList<DataCell>();
+                    for (final String value : cell.getStringArrayValue()) {
+                        stringSetCells.add(new StringCell(value));
+                    }
+                    if (cell.hasMissingInSet()) {
+                        stringSetCells.add(new MissingCell(null));
+                    }
+                    dataCell = CollectionCellFactory.createSetCell(stringSetCells);
+                    break;
+                case BYTES:
+                    final String bytesTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[column]);
+                    if (bytesTypeId != null) {
+                        final Deserializer bytesDeserializer = m_pythonToKnimeExtensions
+                            .getDeserializer(PythonToKnimeExtensions.getExtension(bytesTypeId).getId());
+                        try {
+                            if (cell.isMissing()) {
+                                dataCell = new MissingCell(null);
                             } else {
-                                longListCells.add(new LongCell(value));
+                                dataCell = bytesDeserializer.deserialize(cell.getBytesValue(), m_fileStoreFactory);
                             }
-                            lpos++;
-                        }
-                        cells[i] = CollectionCellFactory.createListCell(longListCells);
-                        break;
-                    case LONG_SET:
-                        final List<DataCell> longSetCells = new ArrayList<DataCell>();
-                        for (final long value : cell.getLongArrayValue()) {
-                            longSetCells.add(new LongCell(value));
-                        }
-                        if (cell.hasMissingInSet()) {
-                            longSetCells.add(new MissingCell(null));
-                        }
-                        cells[i] = CollectionCellFactory.createSetCell(longSetCells);
-                        break;
-                    case DOUBLE:
-                        cells[i] = new DoubleCell(cell.getDoubleValue());
-                        break;
-                    case DOUBLE_LIST:
-                        final List<DataCell> doubleListCells = new ArrayList<DataCell>();
-                        int dpos = 0;
-                        for (final double value : cell.getDoubleArrayValue()) {
-                            if (cell.isMissing(dpos)) {
-                                doubleListCells.add(new MissingCell(null));
-                            } else {
-                                doubleListCells.add(new DoubleCell(value));
+                            final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(column);
+                            if (dataTypeContainer != null) {
+                                dataTypeContainer.m_dataTypes.add(dataCell.getType());
                             }
-                            dpos++;
-                        }
-                        cells[i] = CollectionCellFactory.createListCell(doubleListCells);
-                        break;
-                    case DOUBLE_SET:
-                        final List<DataCell> doubleSetCells = new ArrayList<DataCell>();
-                        for (final double value : cell.getDoubleArrayValue()) {
-                            doubleSetCells.add(new DoubleCell(value));
-                        }
-                        if (cell.hasMissingInSet()) {
-                            doubleSetCells.add(new MissingCell(null));
+                        } catch (IllegalStateException | IOException e) {
+                            LOGGER.error(e.getMessage(), e);
+                            dataCell = new MissingCell(null);
                         }
-                        cells[i] = CollectionCellFactory.createSetCell(doubleSetCells);
-                        break;
-                    case STRING:
-                        cells[i] = new StringCell(cell.getStringValue());
-                        break;
-                    case STRING_LIST:
-                        final List<DataCell> stringListCells = new ArrayList<DataCell>();
-                        int spos = 0;
-                        for (final String value : cell.getStringArrayValue()) {
-                            if (cell.isMissing(spos)) {
-                                stringListCells.add(new MissingCell(null));
+                    } else {
+                        try {
+                            if (cell.isMissing()) {
+                                dataCell = new MissingCell(null);
                             } else {
-                                stringListCells.add(new StringCell(value));
+                                dataCell = new DenseByteVectorCellFactory(new DenseByteVector(cell.getBytesValue()))
+                                    .createDataCell();
                             }
-                            spos++;
+                        } catch (final IllegalStateException e) {
+                            LOGGER.error(e.getMessage(), e);
+                            dataCell = new MissingCell(null);
                         }
-                        cells[i] = CollectionCellFactory.createListCell(stringListCells);
-                        break;
-                    case STRING_SET:
-                        final List<DataCell> stringSetCells = new ArrayList<DataCell>();
-                        for (final String value : cell.getStringArrayValue()) {
-                            stringSetCells.add(new StringCell(value));
-                        }
-                        if (cell.hasMissingInSet()) {
-                            stringSetCells.add(new MissingCell(null));
-                        }
-                        cells[i] = CollectionCellFactory.createSetCell(stringSetCells);
-                        break;
-                    case BYTES:
-                        final String bytesTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[i]);
-                        if (bytesTypeId != null) {
-                            final Deserializer bytesDeserializer = m_pythonToKnimeExtensions
-                                .getDeserializer(PythonToKnimeExtensions.getExtension(bytesTypeId).getId());
-                            try {
-                                if (cell.isMissing()) {
-                                    cells[i] = new MissingCell(null);
-                                } else {
-                                    cells[i] = bytesDeserializer.deserialize(cell.getBytesValue(), m_fileStoreFactory);
-                                }
-                                final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(i);
-                                if (dataTypeContainer != null) {
-                                    dataTypeContainer.m_dataTypes.add(cells[i].getType());
-                                }
-                            } catch (IllegalStateException | IOException e) {
-                                LOGGER.error(e.getMessage(), e);
-                                cells[i] = new MissingCell(null);
-                            }
+                    }
+                    break;
+                case BYTES_LIST:
+                    final String bytesListTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[column]);
+                    if (bytesListTypeId != null) {
+                        final Deserializer bytesListDeserializer = m_pythonToKnimeExtensions
+                            .getDeserializer(PythonToKnimeExtensions.getExtension(bytesListTypeId).getId());
+                        final List<DataCell> listCells = new ArrayList<DataCell>();
+                        if (cell.isMissing()) {
+                            dataCell = new MissingCell(null);
                         } else {
-                            try {
-                                if (cell.isMissing()) {
-                                    cells[i] = new MissingCell(null);
+                            int blpos = 0;
+                            for (final byte[] value : cell.getBytesArrayValue()) {
+                                if (cell.isMissing(blpos)) {
+                                    listCells.add(new MissingCell(null));
                                 } else {
-                                    cells[i] = new DenseByteVectorCellFactory(new DenseByteVector(cell.getBytesValue()))
-                                        .createDataCell();
-                                }
-                            } catch (final IllegalStateException e) {
-                                LOGGER.error(e.getMessage(), e);
-                                cells[i] = new MissingCell(null);
-                            }
-                        }
-                        break;
-                    case BYTES_LIST:
-                        final String bytesListTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[i]);
-                        if (bytesListTypeId != null) {
-                            final Deserializer bytesListDeserializer = m_pythonToKnimeExtensions
-                                .getDeserializer(PythonToKnimeExtensions.getExtension(bytesListTypeId).getId());
-                            final List<DataCell> listCells = new ArrayList<DataCell>();
-                            if (cell.isMissing()) {
-                                cells[i] = new MissingCell(null);
-                            } else {
-                                int blpos = 0;
-                                for (final byte[] value : cell.getBytesArrayValue()) {
-                                    if (cell.isMissing(blpos)) {
-                                        listCells.add(new MissingCell(null));
-                                    } else {
-                                        try {
-                                            final DataCell dc =
-                                                bytesListDeserializer.deserialize(value, m_fileStoreFactory);
-                                            final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(i);
-                                            if (dataTypeContainer != null) {
-                                                dataTypeContainer.m_dataTypes.add(dc.getType());
-                                            }
-                                            listCells.add(dc);
-                                        } catch (IllegalStateException | IOException e) {
-                                            LOGGER.error(e.getMessage(), e);
-                                            listCells.add(new MissingCell(null));
-                                        }
-                                    }
-                                    blpos++;
-                                }
-                                cells[i] = CollectionCellFactory.createListCell(listCells);
-                            }
-                        } else {
-                            if (cell.isMissing()) {
-                                cells[i] = new MissingCell(null);
-                            } else {
-                                final List<DataCell> listCells = new ArrayList<DataCell>();
-                                int blpos = 0;
-                                for (final byte[] value : cell.getBytesArrayValue()) {
-                                    if (cell.isMissing(blpos)) {
-                                        listCells.add(new MissingCell(null));
-                                    } else {
-                                        try {
-                                            listCells.add(new StringCell(value.toString()));
-                                        } catch (final IllegalStateException e) {
-                                            LOGGER.error(e.getMessage(), e);
-                                            listCells.add(new MissingCell(null));
-                                        }
-                                    }
-                                }
-                                cells[i] = CollectionCellFactory.createListCell(listCells);
-                            }
-                        }
-                        break;
-                    case BYTES_SET:
-                        final String bytesSetTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[i]);
-                        if (bytesSetTypeId != null) {
-                            final Deserializer bytesSetDeserializer = m_pythonToKnimeExtensions
-                                .getDeserializer(PythonToKnimeExtensions.getExtension(bytesSetTypeId).getId());
-                            final List<DataCell> setCells = new ArrayList<DataCell>();
-                            if (cell.isMissing()) {
-                                cells[i] = new MissingCell(null);
-                            } else {
-                                for (final byte[] value : cell.getBytesArrayValue()) {
                                     try {
-                                        final DataCell dc = bytesSetDeserializer.deserialize(value, m_fileStoreFactory);
-                                        final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(i);
+                                        final DataCell dc =
+                                            bytesListDeserializer.deserialize(value, m_fileStoreFactory);
+                                        final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(column);
                                         if (dataTypeContainer != null) {
                                             dataTypeContainer.m_dataTypes.add(dc.getType());
                                         }
-                                        setCells.add(dc);
+                                        listCells.add(dc);
                                     } catch (IllegalStateException | IOException e) {
                                         LOGGER.error(e.getMessage(), e);
-                                        setCells.add(new MissingCell(null));
+                                        listCells.add(new MissingCell(null));
                                     }
-
                                 }
-                                if (cell.hasMissingInSet()) {
-                                    setCells.add(new MissingCell(null));
-                                }
-                                cells[i] = CollectionCellFactory.createSetCell(setCells);
+                                blpos++;
                             }
+                            dataCell = CollectionCellFactory.createListCell(listCells);
+                        }
+                    } else {
+                        if (cell.isMissing()) {
+                            dataCell = new MissingCell(null);
                         } else {
-                            final List<DataCell> setCells = new ArrayList<DataCell>();
-                            if (cell.isMissing()) {
-                                cells[i] = new MissingCell(null);
-                            } else {
-                                for (final byte[] value : cell.getBytesArrayValue()) {
+                            final List<DataCell> listCells = new ArrayList<DataCell>();
+                            int blpos = 0;
+                            for (final byte[] value : cell.getBytesArrayValue()) {
+                                if (cell.isMissing(blpos)) {
+                                    listCells.add(new MissingCell(null));
+                                } else {
                                     try {
-                                        setCells.add(new StringCell(value.toString()));
+                                        listCells.add(new StringCell(value.toString()));
                                     } catch (final IllegalStateException e) {
                                         LOGGER.error(e.getMessage(), e);
-                                        setCells.add(new MissingCell(null));
+                                        listCells.add(new MissingCell(null));
+                                    }
+                                }
+                            }
+                            dataCell = CollectionCellFactory.createListCell(listCells);
+                        }
+                    }
+                    break;
+                case BYTES_SET:
+                    final String bytesSetTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[column]);
+                    if (bytesSetTypeId != null) {
+                        final Deserializer bytesSetDeserializer = m_pythonToKnimeExtensions
+                            .getDeserializer(PythonToKnimeExtensions.getExtension(bytesSetTypeId).getId());
+                        final List<DataCell> setCells = new ArrayList<DataCell>();
+                        if (cell.isMissing()) {
+                            dataCell = new MissingCell(null);
+                        } else {
+                            for (final byte[] value : cell.getBytesArrayValue()) {
+                                try {
+                                    final DataCell dc = bytesSetDeserializer.deserialize(value, m_fileStoreFactory);
+                                    final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(column);
+                                    if (dataTypeContainer != null) {
+                                        dataTypeContainer.m_dataTypes.add(dc.getType());
                                     }
+                                    setCells.add(dc);
+                                } catch (IllegalStateException | IOException e) {
+                                    LOGGER.error(e.getMessage(), e);
+                                    setCells.add(new MissingCell(null));
                                 }
-                                if (cell.hasMissingInSet()) {
+
+                            }
+                            if (cell.hasMissingInSet()) {
+                                setCells.add(new MissingCell(null));
+                            }
+                            dataCell = CollectionCellFactory.createSetCell(setCells);
+                        }
+                    } else {
+                        final List<DataCell> setCells = new ArrayList<DataCell>();
+                        if (cell.isMissing()) {
+                            dataCell = new MissingCell(null);
+                        } else {
+                            for (final byte[] value : cell.getBytesArrayValue()) {
+                                try {
+                                    setCells.add(new StringCell(value.toString()));
+                                } catch (final IllegalStateException e) {
+                                    LOGGER.error(e.getMessage(), e);
                                     setCells.add(new MissingCell(null));
                                 }
-                                cells[i] = CollectionCellFactory.createSetCell(setCells);
                             }
+                            if (cell.hasMissingInSet()) {
+                                setCells.add(new MissingCell(null));
+                            }
+                            dataCell = CollectionCellFactory.createSetCell(setCells);
                         }
-                        break;
-                    default:
-                        cells[i] = new MissingCell(null);
-                }
+                    }
+                    break;
+                default:
+                    dataCell = new MissingCell(null);
             }
-            i++;
         }
-        m_container.addRowToTable(new DefaultRow(row.getRowKey(), cells));
-        m_rowsDone++;
-        m_executionMonitor.setProgress(m_rowsDone / (double)m_tableSize);
+        return dataCell;
     }
 
     @Override
@@ -546,8 +557,38 @@ private DataType getMostCommonAncestor(final HashSet<DataType> types) {
 
     @Override
     public BufferedDataTable getTable() {
+        return correctTypes(closeContainer());
+    }
+
+    /**
+     * Closes the underlying container.
+     *
+     * @return the table as created, i.e. before the types of the columns to retype have been corrected
+     */
+    BufferedDataTable closeContainer() {
         m_container.close();
-        final DataTableSpec tableSpec = m_container.getTableSpec();
+        return m_container.getTable();
+    }
+
+    /**
+     * Adds the data types observed by another creator for the same spec to the ones observed by this creator.
+     *
+     * @param other a creator that was created for the same spec
+     */
+    void mergeObservedTypes(final BufferedDataTableCreator other) {
+        for (final Integer column : m_columnsToRetype.keySet()) {
+            m_columnsToRetype.get(column).m_dataTypes.addAll(other.m_columnsToRetype.get(column).m_dataTypes);
+        }
+    }
+
+    /**
+     * Replaces the types of the columns to retype with the most common ancestor of all observed types.
+     *
+     * @param table a table as returned by {@link #closeContainer()}
+     * @return the table with corrected spec
+     */
+    BufferedDataTable correctTypes(final BufferedDataTable table) {
+        final DataTableSpec tableSpec = table.getDataTableSpec();
         final DataColumnSpec[] colSpecs = new DataColumnSpec[tableSpec.getNumColumns()];
         for (int i = 0; i < colSpecs.length; i++) {
             final DataColumnSpec dcs = tableSpec.getColumnSpec(i);
@@ -566,7 +607,7 @@ public BufferedDataTable getTable() {
             colSpecs[i] = dcsc.createSpec();
         }
         final DataTableSpec correctedSpec = new DataTableSpec(tableSpec.getName(), colSpecs);
-        return m_exec.createSpecReplacerTable(m_container.getTable(), correctedSpec);
+        return m_exec.createSpecReplacerTable(table, correctedSpec);
     }
 
     /**
@@ -0,0 +1,83 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.extensions.serializationlibrary.interfaces.impl;
+
+import org.knime.core.data.DataCell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
+
+/**
+ * A {@link TableCreator} that additionally accepts rows of {@link DataCell}s. Serialization libraries that are able to
+ * create {@link DataCell}s directly from their column representation may use it to bypass the intermediate
+ * {@link Cell} and {@link org.knime.python2.extensions.serializationlibrary.interfaces.Row} objects.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ * @param <T> the type of the created table
+ */
+public interface DataCellTableCreator<T> extends TableCreator<T> {
+
+    /**
+     * Add a row to the table.
+     *
+     * @param rowKey the key of the row
+     * @param cells the cells of the row, one per column of the spec returned by {@link #getTableSpec()}
+     */
+    void addRow(String rowKey, DataCell[] cells);
+
+    /**
+     * Convert a cell in the python table format to a {@link DataCell}. Used for columns that the serialization library
+     * cannot convert directly, e.g. columns of extension types.
+     *
+     * @param column the index of the column the cell belongs to
+     * @param cell a cell in the python table format
+     * @return the corresponding {@link DataCell}
+     */
+    DataCell createDataCell(int column, Cell cell);
+
+}
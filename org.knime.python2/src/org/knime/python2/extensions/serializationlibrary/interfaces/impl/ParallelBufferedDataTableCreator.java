@@ -0,0 +1,310 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.extensions.serializationlibrary.interfaces.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+
+/**
+ * Used for creating a {@link BufferedDataTable} out of a python integration specific table structure using multiple
+ * threads. Incoming rows are grouped into partitions of consecutive rows. Each partition is converted to
+ * {@link DataCell}s and written into its own container by a {@link BufferedDataTableCreator} on a
+ * worker thread. The partitions are concatenated in order when the table is requested, so the row order is preserved.
+ * Columns whose type is determined by the deserialized values are retyped using the types observed in all partitions.
+ * Rows of {@link DataCell}s, as added by serialization libraries that create them directly, are passed to the
+ * partitions unchanged.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class ParallelBufferedDataTableCreator implements DataCellTableCreator<BufferedDataTable>, AutoCloseable {
+
+    private static final int MIN_PARTITION_SIZE = 10000;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final TableSpec m_spec;
+
+    private final ExecutionContext m_exec;
+
+    private final ExecutionMonitor m_executionMonitor;
+
+    private final long m_tableSize;
+
+    private final int m_parallelism;
+
+    private final int m_partitionSize;
+
+    private final ThreadPoolExecutor m_executor;
+
+    private final List<BufferedDataTableCreator> m_creators = new ArrayList<BufferedDataTableCreator>();
+
+    private final List<Future<BufferedDataTable>> m_partitions = new ArrayList<Future<BufferedDataTable>>();
+
+    /**
+     * The rows of the partition currently being filled, either {@link Row}s or {@link CellRow}s.
+     */
+    private List<Object> m_currentPartition = null;
+
+    /**
+     * The creator of the partition currently being filled, also converts the cells passed to
+     * {@link #createDataCell(int, Cell)} so that it observes their types.
+     */
+    private BufferedDataTableCreator m_currentCreator = null;
+
+    private long m_rowsDone = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param spec a table spec in the python integration specific format
+     * @param context a node's execution context
+     * @param executionMonitor an execution monitor to report progress to
+     * @param tableSize the number of rows of the table to create
+     * @param parallelism the maximum number of partitions that are converted concurrently
+     */
+    public ParallelBufferedDataTableCreator(final TableSpec spec, final ExecutionContext context,
+        final ExecutionMonitor executionMonitor, final long tableSize, final int parallelism) {
+        m_spec = spec;
+        m_exec = context;
+        m_executionMonitor = executionMonitor;
+        m_tableSize = tableSize;
+        m_parallelism = Math.max(1, parallelism);
+        m_partitionSize = (int)Math.min(Integer.MAX_VALUE,
+            Math.max(MIN_PARTITION_SIZE, (tableSize + (2L * m_parallelism) - 1) / (2L * m_parallelism)));
+        m_executor = new ThreadPoolExecutor(m_parallelism, m_parallelism, 10, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), r -> {
+                final Thread thread =
+                    new Thread(r, "Python table creator " + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        m_executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Indicates if a table of the given size benefits from being created in parallel.
+     *
+     * @param tableSize the number of rows of the table to create
+     * @param parallelism the number of threads available
+     * @return true if the table spans more than one partition and more than one thread is available
+     */
+    public static boolean isWorthwhile(final long tableSize, final int parallelism) {
+        return (parallelism > 1) && (tableSize > MIN_PARTITION_SIZE);
+    }
+
+    @Override
+    public void addRow(final Row row) {
+        addToPartition(row);
+    }
+
+    @Override
+    public void addRow(final String rowKey, final DataCell[] cells) {
+        addToPartition(new CellRow(rowKey, cells));
+    }
+
+    @Override
+    public DataCell createDataCell(final int column, final Cell cell) {
+        return getCurrentCreator().createDataCell(column, cell);
+    }
+
+    private void addToPartition(final Object row) {
+        try {
+            m_executionMonitor.checkCanceled();
+        } catch (final CanceledExecutionException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+        if (m_currentPartition == null) {
+            m_currentPartition = new ArrayList<Object>((int)Math.min(m_partitionSize, m_tableSize - m_rowsDone));
+        }
+        m_currentPartition.add(row);
+        m_rowsDone++;
+        if (m_currentPartition.size() >= m_partitionSize) {
+            submitPartition();
+        }
+        m_executionMonitor.setProgress(m_rowsDone / (double)m_tableSize);
+    }
+
+    private BufferedDataTableCreator getCurrentCreator() {
+        if (m_currentCreator == null) {
+            m_currentCreator = new BufferedDataTableCreator(m_spec, m_exec, new ExecutionMonitor(), m_partitionSize);
+            m_creators.add(m_currentCreator);
+        }
+        return m_currentCreator;
+    }
+
+    @Override
+    public TableSpec getTableSpec() {
+        return m_spec;
+    }
+
+    @Override
+    public BufferedDataTable getTable() {
+        try {
+            if ((m_currentPartition != null) || (m_currentCreator != null) || m_partitions.isEmpty()) {
+                submitPartition();
+            }
+            final BufferedDataTable[] tables = new BufferedDataTable[m_partitions.size()];
+            for (int i = 0; i < tables.length; i++) {
+                tables[i] = m_partitions.get(i).get();
+            }
+            final BufferedDataTableCreator first = m_creators.get(0);
+            for (int i = 1; i < m_creators.size(); i++) {
+                first.mergeObservedTypes(m_creators.get(i));
+            }
+            final BufferedDataTable table =
+                tables.length == 1 ? tables[0] : m_exec.createConcatenateTable(new ExecutionMonitor(), tables);
+            return first.correctTypes(table);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while creating the output table.", e);
+        } catch (final CanceledExecutionException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Cancels the conversion of all pending partitions and stops the worker threads. Called by
+     * {@link #getTable()}, has to be called by the user if the table is not retrieved, e.g. because the transfer
+     * failed. Does nothing if the creator has already been closed.
+     */
+    @Override
+    public void close() {
+        if (m_executor.isShutdown()) {
+            return;
+        }
+        for (final Future<BufferedDataTable> partition : m_partitions) {
+            partition.cancel(true);
+        }
+        m_executor.shutdownNow();
+    }
+
+    private void submitPartition() {
+        final List<Object> rows = m_currentPartition != null ? m_currentPartition : new ArrayList<Object>(0);
+        final BufferedDataTableCreator creator = getCurrentCreator();
+        m_currentPartition = null;
+        m_currentCreator = null;
+        awaitFreeWorker();
+        m_partitions.add(m_executor.submit(() -> {
+            for (final Object row : rows) {
+                if (row instanceof CellRow) {
+                    creator.addRow(((CellRow)row).m_rowKey, ((CellRow)row).m_cells);
+                } else {
+                    creator.addRow((Row)row);
+                }
+            }
+            return creator.closeContainer();
+        }));
+    }
+
+    /**
+     * Blocks until less than parallelism partitions are pending, which bounds the number of rows held in memory.
+     */
+    private void awaitFreeWorker() {
+        int pending = 0;
+        for (final Future<BufferedDataTable> partition : m_partitions) {
+            if (!partition.isDone()) {
+                pending++;
+            }
+        }
+        for (int i = 0; (i < m_partitions.size()) && (pending >= m_parallelism); i++) {
+            final Future<BufferedDataTable> partition = m_partitions.get(i);
+            if (!partition.isDone()) {
+                try {
+                    partition.get();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while creating the output table.", e);
+                } catch (final ExecutionException e) {
+                    final Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    throw new RuntimeException(cause.getMessage(), cause);
+                }
+                pending--;
+            }
+        }
+    }
+
+    /**
+     * A row of {@link DataCell}s waiting for its partition to be written.
+     */
+    private static final class CellRow {
+
+        private final String m_rowKey;
+
+        private final DataCell[] m_cells;
+
+        private CellRow(final String rowKey, final DataCell[] cells) {
+            m_rowKey = rowKey;
+            m_cells = cells;
+        }
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.extensions.serializationlibrary.interfaces.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Set;
+
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+
+/**
+ * Inserts the rows of a deserialized table into a database using batches of a {@link PreparedStatement}. The
+ * parameters of the statement have to match the columns of the table. Date and time columns are expected to be
+ * transferred as strings in JDBC timestamp escape format.
+ *
+ * Since {@link #addRow(Row)} cannot throw, the first database error is kept and thrown by {@link #finish()}, which
+ * has to be called once all rows are added. The created "table" is the number of inserted rows.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class PreparedStatementTableCreator implements TableCreator<Long> {
+
+    private final TableSpec m_spec;
+
+    private final Connection m_connection;
+
+    private final PreparedStatement m_statement;
+
+    private final int m_batchSize;
+
+    private final int m_commitInterval;
+
+    private final Set<Integer> m_dateTimeColumns;
+
+    private int m_rowsInBatch = 0;
+
+    private long m_rowsSinceCommit = 0;
+
+    private long m_rowsWritten = 0;
+
+    private SQLException m_exception;
+
+    /**
+     * Constructor.
+     *
+     * @param spec the spec of the table to insert
+     * @param connection the connection of the statement, auto-commit has to be disabled if commitInterval is used
+     * @param statement the insert statement with one parameter per column
+     * @param batchSize the number of rows inserted with one batch
+     * @param commitInterval the number of rows after which the transaction is committed, 0 for committing only in
+     *            {@link #finish()}
+     * @param dateTimeColumns the indices of the date and time columns
+     */
+    public PreparedStatementTableCreator(final TableSpec spec, final Connection connection,
+        final PreparedStatement statement, final int batchSize, final int commitInterval,
+        final Set<Integer> dateTimeColumns) {
+        m_spec = spec;
+        m_connection = connection;
+        m_statement = statement;
+        m_batchSize = Math.max(1, batchSize);
+        m_commitInterval = commitInterval;
+        m_dateTimeColumns = dateTimeColumns;
+    }
+
+    @Override
+    public void addRow(final Row row) {
+        if (m_exception != null) {
+            return;
+        }
+        try {
+            for (int i = 0; i < m_spec.getNumberColumns(); i++) {
+                setParameter(i, row.getCell(i));
+            }
+            m_statement.addBatch();
+            m_rowsInBatch++;
+            if (m_rowsInBatch >= m_batchSize) {
+                executeBatch();
+            }
+            if ((m_commitInterval > 0) && (m_rowsSinceCommit >= m_commitInterval)) {
+                m_connection.commit();
+                m_rowsSinceCommit = 0;
+            }
+        } catch (final SQLException ex) {
+            m_exception = ex;
+        }
+    }
+
+    private void setParameter(final int column, final Cell cell) throws SQLException {
+        final int index = column + 1;
+        if (cell.isMissing()) {
+            m_statement.setNull(index, getSqlType(column));
+            return;
+        }
+        switch (cell.getColumnType()) {
+            case BOOLEAN:
+                m_statement.setBoolean(index, cell.getBooleanValue());
+                break;
+            case INTEGER:
+                m_statement.setInt(index, cell.getIntegerValue());
+                break;
+            case LONG:
+                m_statement.setLong(index, cell.getLongValue());
+                break;
+            case DOUBLE:
+                m_statement.setDouble(index, cell.getDoubleValue());
+                break;
+            case STRING:
+                if (m_dateTimeColumns.contains(column)) {
+                    m_statement.setTimestamp(index, Timestamp.valueOf(cell.getStringValue()));
+                } else {
+                    m_statement.setString(index, cell.getStringValue());
+                }
+                break;
+            case BYTES:
+                m_statement.setBytes(index, cell.getBytesValue());
+                break;
+            default:
+                throw new SQLException("Column '" + m_spec.getColumnNames()[column] + "' of type "
+                    + cell.getColumnType() + " cannot be written to a database.");
+        }
+    }
+
+    private int getSqlType(final int column) {
+        if (m_dateTimeColumns.contains(column)) {
+            return Types.TIMESTAMP;
+        }
+        switch (m_spec.getColumnTypes()[column]) {
+            case BOOLEAN:
+                return Types.BOOLEAN;
+            case INTEGER:
+                return Types.INTEGER;
+            case LONG:
+                return Types.BIGINT;
+            case DOUBLE:
+                return Types.DOUBLE;
+            case BYTES:
+                return Types.BLOB;
+            default:
+                return Types.VARCHAR;
+        }
+    }
+
+    private void executeBatch() throws SQLException {
+        if (m_rowsInBatch > 0) {
+            m_statement.executeBatch();
+            m_rowsWritten += m_rowsInBatch;
+            m_rowsSinceCommit += m_rowsInBatch;
+            m_rowsInBatch = 0;
+        }
+    }
+
+    /**
+     * Inserts the remaining rows and commits the transaction if auto-commit is disabled.
+     *
+     * @return the number of inserted rows
+     * @throws SQLException if a row could not be inserted
+     */
+    public long finish() throws SQLException {
+        if (m_exception != null) {
+            throw m_exception;
+        }
+        executeBatch();
+        if (!m_connection.getAutoCommit()) {
+            m_connection.commit();
+        }
+        m_rowsSinceCommit = 0;
+        return m_rowsWritten;
+    }
+
+    @Override
+    public TableSpec getTableSpec() {
+        return m_spec;
+    }
+
+    @Override
+    public Long getTable() {
+        return m_rowsWritten;
+    }
+}
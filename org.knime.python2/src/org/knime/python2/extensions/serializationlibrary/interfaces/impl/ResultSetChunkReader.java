@@ -0,0 +1,242 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.extensions.serializationlibrary.interfaces.impl;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+
+/**
+ * Reads a JDBC {@link ResultSet} in chunks of rows that can be serialized by a serialization library. Date and time
+ * columns are transferred as strings, see {@link #getDateTimeColumns()}. All other columns that cannot be mapped to a
+ * numeric or boolean type are transferred as strings as well.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class ResultSetChunkReader {
+
+    private final ResultSet m_resultSet;
+
+    private final TableSpec m_spec;
+
+    private final String[] m_dateTimeColumns;
+
+    private boolean m_exhausted = false;
+
+    private long m_rowIndex = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param resultSet the result set to read, it is not closed by this reader
+     * @throws SQLException if the meta data of the result set cannot be read
+     */
+    public ResultSetChunkReader(final ResultSet resultSet) throws SQLException {
+        m_resultSet = resultSet;
+        final ResultSetMetaData metaData = resultSet.getMetaData();
+        final int numberColumns = metaData.getColumnCount();
+        final Type[] types = new Type[numberColumns];
+        final String[] names = new String[numberColumns];
+        final List<String> dateTimeColumns = new ArrayList<>();
+        for (int i = 0; i < numberColumns; i++) {
+            names[i] = metaData.getColumnLabel(i + 1);
+            types[i] = getType(metaData.getColumnType(i + 1));
+            if (isDateTime(metaData.getColumnType(i + 1))) {
+                dateTimeColumns.add(names[i]);
+            }
+        }
+        m_spec = new TableSpecImpl(types, names, new HashMap<>());
+        m_dateTimeColumns = dateTimeColumns.toArray(new String[dateTimeColumns.size()]);
+    }
+
+    /**
+     * @return the spec of the chunks
+     */
+    public TableSpec getTableSpec() {
+        return m_spec;
+    }
+
+    /**
+     * @return the names of the date and time columns, which are transferred as strings
+     */
+    public String[] getDateTimeColumns() {
+        return m_dateTimeColumns;
+    }
+
+    /**
+     * @return true if the result set may contain further rows, false if it is exhausted
+     */
+    public boolean hasNextChunk() {
+        return !m_exhausted;
+    }
+
+    /**
+     * Reads the next chunk of rows from the result set. The rows are read in advance since the serialization libraries
+     * need to know the number of rows of a chunk.
+     *
+     * @param numRows the maximum number of rows of the chunk
+     * @return an iterator over the rows of the chunk, which may be empty if the result set is exhausted
+     * @throws SQLException if the result set cannot be read
+     */
+    public TableIterator nextChunk(final int numRows) throws SQLException {
+        final List<Row> rows = new ArrayList<>(Math.min(numRows, 1024));
+        while (!m_exhausted && rows.size() < numRows) {
+            if (m_resultSet.next()) {
+                rows.add(readRow());
+            } else {
+                m_exhausted = true;
+            }
+        }
+        return new ChunkIterator(rows);
+    }
+
+    private Row readRow() throws SQLException {
+        final RowImpl row = new RowImpl("Row" + m_rowIndex++, m_spec.getNumberColumns());
+        for (int i = 0; i < m_spec.getNumberColumns(); i++) {
+            row.setCell(readCell(i), i);
+        }
+        return row;
+    }
+
+    private Cell readCell(final int column) throws SQLException {
+        final int index = column + 1;
+        final Cell cell;
+        switch (m_spec.getColumnTypes()[column]) {
+            case BOOLEAN:
+                cell = new CellImpl(m_resultSet.getBoolean(index));
+                break;
+            case INTEGER:
+                cell = new CellImpl(m_resultSet.getInt(index));
+                break;
+            case LONG:
+                cell = new CellImpl(m_resultSet.getLong(index));
+                break;
+            case DOUBLE:
+                cell = new CellImpl(m_resultSet.getDouble(index));
+                break;
+            default:
+                final String value = m_resultSet.getString(index);
+                return value == null ? new CellImpl() : new CellImpl(value);
+        }
+        return m_resultSet.wasNull() ? new CellImpl() : cell;
+    }
+
+    private static Type getType(final int sqlType) {
+        switch (sqlType) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return Type.BOOLEAN;
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return Type.INTEGER;
+            case Types.BIGINT:
+                return Type.LONG;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return Type.DOUBLE;
+            default:
+                return Type.STRING;
+        }
+    }
+
+    private static boolean isDateTime(final int sqlType) {
+        return sqlType == Types.DATE || sqlType == Types.TIME || sqlType == Types.TIMESTAMP;
+    }
+
+    /**
+     * Iterates over the rows of a chunk read in advance.
+     */
+    private class ChunkIterator implements TableIterator {
+
+        private final Iterator<Row> m_rows;
+
+        private int m_remainingRows;
+
+        private ChunkIterator(final List<Row> rows) {
+            m_rows = rows.iterator();
+            m_remainingRows = rows.size();
+        }
+
+        @Override
+        public Row next() {
+            m_remainingRows--;
+            return m_rows.next();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_rows.hasNext();
+        }
+
+        @Override
+        public int getNumberRemainingRows() {
+            return m_remainingRows;
+        }
+
+        @Override
+        public TableSpec getTableSpec() {
+            return m_spec;
+        }
+    }
+}
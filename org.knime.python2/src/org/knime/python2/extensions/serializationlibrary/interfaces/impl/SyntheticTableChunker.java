@@ -0,0 +1,173 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.extensions.serializationlibrary.interfaces.impl;
+
+import java.util.Collections;
+
+import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableChunker;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+
+/**
+ * A {@link TableChunker} over a generated table with a configurable number of rows and columns. By default columns
+ * cycle through the types double, long and string, so the table resembles a typical mixed KNIME table. Used for
+ * calibrating the automatic serialization library selection and by the python kernel benchmark.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class SyntheticTableChunker implements TableChunker {
+
+    private static final Type[] COLUMN_TYPES = new Type[]{Type.DOUBLE, Type.LONG, Type.STRING};
+
+    private final TableSpec m_spec;
+
+    private final long m_numberRows;
+
+    private long m_rowIndex = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param numberRows the number of rows of the generated table
+     * @param numberColumns the number of columns of the generated table
+     */
+    public SyntheticTableChunker(final long numberRows, final int numberColumns) {
+        this(numberRows, mixedTypes(numberColumns));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param numberRows the number of rows of the generated table
+     * @param columnTypes the types of the columns of the generated table, only {@link Type#DOUBLE},
+     *            {@link Type#LONG} and {@link Type#STRING} are supported
+     */
+    public SyntheticTableChunker(final long numberRows, final Type... columnTypes) {
+        m_numberRows = numberRows;
+        final String[] names = new String[columnTypes.length];
+        for (int i = 0; i < columnTypes.length; i++) {
+            names[i] = "column" + i;
+        }
+        m_spec = new TableSpecImpl(columnTypes.clone(), names, Collections.<String, String> emptyMap());
+    }
+
+    private static Type[] mixedTypes(final int numberColumns) {
+        final Type[] types = new Type[numberColumns];
+        for (int i = 0; i < numberColumns; i++) {
+            types[i] = COLUMN_TYPES[i % COLUMN_TYPES.length];
+        }
+        return types;
+    }
+
+    @Override
+    public boolean hasNextChunk() {
+        return m_rowIndex < m_numberRows;
+    }
+
+    @Override
+    public TableIterator nextChunk(final int numRows) {
+        final int chunkSize = (int)Math.min(numRows, m_numberRows - m_rowIndex);
+        final long firstRow = m_rowIndex;
+        m_rowIndex += chunkSize;
+        return new TableIterator() {
+
+            private long m_next = firstRow;
+
+            @Override
+            public Row next() {
+                final Row row = createRow(m_next);
+                m_next++;
+                return row;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return m_next < firstRow + chunkSize;
+            }
+
+            @Override
+            public int getNumberRemainingRows() {
+                return (int)(firstRow + chunkSize - m_next);
+            }
+
+            @Override
+            public TableSpec getTableSpec() {
+                return m_spec;
+            }
+        };
+    }
+
+    @Override
+    public long getNumberRemainingRows() {
+        return m_numberRows - m_rowIndex;
+    }
+
+    @Override
+    public TableSpec getTableSpec() {
+        return m_spec;
+    }
+
+    private Row createRow(final long index) {
+        final Type[] types = m_spec.getColumnTypes();
+        final RowImpl row = new RowImpl("Row" + index, types.length);
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == Type.DOUBLE) {
+                row.setCell(new CellImpl(index * (i + 0.5)), i);
+            } else if (types[i] == Type.LONG) {
+                row.setCell(new CellImpl(index * (i + 1)), i);
+            } else {
+                row.setCell(new CellImpl("value " + index + " " + i), i);
+            }
+        }
+        return row;
+    }
+
+}
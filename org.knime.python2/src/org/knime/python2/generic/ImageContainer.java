@@ -48,11 +48,19 @@
 package org.knime.python2.generic;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
+import javax.imageio.ImageIO;
+
+import org.apache.batik.dom.svg.SAXSVGDocumentFactory;
 import org.apache.batik.transcoder.TranscoderException;
 import org.apache.batik.transcoder.TranscoderInput;
 import org.apache.batik.transcoder.TranscoderOutput;
 import org.apache.batik.transcoder.image.ImageTranscoder;
+import org.apache.batik.util.XMLResourceDescriptor;
 import org.w3c.dom.svg.SVGDocument;
 
 /**
@@ -62,6 +70,11 @@
  */
 public class ImageContainer {
 
+    private static final byte[] PNG_SIGNATURE = new byte[]{(byte)0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+
+    /** The number of leading bytes that are searched for the start of an svg document. */
+    private static final int SVG_SNIFF_LENGTH = 256;
+
     private final BufferedImage m_bufferedImage;
 
     private final SVGDocument m_svgDocument;
@@ -116,6 +129,72 @@ public SVGDocument getSvgDocument() {
         return m_svgDocument;
     }
 
+    /**
+     * Decodes the given bytes of a PNG, SVG or any other image format readable by {@link ImageIO}.
+     *
+     * @param bytes the bytes of the image
+     * @return the decoded image, holding a null {@link BufferedImage} if the format is unknown
+     * @throws IOException if the image could not be decoded
+     */
+    public static ImageContainer fromBytes(final byte[] bytes) throws IOException {
+        if (isSvg(bytes)) {
+            try {
+                return new ImageContainer(bytesToSvg(bytes));
+            } catch (final TranscoderException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+        return new ImageContainer(ImageIO.read(new ByteArrayInputStream(bytes)));
+    }
+
+    /**
+     * Checks the header of the given bytes for the PNG signature without decoding the image.
+     *
+     * @param bytes the bytes of an image
+     * @return true if the bytes hold a PNG image
+     */
+    public static boolean isPng(final byte[] bytes) {
+        if (bytes.length < PNG_SIGNATURE.length) {
+            return false;
+        }
+        for (int i = 0; i < PNG_SIGNATURE.length; i++) {
+            if (bytes[i] != PNG_SIGNATURE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks the leading bytes of the given bytes for the start of an XML or SVG document without decoding the
+     * image.
+     *
+     * @param bytes the bytes of an image
+     * @return true if the bytes hold an SVG image
+     */
+    public static boolean isSvg(final byte[] bytes) {
+        final String head =
+            new String(bytes, 0, Math.min(bytes.length, SVG_SNIFF_LENGTH), StandardCharsets.UTF_8).trim();
+        // Skip a byte order mark
+        final String document = head.startsWith("\uFEFF") ? head.substring(1).trim() : head;
+        return document.startsWith("<?xml") || document.startsWith("<svg");
+    }
+
+    /**
+     * Parses the given bytes of an SVG image.
+     *
+     * @param bytes the bytes of an SVG image
+     * @return a {@link SVGDocument}
+     * @throws IOException if the bytes could not be parsed
+     */
+    private static SVGDocument bytesToSvg(final byte[] bytes) throws IOException {
+        final String parser = XMLResourceDescriptor.getXMLParserClassName();
+        final SAXSVGDocumentFactory f = new SAXSVGDocumentFactory(parser);
+        try (final InputStream in = new ByteArrayInputStream(bytes)) {
+            return f.createSVGDocument("file:/file.svg", in);
+        }
+    }
+
     private static class BufferedImageTranscoder extends ImageTranscoder {
         protected BufferedImage bufferedImage;
 
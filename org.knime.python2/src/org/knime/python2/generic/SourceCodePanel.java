@@ -57,13 +57,17 @@
 import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.DefaultListModel;
@@ -85,6 +89,8 @@
 import javax.swing.border.BevelBorder;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.EtchedBorder;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.JTextComponent;
@@ -129,8 +135,12 @@ public static class Variable {
 
         private final String m_type;
 
+        private final String m_size;
+
         private final String m_value;
 
+        private final boolean m_lazy;
+
         /**
          * Creates a variable.
          *
@@ -139,9 +149,38 @@ public static class Variable {
          * @param value The value of the variable
          */
         public Variable(final String name, final String type, final String value) {
+            this(name, type, "", value);
+        }
+
+        /**
+         * Creates a variable.
+         *
+         * @param name The name of the variable
+         * @param type The type of the variable
+         * @param size The size of the variable, e.g. the shape of a table
+         * @param value The value of the variable, null if it is loaded lazily when the variable becomes visible
+         */
+        public Variable(final String name, final String type, final String size, final String value) {
+            this(name, type, size, value, value == null);
+        }
+
+        private Variable(final String name, final String type, final String size, final String value,
+            final boolean lazy) {
             m_name = name;
             m_type = type;
+            m_size = size;
             m_value = value;
+            m_lazy = lazy;
+        }
+
+        /**
+         * Creates a copy of this variable with the given value.
+         *
+         * @param value The value of the variable, null if it has to be loaded again
+         * @return the copy
+         */
+        public Variable withValue(final String value) {
+            return new Variable(m_name, m_type, m_size, value, m_lazy);
         }
 
         /**
@@ -162,15 +201,33 @@ public String getType() {
             return m_type;
         }
 
+        /**
+         * Return the size of the variable.
+         *
+         * @return the size
+         */
+        public String getSize() {
+            return m_size;
+        }
+
         /**
          * Return the value of the variable.
          *
-         * @return the value
+         * @return the value, null if it has not been loaded yet
          */
         public String getValue() {
             return m_value;
         }
 
+        /**
+         * Return whether the value of the variable is loaded lazily.
+         *
+         * @return true if the value is loaded when the variable becomes visible
+         */
+        public boolean isLazy() {
+            return m_lazy;
+        }
+
     }
 
     /**
@@ -279,7 +336,9 @@ JProgressBar getProgressBar() {
 
     private static final long serialVersionUID = -3216788918504383870L;
 
-    private static final String[] VARIABLES_COLUMN_NAMES = new String[]{"Name", "Type", "Value"};
+    private static final String[] VARIABLES_COLUMN_NAMES = new String[]{"Name", "Type", "Size", "Value"};
+
+    private static final int VALUE_COLUMN = 3;
 
     private boolean m_interactive = false;
 
@@ -314,6 +373,14 @@ public boolean isCellEditable(final int row, final int column) {
 
     private final JTable m_vars = new JTable(m_varsModel);
 
+    private final JScrollPane m_varsScrollPane = new JScrollPane(m_vars);
+
+    private Variable[] m_displayedVariables = new Variable[0];
+
+    private final Set<String> m_requestedValues = new HashSet<String>();
+
+    private String m_printValueOf;
+
     private final JButton m_exec = new JButton("Execute script");
 
     private final JButton m_execSelection = new JButton("Execute selected lines");
@@ -394,7 +461,7 @@ public SourceCodePanel(final String syntaxStyle, final VariableNames variableNam
             initShowImages();
         }
         final JPanel workspacePanel = new JPanel(new BorderLayout());
-        workspacePanel.add(new JScrollPane(m_vars), BorderLayout.CENTER);
+        workspacePanel.add(m_varsScrollPane, BorderLayout.CENTER);
         workspacePanel.add(workspaceButtons, BorderLayout.SOUTH);
         editorScrollPane.setFoldIndicatorEnabled(true);
         m_listEditorSplit = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT);
@@ -502,14 +569,25 @@ public void mousePressed(final MouseEvent me) {
                 final JTable table = (JTable)me.getSource();
                 final Point p = me.getPoint();
                 final int row = table.rowAtPoint(p);
-                if (me.getClickCount() == 2) {
-                    final String value = m_varsModel.getValueAt(row, 2).toString();
-                    if (!value.isEmpty()) {
-                        messageToConsole(m_varsModel.getValueAt(row, 0).toString() + ":\n" + value);
+                if ((me.getClickCount() == 2) && (row >= 0) && (row < m_displayedVariables.length)) {
+                    final Variable variable = m_displayedVariables[row];
+                    if (variable.getValue() == null) {
+                        // Print the value once it is loaded
+                        m_printValueOf = variable.getName();
+                        m_requestedValues.add(variable.getName());
+                        requestVariableValues(Collections.singletonList(variable.getName()));
+                    } else if (!variable.getValue().isEmpty()) {
+                        messageToConsole(variable.getName() + ":\n" + variable.getValue());
                     }
                 }
             }
         });
+        m_varsScrollPane.getViewport().addChangeListener(new ChangeListener() {
+            @Override
+            public void stateChanged(final ChangeEvent e) {
+                requestVisibleVariableValues();
+            }
+        });
         // Configure font for console and variables table
         final Font font = m_console.getFont();
         final Font newFont = new Font("monospaced", font.getStyle(), font.getSize());
@@ -655,6 +733,7 @@ public void open() {
         // Clean console and variables table
         m_console.setText("");
         m_varsModel.setRowCount(0);
+        m_displayedVariables = new Variable[0];
         m_statusBar.getProgressBar().setValue(0);
     }
 
@@ -942,12 +1021,82 @@ protected void setVariables(final Variable[] variables) {
         // Create vector and put it into the model
         final Object[][] variablesVector = new Object[variables.length][];
         for (int i = 0; i < variables.length; i++) {
-            variablesVector[i] = new Object[3];
+            variablesVector[i] = new Object[4];
             variablesVector[i][0] = variables[i].getName();
             variablesVector[i][1] = variables[i].getType();
-            variablesVector[i][2] = variables[i].getValue();
+            variablesVector[i][2] = variables[i].getSize();
+            variablesVector[i][VALUE_COLUMN] = variables[i].getValue() == null ? "" : variables[i].getValue();
+        }
+        runInUiThread(new Runnable() {
+            @Override
+            public void run() {
+                m_displayedVariables = variables;
+                m_requestedValues.clear();
+                m_varsModel.setDataVector(variablesVector, VARIABLES_COLUMN_NAMES);
+                requestVisibleVariableValues();
+            }
+        });
+    }
+
+    /**
+     * Sets the values of lazily loaded variables in the variable table.
+     *
+     * @param values The values by variable name
+     */
+    protected void setVariableValues(final Map<String, String> values) {
+        runInUiThread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < m_displayedVariables.length; i++) {
+                    final String value = values.get(m_displayedVariables[i].getName());
+                    if (value != null) {
+                        m_displayedVariables[i] = m_displayedVariables[i].withValue(value);
+                        m_varsModel.setValueAt(value, i, VALUE_COLUMN);
+                    }
+                }
+                if ((m_printValueOf != null) && values.containsKey(m_printValueOf)) {
+                    messageToConsole(m_printValueOf + ":\n" + values.get(m_printValueOf));
+                    m_printValueOf = null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Requests the values of the variables that are visible in the variable table but not loaded yet.
+     */
+    private void requestVisibleVariableValues() {
+        final Rectangle visible = m_vars.getVisibleRect();
+        int first = m_vars.rowAtPoint(visible.getLocation());
+        int last = m_vars.rowAtPoint(new Point(visible.x, (visible.y + visible.height) - 1));
+        if (first < 0) {
+            return;
         }
-        m_varsModel.setDataVector(variablesVector, VARIABLES_COLUMN_NAMES);
+        if (last < 0) {
+            last = m_displayedVariables.length - 1;
+        }
+        final List<String> names = new ArrayList<String>();
+        for (int i = first; (i <= last) && (i < m_displayedVariables.length); i++) {
+            final Variable variable = m_displayedVariables[i];
+            if ((variable.getValue() == null) && m_requestedValues.add(variable.getName())) {
+                names.add(variable.getName());
+            }
+        }
+        if (!names.isEmpty()) {
+            requestVariableValues(names);
+        }
+    }
+
+    /**
+     * Initiates loading the values of the given lazily loaded variables.
+     *
+     * This method should call {@link #setVariableValues(Map)} once the values have been retrieved. The default
+     * implementation does nothing.
+     *
+     * @param names The names of the variables
+     */
+    protected void requestVariableValues(final List<String> names) {
+        // Variables are not loaded lazily by default
     }
 
     /**
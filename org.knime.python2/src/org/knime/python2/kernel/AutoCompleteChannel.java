@@ -0,0 +1,279 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.kernel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A connection to the python kernel that is used exclusively for auto completion, so completions neither wait for nor
+ * delay the execution of commands. Requests are debounced: a request is only sent to python if no newer request
+ * arrived within {@link #DEBOUNCE_MILLIS}, superseded requests are answered with an empty list. Completions are cached
+ * by the code before the identifier that is being completed, so typing further characters of the identifier is
+ * answered from the cache.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class AutoCompleteChannel implements AutoCloseable {
+
+    /**
+     * The time to wait for newer requests before a request is sent to python. May be overridden using the VM option
+     * -Dknime.python.autocomplete.debounce=&lt;milliseconds&gt;.
+     */
+    static final long DEBOUNCE_MILLIS = Long.getLong("knime.python.autocomplete.debounce", 100);
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 10000;
+
+    private static final int CACHE_SIZE = 32;
+
+    private final ServerSocket m_serverSocket;
+
+    private Socket m_socket;
+
+    private DataInputStream m_in;
+
+    private DataOutputStream m_out;
+
+    private final ExecutorService m_executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "Python auto completion");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final AtomicLong m_latestRequest = new AtomicLong();
+
+    private final Map<String, List<Map<String, String>>> m_cache =
+        Collections.synchronizedMap(new LinkedHashMap<String, List<Map<String, String>>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, List<Map<String, String>>> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+
+    /**
+     * Opens a server socket on a free local port that python can connect to.
+     *
+     * @throws IOException if the server socket could not be opened
+     */
+    AutoCompleteChannel() throws IOException {
+        m_serverSocket = new ServerSocket(0);
+        m_serverSocket.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @return the port python has to connect to
+     */
+    int getPort() {
+        return m_serverSocket.getLocalPort();
+    }
+
+    /**
+     * Waits for python to connect.
+     *
+     * @throws IOException if python did not connect
+     */
+    void accept() throws IOException {
+        m_socket = m_serverSocket.accept();
+        m_socket.setTcpNoDelay(true);
+        m_in = new DataInputStream(new BufferedInputStream(m_socket.getInputStream()));
+        m_out = new DataOutputStream(new BufferedOutputStream(m_socket.getOutputStream()));
+    }
+
+    /**
+     * Requests the possible completions at the given position. Each completion contains the fields 'name', 'type' and
+     * 'doc'.
+     *
+     * @param sourceCode the source code
+     * @param line the line of the cursor position
+     * @param column the column of the cursor position
+     * @return the completions, empty if the request was superseded by a newer one
+     */
+    Future<List<Map<String, String>>> complete(final String sourceCode, final int line, final int column) {
+        // Complete at the start of the identifier and filter by the typed prefix, so that the result can be reused
+        // while the identifier is typed
+        final int lineStart = nthLineStart(sourceCode, line);
+        final int caret = Math.min(sourceCode.length(), lineStart + column);
+        int identifierStart = caret;
+        while ((identifierStart > lineStart) && Character.isJavaIdentifierPart(sourceCode.charAt(identifierStart - 1))) {
+            identifierStart--;
+        }
+        final String context = sourceCode.substring(0, identifierStart);
+        final String prefix = sourceCode.substring(identifierStart, caret);
+        final List<Map<String, String>> cached = m_cache.get(context);
+        if (cached != null) {
+            m_latestRequest.incrementAndGet();
+            return m_executor.submit(new Callable<List<Map<String, String>>>() {
+                @Override
+                public List<Map<String, String>> call() {
+                    return filter(cached, prefix);
+                }
+            });
+        }
+        final long requestId = m_latestRequest.incrementAndGet();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DEBOUNCE_MILLIS);
+        final int identifierColumn = identifierStart - lineStart;
+        return m_executor.submit(new Callable<List<Map<String, String>>>() {
+            @Override
+            public List<Map<String, String>> call() throws Exception {
+                // Requests superseded while queued are skipped right away, the others only wait for the rest of
+                // their debounce time
+                if (requestId != m_latestRequest.get()) {
+                    return Collections.emptyList();
+                }
+                TimeUnit.NANOSECONDS.sleep(deadline - System.nanoTime());
+                if (requestId != m_latestRequest.get()) {
+                    // Superseded by a newer request
+                    return Collections.emptyList();
+                }
+                List<Map<String, String>> completions = m_cache.get(context);
+                if (completions == null) {
+                    completions = request(sourceCode, line, identifierColumn);
+                    m_cache.put(context, completions);
+                }
+                return filter(completions, prefix);
+            }
+        });
+    }
+
+    private List<Map<String, String>> request(final String sourceCode, final int line, final int column)
+        throws IOException {
+        writeString(Integer.toString(line));
+        writeString(Integer.toString(column));
+        writeString(sourceCode);
+        m_out.flush();
+        final int numberCompletions = Integer.parseInt(readString());
+        final List<Map<String, String>> completions = new ArrayList<>(numberCompletions);
+        for (int i = 0; i < numberCompletions; i++) {
+            final Map<String, String> completion = new HashMap<>();
+            completion.put("name", readString());
+            completion.put("type", readString());
+            completion.put("doc", readString());
+            completions.add(completion);
+        }
+        return Collections.unmodifiableList(completions);
+    }
+
+    private static List<Map<String, String>> filter(final List<Map<String, String>> completions,
+        final String prefix) {
+        if (prefix.isEmpty()) {
+            return completions;
+        }
+        final List<Map<String, String>> filtered = new ArrayList<>();
+        for (final Map<String, String> completion : completions) {
+            if (completion.get("name").startsWith(prefix)) {
+                filtered.add(completion);
+            }
+        }
+        return filtered;
+    }
+
+    private static int nthLineStart(final String sourceCode, final int line) {
+        int start = 0;
+        for (int i = 0; (i < line) && (start >= 0); i++) {
+            start = sourceCode.indexOf('\n', start);
+            if (start >= 0) {
+                start++;
+            }
+        }
+        return Math.max(0, start);
+    }
+
+    private void writeString(final String string) throws IOException {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        m_out.writeInt(bytes.length);
+        m_out.write(bytes);
+    }
+
+    private String readString() throws IOException {
+        final byte[] bytes = new byte[m_in.readInt()];
+        m_in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        m_executor.shutdownNow();
+        try {
+            m_serverSocket.close();
+        } catch (final IOException e) {
+            // nothing to do
+        }
+        if (m_socket != null) {
+            try {
+                m_socket.close();
+            } catch (final IOException e) {
+                // nothing to do
+            }
+        }
+    }
+}
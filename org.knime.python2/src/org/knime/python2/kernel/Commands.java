@@ -45,12 +45,13 @@
 
 package org.knime.python2.kernel;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -61,6 +62,8 @@
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.knime.core.node.util.CheckUtils;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+import org.knime.python2.kernel.PythonKernelMetrics.Phase;
 
 /**
  * Used for communicating with the python kernel via commands sent over sockets.
@@ -69,6 +72,12 @@
  */
 public class Commands {
 
+    /**
+     * Size of the buffers wrapping the socket streams. Frames up to this size are written to the socket together with
+     * their size header in a single write.
+     */
+    private static final int FRAME_BUFFER_SIZE = 64 * 1024;
+
     private final OutputStream m_outToServer;
 
     private final InputStream m_inFromServer;
@@ -81,6 +90,8 @@ public class Commands {
 
     private final Lock m_lock;
 
+    private final PythonKernelMetrics m_metrics;
+
     /**
      * Constructor.
      *
@@ -88,11 +99,24 @@ public class Commands {
      * @param inFromServer input stream of the socket used for communication with the python kernel
      */
     public Commands(final OutputStream outToServer, final InputStream inFromServer) {
+        this(outToServer, inFromServer, new PythonKernelMetrics());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param outToServer output stream of the socket used for communication with the python kernel
+     * @param inFromServer input stream of the socket used for communication with the python kernel
+     * @param metrics the metrics receiving the transferred bytes and the transfer times
+     */
+    public Commands(final OutputStream outToServer, final InputStream inFromServer,
+        final PythonKernelMetrics metrics) {
         m_lock = new ReentrantLock();
+        m_metrics = metrics;
         m_outToServer = outToServer;
         m_inFromServer = inFromServer;
-        m_bufferedInFromServer = new DataInputStream(m_inFromServer);
-        m_bufferedOutToServer = new DataOutputStream(m_outToServer);
+        m_bufferedInFromServer = new DataInputStream(new BufferedInputStream(m_inFromServer, FRAME_BUFFER_SIZE));
+        m_bufferedOutToServer = new DataOutputStream(new BufferedOutputStream(m_outToServer, FRAME_BUFFER_SIZE));
         m_messages = new CommandsMessages(this);
     }
 
@@ -126,10 +150,24 @@ public int getPid() throws IOException {
      * @throws IOException
      */
     public String[] execute(final String sourceCode) throws IOException {
+        return execute(sourceCode, "");
+    }
+
+    /**
+     * Execute a source code snippet in the python kernel and let python write the given marker line to stdout and
+     * stderr afterwards.
+     *
+     * @param sourceCode the snippet to execute
+     * @param outputMarker the marker line, none is written if it is empty
+     * @return warning or error messages that were emitted during execution
+     * @throws IOException
+     */
+    public String[] execute(final String sourceCode, final String outputMarker) throws IOException {
         m_lock.lock();
         try {
             writeString("execute");
             writeString(sourceCode);
+            writeString(outputMarker);
             m_messages.waitForSuccessMessage();
             final String[] output = new String[2];
             output[0] = readString();
@@ -178,6 +216,46 @@ public byte[] getFlowVariables(final String name) throws IOException {
         }
     }
 
+    /**
+     * Put some flow variables encoded by {@link InlineKeyValues} into the python workspace.
+     *
+     * @param name the variable name of the flow variable dict in the python workspace
+     * @param variables the encoded flow variables
+     * @throws IOException
+     */
+    public void putFlowVariablesInline(final String name, final byte[] variables) throws IOException {
+        m_lock.lock();
+        try {
+            writeString("putFlowVariablesInline");
+            writeString(name);
+            writeBytes(variables);
+            readBytes();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * Get some flow variables from the python workspace, encoded by {@link InlineKeyValues} if they fit into the given
+     * number of bytes.
+     *
+     * @param name the variable name in the python workspace
+     * @param threshold the maximum size of the inline encoding
+     * @return the flow variables, either inline or serialized as table
+     * @throws IOException
+     */
+    public InlineResponse getFlowVariablesInline(final String name, final int threshold) throws IOException {
+        m_lock.lock();
+        try {
+            writeString("getFlowVariablesInline");
+            writeString(name);
+            writeInt(threshold);
+            return readInlineResponse();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
     /**
      * Put a serialized KNIME table into the python workspace (as pandas.DataFrame). The table should be serialized
      * using the currently active serialization library.
@@ -189,10 +267,12 @@ public byte[] getFlowVariables(final String name) throws IOException {
     public void putTable(final String name, final byte[] table) throws IOException {
         m_lock.lock();
         try {
+            final long start = System.nanoTime();
             writeString("putTable");
             writeString(name);
             writeBytes(table);
             m_messages.waitForSuccessMessage();
+            m_metrics.record(Phase.TRANSFER, start);
         } finally {
             m_lock.unlock();
         }
@@ -209,28 +289,101 @@ public void putTable(final String name, final byte[] table) throws IOException {
     public void appendToTable(final String name, final byte[] table) throws IOException {
         m_lock.lock();
         try {
+            final long start = System.nanoTime();
             writeString("appendToTable");
             writeString(name);
             writeBytes(table);
             m_messages.waitForSuccessMessage();
+            m_metrics.record(Phase.TRANSFER, start);
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * Stage a chunk of table rows for a table represented as pandas.DataFrame in the python workspace. Staged rows are
+     * not visible in the workspace until they are merged into the table via {@link #unstageTable(String, boolean)}.
+     * The table chunk should be serialized using the currently active serialization library.
+     *
+     * @param name the name of the variable in the python workspace the rows are staged for
+     * @param table the serialized table chunk as bytearray
+     * @throws IOException
+     */
+    public void stageTable(final String name, final byte[] table) throws IOException {
+        m_lock.lock();
+        try {
+            final long start = System.nanoTime();
+            writeString("stageTable");
+            writeString(name);
+            writeBytes(table);
+            m_messages.waitForSuccessMessage();
+            m_metrics.record(Phase.TRANSFER, start);
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * Discard the rows staged for a table in the python workspace, optionally appending them to the table first. The
+     * rows are only appended if the variable is still the table that has been put from java.
+     *
+     * @param name the name of the variable in the python workspace the rows have been staged for
+     * @param merge true to append the staged rows to the table, false to only discard them
+     * @return true if the staged rows have been appended
+     * @throws IOException
+     */
+    public boolean unstageTable(final String name, final boolean merge) throws IOException {
+        m_lock.lock();
+        try {
+            writeString("unstageTable");
+            writeString(name);
+            writeInt(merge ? 1 : 0);
+            return readInt() > 0;
         } finally {
             m_lock.unlock();
         }
     }
 
     /**
-     * Get the size in bytes of a serialized table from the python workspace.
+     * Get the number of rows of a table from the python workspace.
      *
      * @param name the variable name
-     * @return the size in bytes
+     * @return the number of rows
      * @throws IOException
      */
-    public int getTableSize(final String name) throws IOException {
+    public long getTableSize(final String name) throws IOException {
         m_lock.lock();
         try {
             writeString("getTableSize");
             writeString(name);
-            return readInt();
+            return readLong();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * Get the types the columns of a table from the python workspace would be serialized as.
+     *
+     * @param name the name of the variable in the python workspace
+     * @return the column types
+     * @throws IOException
+     */
+    public Type[] getTableColumnTypes(final String name) throws IOException {
+        m_lock.lock();
+        try {
+            writeString("getTableColumnTypes");
+            writeString(name);
+            final String typeIds = readString();
+            if (typeIds.isEmpty()) {
+                return new Type[0];
+            }
+            final String[] ids = typeIds.split(",");
+            final Type[] types = new Type[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                types[i] = Type.getTypeForId(Integer.parseInt(ids[i]));
+            }
+            return types;
         } finally {
             m_lock.unlock();
         }
@@ -246,11 +399,14 @@ public int getTableSize(final String name) throws IOException {
     public byte[] getTable(final String name) throws IOException {
         m_lock.lock();
         try {
+            final long start = System.nanoTime();
             writeString("getTable");
             writeString(name);
             //success message is sent before table is transmitted
             m_messages.waitForSuccessMessage();
-            return readBytes();
+            final byte[] table = readBytes();
+            m_metrics.record(Phase.RESULT_FETCH, start);
+            return table;
         } finally {
             m_lock.unlock();
         }
@@ -265,16 +421,19 @@ public byte[] getTable(final String name) throws IOException {
      * @return the serialized table as bytearray
      * @throws IOException
      */
-    public byte[] getTableChunk(final String name, final int start, final int end) throws IOException {
+    public byte[] getTableChunk(final String name, final long start, final long end) throws IOException {
         m_lock.lock();
         try {
+            final long startNanos = System.nanoTime();
             writeString("getTableChunk");
             writeString(name);
-            writeInt(start);
-            writeInt(end);
+            writeLong(start);
+            writeLong(end);
             //success message is sent before table is transmitted
             m_messages.waitForSuccessMessage();
-            return readBytes();
+            final byte[] table = readBytes();
+            m_metrics.record(Phase.RESULT_FETCH, startNanos);
+            return table;
         } finally {
             m_lock.unlock();
         }
@@ -296,6 +455,41 @@ public byte[] listVariables() throws IOException {
         }
     }
 
+    /**
+     * Get a list of the variables in the python workspace that changed since the last listing, including the removed
+     * ones.
+     *
+     * @return the serialized list of changed variables
+     * @throws IOException
+     */
+    public byte[] listChangedVariables() throws IOException {
+        m_lock.lock();
+        try {
+            writeString("listChangedVariables");
+            return readBytes();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * Get the values of the given variables in the python workspace as truncated strings.
+     *
+     * @param names the names of the variables separated by line breaks
+     * @return the serialized list of variable values
+     * @throws IOException
+     */
+    public byte[] getVariablePreviews(final String names) throws IOException {
+        m_lock.lock();
+        try {
+            writeString("getVariablePreviews");
+            writeString(names);
+            return readBytes();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
     /**
      * Reset the python workspace by emptying the variable definitions.
      *
@@ -311,6 +505,40 @@ public void reset() throws IOException {
         }
     }
 
+    /**
+     * Start or stop recording copies of all variables put into the python workspace. Starting discards previously
+     * recorded copies.
+     *
+     * @param record true to start recording, false to stop
+     * @throws IOException
+     */
+    public void recordInputSnapshot(final boolean record) throws IOException {
+        m_lock.lock();
+        try {
+            writeString("recordInputSnapshot");
+            writeInt(record ? 1 : 0);
+            readBytes();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * Replace the python workspace by copies of the recorded input variables.
+     *
+     * @return true if the workspace has been restored, false if no input variables have been recorded
+     * @throws IOException
+     */
+    public boolean restoreInputSnapshot() throws IOException {
+        m_lock.lock();
+        try {
+            writeString("restoreInputSnapshot");
+            return readInt() > 0;
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
     /**
      * Indicates if python supports autocompletion.
      *
@@ -349,6 +577,23 @@ public byte[] autoComplete(final String sourceCode, final int line, final int co
         }
     }
 
+    /**
+     * Let python connect to the given port on a separate connection that serves auto completion requests.
+     *
+     * @param port the port to connect to
+     * @throws IOException
+     */
+    public void startAutoComplete(final int port) throws IOException {
+        m_lock.lock();
+        try {
+            writeString("startAutoComplete");
+            writeInt(port);
+            readBytes();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
     /**
      * Get an image from the python workspace
      *
@@ -386,6 +631,27 @@ public byte[] getObject(final String name) throws IOException {
         }
     }
 
+    /**
+     * Get a python object from the python workspace, encoded by {@link InlineKeyValues} if it fits into the given
+     * number of bytes. The object consists of a pickled representation, a type and a string representation.
+     *
+     * @param name the name of the variable in the python workspace
+     * @param threshold the maximum size of the inline encoding
+     * @return the object, either inline or serialized as table
+     * @throws IOException
+     */
+    public InlineResponse getObjectInline(final String name, final int threshold) throws IOException {
+        m_lock.lock();
+        try {
+            writeString("getObjectInline");
+            writeString(name);
+            writeInt(threshold);
+            return readInlineResponse();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
     /**
      * Put a python object into the python workspace. The object consists of a pickled representation, a type and a
      * string representation.
@@ -523,56 +789,161 @@ public void addToPythonPath(final String paths) throws IOException {
         }
     }
 
-    private byte[] stringToBytes(final String string) {
-        return string.getBytes(StandardCharsets.UTF_8);
+    /**
+     * Set the maximum number of console output lines the python kernel keeps and returns per execution.
+     *
+     * @param capacity the maximum number of lines
+     * @throws IOException
+     */
+    public void setOutputCapacity(final int capacity) throws IOException {
+        m_lock.lock();
+        try {
+            writeString("setOutputCapacity");
+            writeInt(capacity);
+            readBytes();
+        } finally {
+            m_lock.unlock();
+        }
     }
 
-    private String stringFromBytes(final byte[] bytes) {
-        return new String(bytes);
+    /**
+     * Set the number of lines of profiling statistics the python kernel collects per execution. A value of 0 disables
+     * profiling.
+     *
+     * @param lines the number of lines
+     * @throws IOException
+     */
+    public void setProfiling(final int lines) throws IOException {
+        m_lock.lock();
+        try {
+            writeString("setProfiling");
+            writeInt(lines);
+            readBytes();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * Get the profiling statistics of the last execution.
+     *
+     * @return the formatted statistics, empty if profiling is disabled
+     * @throws IOException
+     */
+    public String getProfile() throws IOException {
+        m_lock.lock();
+        try {
+            writeString("getProfile");
+            return readString();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * Send an empty command to the python kernel and wait for its reply.
+     *
+     * @throws IOException
+     */
+    public void ping() throws IOException {
+        m_lock.lock();
+        try {
+            writeString("ping");
+            readBytes();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * Switch the serialization library used by the python kernel. The library is loaded if it has not been used before.
+     *
+     * @param path the path of the python serialization library module
+     * @throws IOException
+     */
+    public void setSerializer(final String path) throws IOException {
+        m_lock.lock();
+        try {
+            writeString("setSerializer");
+            writeString(path);
+            readBytes();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * Reads a response consisting of a frame holding {@link InlineKeyValues#INLINE} or
+     * {@link InlineKeyValues#SERIALIZED}, followed by the payload. The payload is passed on as received.
+     */
+    private InlineResponse readInlineResponse() throws IOException {
+        final boolean inline = readInt() == InlineKeyValues.INLINE;
+        return new InlineResponse(inline, readBytes());
     }
 
-    private byte[] intToBytes(final int integer) {
-        return ByteBuffer.allocate(4).putInt(integer).array();
+    private byte[] stringToBytes(final String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
     }
 
-    private int intFromBytes(final byte[] bytes) {
-        return ByteBuffer.wrap(bytes).getInt();
+    private String stringFromBytes(final byte[] bytes) {
+        return new String(bytes);
     }
 
     private void writeString(final String string) throws IOException {
-        writeMessageBytes(stringToBytes(string), m_bufferedOutToServer);
+        writeBytes(stringToBytes(string));
     }
 
     private String readString() throws IOException {
-        return stringFromBytes(readMessageBytes(m_bufferedInFromServer));
+        return stringFromBytes(readBytes());
     }
 
     private void writeInt(final int integer) throws IOException {
-        writeMessageBytes(intToBytes(integer), m_bufferedOutToServer);
+        writeSize(Integer.BYTES, m_bufferedOutToServer);
+        m_bufferedOutToServer.writeInt(integer);
+        m_bufferedOutToServer.flush();
+        m_metrics.addBytesSent(Integer.BYTES + Integer.BYTES);
     }
 
     private int readInt() throws IOException {
-        return intFromBytes(readMessageBytes(m_bufferedInFromServer));
+        checkSize(Integer.BYTES, readSize(m_bufferedInFromServer));
+        m_metrics.addBytesReceived(Integer.BYTES + Integer.BYTES);
+        return m_bufferedInFromServer.readInt();
+    }
+
+    private void writeLong(final long value) throws IOException {
+        writeSize(Long.BYTES, m_bufferedOutToServer);
+        m_bufferedOutToServer.writeLong(value);
+        m_bufferedOutToServer.flush();
+        m_metrics.addBytesSent(Integer.BYTES + Long.BYTES);
+    }
+
+    private long readLong() throws IOException {
+        checkSize(Long.BYTES, readSize(m_bufferedInFromServer));
+        m_metrics.addBytesReceived(Integer.BYTES + Long.BYTES);
+        return m_bufferedInFromServer.readLong();
     }
 
     private void writeBytes(final byte[] bytes) throws IOException {
         writeMessageBytes(bytes, m_bufferedOutToServer);
+        m_metrics.addBytesSent(Integer.BYTES + bytes.length);
     }
 
     private byte[] readBytes() throws IOException {
-        return readMessageBytes(m_bufferedInFromServer);
+        final byte[] bytes = readMessageBytes(m_bufferedInFromServer);
+        m_metrics.addBytesReceived(Integer.BYTES + bytes.length);
+        return bytes;
     }
 
     /**
-     * Writes the given message size as 32 bit integer into the output stream.
+     * Writes the given message size as 32 bit integer into the output stream. The stream is not flushed, so the size is
+     * sent together with the message.
      *
      * @param size The size to write
      * @param outputStream The stream to write to
      * @throws IOException If an error occured
      */
     private static void writeSize(final int size, final DataOutputStream outputStream) throws IOException {
-        outputStream.write(ByteBuffer.allocate(4).putInt(size).array());
-        outputStream.flush();
+        outputStream.writeInt(size);
     }
 
     /**
@@ -596,11 +967,20 @@ private static void writeMessageBytes(final byte[] bytes, final DataOutputStream
      * @throws IOException If an error occured
      */
     private static int readSize(final DataInputStream inputStream) throws IOException {
-        final byte[] bytes = new byte[4];
-        //long millis = System.currentTimeMillis();
-        inputStream.readFully(bytes);
-        //NodeLogger.getLogger("readSize").warn("Spent " + (System.currentTimeMillis() - millis) + "ms in readSize().");
-        return ByteBuffer.wrap(bytes).getInt();
+        return inputStream.readInt();
+    }
+
+    /**
+     * Checks that a received message has the size expected for a fixed size value.
+     *
+     * @param expected The expected size
+     * @param actual The received size
+     * @throws IOException If the sizes differ
+     */
+    private static void checkSize(final int expected, final int actual) throws IOException {
+        if (expected != actual) {
+            throw new IOException("Expected a message of " + expected + " bytes but received " + actual + " bytes.");
+        }
     }
 
     /**
@@ -618,6 +998,36 @@ private static byte[] readMessageBytes(final DataInputStream inputStream) throws
         return bytes;
     }
 
+    /**
+     * Response of a command that sends its payload either encoded by {@link InlineKeyValues} or serialized as table by
+     * the serialization library, depending on its size.
+     */
+    public static final class InlineResponse {
+
+        private final boolean m_inline;
+
+        private final byte[] m_bytes;
+
+        private InlineResponse(final boolean inline, final byte[] bytes) {
+            m_inline = inline;
+            m_bytes = bytes;
+        }
+
+        /**
+         * @return true if the payload is encoded by {@link InlineKeyValues}, false if it is a serialized table
+         */
+        public boolean isInline() {
+            return m_inline;
+        }
+
+        /**
+         * @return the payload
+         */
+        public byte[] getBytes() {
+            return m_bytes;
+        }
+    }
+
     /**
      * Commands-based implementation of {@link Messages}.
      */
@@ -690,9 +1100,10 @@ public synchronized void answer(final JavaToPythonResponse response) throws IOEx
         }
 
         private PythonToJavaMessage readMessage() throws IOException {
-            byte[] bytes = readMessageBytes(m_commands.m_bufferedInFromServer);
+            byte[] bytes = m_commands.readBytes();
             String str = new String(bytes, StandardCharsets.UTF_8);
-            String[] reqCmdVal = str.split(":");
+            // the value may contain colons, e.g. in SQL queries
+            String[] reqCmdVal = str.split(":", 3);
             return new PythonToJavaMessage(reqCmdVal[1], reqCmdVal[2], reqCmdVal[0].equals("r"));
         }
 
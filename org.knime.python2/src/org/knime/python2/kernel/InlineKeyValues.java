@@ -0,0 +1,176 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.kernel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Compact encoding of small key/value payloads (e.g. flow variables) that are sent inline on the command socket
+ * instead of going through the serialization library. The counterparts on the python side are
+ * <code>key_values_to_bytes</code> and <code>bytes_to_key_values</code> in PythonKernel.py.
+ *
+ * The encoding is big endian: the number of entries, followed by each entry's UTF-8 key (length prefixed), a one
+ * byte type code and the value.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class InlineKeyValues {
+
+    /** Marks a response holding inline key/values. */
+    static final byte INLINE = 0;
+
+    /** Marks a response holding a table serialized by the serialization library. */
+    static final byte SERIALIZED = 1;
+
+    private static final byte INTEGER = 'i';
+
+    private static final byte LONG = 'l';
+
+    private static final byte DOUBLE = 'd';
+
+    private static final byte STRING = 's';
+
+    private static final byte BYTES = 'b';
+
+    private InlineKeyValues() {
+        // utility class
+    }
+
+    /**
+     * @param keyValues the key/values to encode, values have to be {@link Integer}, {@link Long}, {@link Double},
+     *            {@link String} or byte[]
+     * @return the encoded key/values
+     * @throws IOException if a value has an unsupported type
+     */
+    static byte[] encode(final Map<String, Object> keyValues) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(keyValues.size());
+        for (final Entry<String, Object> entry : keyValues.entrySet()) {
+            writeBytes(out, entry.getKey().getBytes(StandardCharsets.UTF_8));
+            final Object value = entry.getValue();
+            if (value instanceof Integer) {
+                out.writeByte(INTEGER);
+                out.writeInt((Integer)value);
+            } else if (value instanceof Long) {
+                out.writeByte(LONG);
+                out.writeLong((Long)value);
+            } else if (value instanceof Double) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double)value);
+            } else if (value instanceof String) {
+                out.writeByte(STRING);
+                writeBytes(out, ((String)value).getBytes(StandardCharsets.UTF_8));
+            } else if (value instanceof byte[]) {
+                out.writeByte(BYTES);
+                writeBytes(out, (byte[])value);
+            } else {
+                throw new IOException("Value of " + entry.getKey() + " can not be sent inline.");
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param bytes the buffer holding the encoded key/values
+     * @param offset the position of the encoded key/values in the buffer
+     * @return the decoded key/values in their original order
+     * @throws IOException if the bytes are not a valid encoding
+     */
+    static Map<String, Object> decode(final byte[] bytes, final int offset) throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, offset, bytes.length - offset));
+        final int size = in.readInt();
+        final Map<String, Object> keyValues = new LinkedHashMap<String, Object>(size * 2);
+        for (int i = 0; i < size; i++) {
+            final String key = new String(readBytes(in), StandardCharsets.UTF_8);
+            final byte type = in.readByte();
+            switch (type) {
+                case INTEGER:
+                    keyValues.put(key, in.readInt());
+                    break;
+                case LONG:
+                    keyValues.put(key, in.readLong());
+                    break;
+                case DOUBLE:
+                    keyValues.put(key, in.readDouble());
+                    break;
+                case STRING:
+                    keyValues.put(key, new String(readBytes(in), StandardCharsets.UTF_8));
+                    break;
+                case BYTES:
+                    keyValues.put(key, readBytes(in));
+                    break;
+                default:
+                    throw new IOException("Unknown inline value type " + (char)type + " of " + key + ".");
+            }
+        }
+        return keyValues;
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+}
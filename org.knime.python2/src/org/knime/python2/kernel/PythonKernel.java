@@ -48,19 +48,24 @@
 package org.knime.python2.kernel;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.StringReader;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -72,13 +77,9 @@
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
-import javax.imageio.ImageIO;
-
-import org.apache.batik.dom.svg.SAXSVGDocumentFactory;
-import org.apache.batik.transcoder.TranscoderException;
-import org.apache.batik.util.XMLResourceDescriptor;
 import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -100,7 +101,9 @@
 import org.knime.python2.PythonKernelTester.PythonKernelTestResult;
 import org.knime.python2.PythonPreferencePage;
 import org.knime.python2.extensions.serializationlibrary.SentinelOption;
+import org.knime.python2.extensions.serializationlibrary.SerializationException;
 import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtensions;
+import org.knime.python2.extensions.serializationlibrary.SerializationLibrarySelector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
 import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibrary;
@@ -115,13 +118,17 @@
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.KeyValueTableCreator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.KeyValueTableIterator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.ParallelBufferedDataTableCreator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.PreparedStatementTableCreator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.ResultSetChunkReader;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.RowImpl;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.TableSpecImpl;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.TemporaryTableCreator;
 import org.knime.python2.generic.ImageContainer;
 import org.knime.python2.generic.ScriptingNodeUtils;
+import org.knime.python2.kernel.Commands.InlineResponse;
+import org.knime.python2.kernel.PythonKernelMetrics.Phase;
 import org.knime.python2.port.PickledObject;
-import org.w3c.dom.svg.SVGDocument;
 
 /**
  * Provides operations on a python kernel running in another process.
@@ -136,6 +143,32 @@ public class PythonKernel implements AutoCloseable {
 
     private static final AtomicInteger THREAD_UNIQUE_ID = new AtomicInteger();
 
+    /**
+     * The maximum size in bytes of flow variables and objects that are sent inline on the command socket instead of
+     * going through the serialization library. May be overridden using the VM option
+     * -Dknime.python.inline.threshold=&lt;bytes&gt;.
+     */
+    private static final int INLINE_THRESHOLD = Integer.getInteger("knime.python.inline.threshold", 64 * 1024);
+
+    /**
+     * Prefix of the marker lines python writes to stdout and stderr at the end of an execution. Once both pipe readers
+     * have seen the marker of an execution, all of its output has been distributed to the listeners.
+     */
+    private static final String OUTPUT_MARKER_PREFIX = "\u0001knime-python-output-end-";
+
+    /**
+     * The maximum time in milliseconds to wait for the output of an execution to be read from the pipes.
+     */
+    private static final long OUTPUT_MARKER_TIMEOUT = 2000;
+
+    private final AtomicLong m_outputMarkers = new AtomicLong();
+
+    private final Object m_outputMarkerLock = new Object();
+
+    private String m_stdoutMarker;
+
+    private String m_stderrMarker;
+
     private final Process m_process;
 
     private final ServerSocket m_serverSocket;
@@ -153,10 +186,14 @@ public class PythonKernel implements AutoCloseable {
      */
     protected final Commands m_commands;
 
-    private final SerializationLibrary m_serializer;
+    private SerializationLibrary m_serializer;
+
+    private String m_serializerId;
 
     private final SerializationLibraryExtensions m_serializationLibraryExtensions;
 
+    private final SerializationLibrarySelector m_serializerSelector;
+
     private final PythonKernelOptions m_kernelOptions;
 
     private final List<PythonOutputListener> m_stdoutListeners;
@@ -175,6 +212,16 @@ public class PythonKernel implements AutoCloseable {
 
     private Future<PythonKernelException> m_pythonKernelMonitorResult;
 
+    private final List<PythonToJavaMessageHandler> m_sqlHandlers = new ArrayList<>();
+
+    private volatile AutoCompleteChannel m_autoCompleteChannel;
+
+    private boolean m_autoCompleteChannelFailed = false;
+
+    private final Object m_autoCompleteLock = new Object();
+
+    private final PythonKernelMetrics m_metrics = new PythonKernelMetrics();
+
     /**
      * Creates a python kernel by starting a python process and connecting to it.
      *
@@ -186,6 +233,7 @@ public class PythonKernel implements AutoCloseable {
      * @throws IOException If an error occurred while communicating with the python kernel
      */
     public PythonKernel(final PythonKernelOptions kernelOptions) throws IOException {
+        final long startNanos = System.nanoTime();
         m_kernelOptions = kernelOptions;
         m_stdoutListeners = new ArrayList<PythonOutputListener>();
         m_stderrListeners = new ArrayList<PythonOutputListener>();
@@ -193,6 +241,7 @@ public PythonKernel(final PythonKernelOptions kernelOptions) throws IOException
         final PythonKernelTestResult testResult = m_kernelOptions.getUsePython3()
             ? PythonKernelTester.testPython3Installation(kernelOptions.getAdditionalRequiredModules(), false)
             : PythonKernelTester.testPython2Installation(kernelOptions.getAdditionalRequiredModules(), false);
+        m_metrics.record(Phase.INSTALLATION_TEST, startNanos);
 
         if (testResult.hasError()) {
             throw new IOException("Could not start python kernel:\nError during python installation test: "
@@ -201,6 +250,14 @@ public PythonKernel(final PythonKernelOptions kernelOptions) throws IOException
         // Create serialization library instance
         m_serializationLibraryExtensions = new SerializationLibraryExtensions();
         String serializerId = getSerializerId();
+        if (SerializationLibrarySelector.isAuto(serializerId)) {
+            // Start with any library, the actual one is selected per table transfer
+            m_serializerSelector = new SerializationLibrarySelector(m_serializationLibraryExtensions);
+            serializerId = m_serializerSelector.getCandidateIds().isEmpty() ? null
+                : m_serializerSelector.getCandidateIds().get(0);
+        } else {
+            m_serializerSelector = null;
+        }
         String serializerName = SerializationLibraryExtensions.getNameForId(serializerId);
         if(serializerName == null) {
             String msg;
@@ -213,10 +270,11 @@ public PythonKernel(final PythonKernelOptions kernelOptions) throws IOException
             }
             throw new IllegalStateException(msg);
         }
-        LOGGER.debug("Using serialization library: " + serializerName);
+        LOGGER.debug("Using serialization library: " + serializerName
+            + (m_serializerSelector != null ? " (selected automatically per table)" : ""));
+        m_serializerId = serializerId;
         m_serializer = m_serializationLibraryExtensions.getSerializationLibrary(serializerId);
-        final String serializerPythonPath =
-            SerializationLibraryExtensions.getSerializationLibraryPath(getSerializerId());
+        final String serializerPythonPath = SerializationLibraryExtensions.getSerializationLibraryPath(serializerId);
         // Create socket to listen on
         m_serverSocket = new ServerSocket(0);
         final int port = m_serverSocket.getLocalPort();
@@ -354,7 +412,9 @@ public void messageReceived(final String msg) {
             throw new IOException("Could not start python kernel. Cause: " + exception.get().getMessage(),
                 exception.get());
         }
-        m_commands = new Commands(m_socket.getOutputStream(), m_socket.getInputStream());
+        // Commands are small request/response frames, do not let Nagle's algorithm delay them
+        m_socket.setTcpNoDelay(true);
+        m_commands = new Commands(m_socket.getOutputStream(), m_socket.getInputStream(), m_metrics);
         Messages messages = m_commands.getMessages();
 
         messages.registerMessageHandler(new AbstractPythonToJavaMessageHandler("serializer_request") {
@@ -404,6 +464,10 @@ protected void handle(final PythonToJavaMessage msg) throws Exception {
         if(!pythonpath.isEmpty()) {
             m_commands.addToPythonPath(pythonpath);
         }
+        m_commands.setOutputCapacity(m_kernelOptions.getOutputCapacity());
+        if (m_kernelOptions.getProfileExecution()) {
+            m_commands.setProfiling(PythonKernelOptions.PROFILE_LINES);
+        }
         //Add sentinel constants
         if (m_kernelOptions.getSentinelOption() == SentinelOption.MAX_VAL) {
             m_commands.execute("INT_SENTINEL = 2**31 - 1; LONG_SENTINEL = 2**63 - 1");
@@ -413,6 +477,8 @@ protected void handle(final PythonToJavaMessage msg) throws Exception {
             m_commands.execute("INT_SENTINEL = " + m_kernelOptions.getSentinelValue() + "; LONG_SENTINEL = "
                 + m_kernelOptions.getSentinelValue());
         }
+        m_metrics.record(Phase.KERNEL_START, startNanos);
+        PythonKernelMetrics.register(m_metrics, getMetricsName());
     }
 
     /**
@@ -422,6 +488,17 @@ public Messages getMessages() {
         return m_commands.getMessages();
     }
 
+    /**
+     * @return the timers and byte counters of this kernel
+     */
+    public PythonKernelMetrics getMetrics() {
+        return m_metrics;
+    }
+
+    private String getMetricsName() {
+        return "kernel-" + m_pid + "-" + Integer.toHexString(System.identityHashCode(this));
+    }
+
     /**
      * Execute the given source code.
      *
@@ -434,11 +511,34 @@ public String[] execute(final String sourceCode) throws IOException {
         //If an error occurs it is transferred via the socket and available at position 1 of the returned
         //stringlist
         m_errorPrintListener.setAllWarnings(true);
-        final String[] output = m_commands.execute(sourceCode);
+        final long nanosAtStart = m_metrics.getTotalNanos();
+        final long start = System.nanoTime();
+        final String marker = OUTPUT_MARKER_PREFIX + m_outputMarkers.incrementAndGet();
+        final String[] output;
+        boolean executed = false;
+        try {
+            output = m_commands.execute(sourceCode, marker);
+            executed = true;
+        } finally {
+            if (executed) {
+                awaitOutputMarker(marker);
+            }
+            flushOutputBuffers();
+        }
+        // Transfers requested by the code (e.g. sql_fetch_request) are recorded by their own phases
+        m_metrics.recordExclusive(Phase.EXECUTION, start, nanosAtStart);
         m_errorPrintListener.setAllWarnings(false);
         if (output[0].length() > 0) {
             LOGGER.debug(ScriptingNodeUtils.shortenString(output[0], 1000));
         }
+        if (m_kernelOptions.getProfileExecution()) {
+            final String profile = m_commands.getProfile();
+            if (!profile.isEmpty()) {
+                LOGGER.info("Python profile:\n" + profile);
+                output[0] = output[0].isEmpty() || output[0].endsWith("\n") ? output[0] + profile
+                    : output[0] + "\n" + profile;
+            }
+        }
         return output;
     }
 
@@ -502,10 +602,69 @@ public void run() {
      * @throws IOException If an error occurred while communicating with the python kernel
      */
     public void putFlowVariables(final String name, final Collection<FlowVariable> flowVariables) throws IOException {
+        final byte[] inlineBytes = InlineKeyValues.encode(flowVariablesToKeyValues(flowVariables));
+        if (inlineBytes.length <= INLINE_THRESHOLD) {
+            m_commands.putFlowVariablesInline(name, inlineBytes);
+            return;
+        }
         final byte[] bytes = flowVariablesToBytes(flowVariables);
         m_commands.putFlowVariables(name, bytes);
     }
 
+    /**
+     * Convert a collection of flow variables to key/values for {@link InlineKeyValues}, using the same types as
+     * {@link #flowVariablesToBytes(Collection)}.
+     *
+     * @param flowVariables the flow variables
+     * @return the flow variables' names mapped to their values
+     */
+    private static Map<String, Object> flowVariablesToKeyValues(final Collection<FlowVariable> flowVariables) {
+        final Map<String, Object> keyValues = new LinkedHashMap<String, Object>();
+        for (final FlowVariable flowVariable : flowVariables) {
+            switch (flowVariable.getType()) {
+                case INTEGER:
+                    keyValues.put(flowVariable.getName(), flowVariable.getIntValue());
+                    break;
+                case DOUBLE:
+                    keyValues.put(flowVariable.getName(), flowVariable.getDoubleValue());
+                    break;
+                case STRING:
+                    keyValues.put(flowVariable.getName(), String.valueOf(flowVariable.getStringValue()));
+                    break;
+                default:
+                    keyValues.put(flowVariable.getName(), flowVariable.getValueAsString());
+                    break;
+            }
+        }
+        return keyValues;
+    }
+
+    /**
+     * Convert key/values decoded by {@link InlineKeyValues} to flow variables, skipping the same types and names as
+     * {@link #bytesToFlowVariables(byte[])}.
+     *
+     * @param keyValues the flow variables' names mapped to their values
+     * @return a collection of {@link FlowVariable}s
+     */
+    private Collection<FlowVariable> keyValuesToFlowVariables(final Map<String, Object> keyValues) {
+        //Use LinkedHashSet for preserving insertion order
+        final Set<FlowVariable> flowVariables = new LinkedHashSet<FlowVariable>();
+        for (final Map.Entry<String, Object> entry : keyValues.entrySet()) {
+            if (!isValidFlowVariableName(entry.getKey())) {
+                continue;
+            }
+            final Object value = entry.getValue();
+            if (value instanceof Integer) {
+                flowVariables.add(new FlowVariable(entry.getKey(), (Integer)value));
+            } else if (value instanceof Double) {
+                flowVariables.add(new FlowVariable(entry.getKey(), (Double)value));
+            } else if (value instanceof String) {
+                flowVariables.add(new FlowVariable(entry.getKey(), (String)value));
+            }
+        }
+        return flowVariables;
+    }
+
     /**
      * Serialize a collection of flow variables to a {@link Row}.
      *
@@ -547,7 +706,7 @@ private byte[] flowVariablesToBytes(final Collection<FlowVariable> flowVariables
         }
         final TableSpec spec = new TableSpecImpl(types, columnNames, new HashMap<String, String>());
         final TableIterator tableIterator = new KeyValueTableIterator(spec, row);
-        return m_serializer.tableToBytes(tableIterator, m_kernelOptions.getSerializationOptions());
+        return tableToBytes(tableIterator);
     }
 
     /**
@@ -561,7 +720,7 @@ private byte[] flowVariablesToBytes(final Collection<FlowVariable> flowVariables
     private Collection<FlowVariable> bytesToFlowVariables(final byte[] bytes) throws IOException {
         final TableSpec spec = m_serializer.tableSpecFromBytes(bytes);
         final KeyValueTableCreator tableCreator = new KeyValueTableCreator(spec);
-        m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions());
+        bytesIntoTable(tableCreator, bytes);
         //Use LinkedHashSet for preserving insertion order
         final Set<FlowVariable> flowVariables = new LinkedHashSet<FlowVariable>();
         if (tableCreator.getTable() == null) {
@@ -593,6 +752,35 @@ private Collection<FlowVariable> bytesToFlowVariables(final byte[] bytes) throws
         return flowVariables;
     }
 
+    /**
+     * Serializes the given table using the current serialization library and records the time taken.
+     *
+     * @param tableIterator the table to serialize
+     * @return the serialized table
+     * @throws SerializationException If the table could not be serialized
+     */
+    private byte[] tableToBytes(final TableIterator tableIterator) throws SerializationException {
+        final long start = System.nanoTime();
+        final byte[] bytes = m_serializer.tableToBytes(tableIterator, m_kernelOptions.getSerializationOptions());
+        m_metrics.record(Phase.SERIALIZATION, start);
+        return bytes;
+    }
+
+    /**
+     * Deserializes the given bytes into the given table creator using the current serialization library and records
+     * the time taken.
+     *
+     * @param tableCreator the table creator receiving the rows
+     * @param bytes the serialized table
+     * @throws SerializationException If the table could not be deserialized
+     */
+    private void bytesIntoTable(final TableCreator<?> tableCreator, final byte[] bytes)
+        throws SerializationException {
+        final long start = System.nanoTime();
+        m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions());
+        m_metrics.record(Phase.DESERIALIZATION, start);
+    }
+
     /**
      * Returns the list of defined flow variables
      *
@@ -602,9 +790,11 @@ private Collection<FlowVariable> bytesToFlowVariables(final byte[] bytes) throws
      */
     public Collection<FlowVariable> getFlowVariables(final String name) throws IOException {
         try {
-            final byte[] bytes = m_commands.getFlowVariables(name);
-            final Collection<FlowVariable> flowVariables = bytesToFlowVariables(bytes);
-            return flowVariables;
+            final InlineResponse response = m_commands.getFlowVariablesInline(name, INLINE_THRESHOLD);
+            if (response.isInline()) {
+                return keyValuesToFlowVariables(InlineKeyValues.decode(response.getBytes(), 0));
+            }
+            return bytesToFlowVariables(response.getBytes());
         } catch(EOFException ex) {
             throw getMostSpecificPythonKernelException(ex);
         }
@@ -637,31 +827,29 @@ private boolean isValidFlowVariableName(final String name) {
      * @throws IOException If an error occurred while communicating with the python kernel
      */
     public void putDataTable(final String name, final BufferedDataTable table, final ExecutionMonitor executionMonitor,
-        final int rowLimit) throws IOException {
+        final long rowLimit) throws IOException {
         if (table == null) {
             throw new IOException("Table " + name + " is not available.");
         }
         final ExecutionMonitor serializationMonitor = executionMonitor.createSubProgress(0.5);
         final ExecutionMonitor deserializationMonitor = executionMonitor.createSubProgress(0.5);
         final CloseableRowIterator iterator = table.iterator();
-        if (table.size() > Integer.MAX_VALUE) {
-            throw new IOException("Number of rows exceeds maximum of " + Integer.MAX_VALUE + " rows for input table!");
-        }
-        final int rowCount = (int)table.size();
-        final int numberRows = Math.min(rowLimit, rowCount);
-        int numberChunks = (int)Math.ceil(numberRows / (double)m_kernelOptions.getChunkSize());
+        final long rowCount = table.size();
+        final long numberRows = Math.min(rowLimit, rowCount);
+        long numberChunks = (long)Math.ceil(numberRows / (double)m_kernelOptions.getChunkSize());
         if (numberChunks == 0) {
             numberChunks = 1;
         }
-        int rowsDone = 0;
+        long rowsDone = 0;
         final TableChunker tableChunker = new BufferedDataTableChunker(table.getDataTableSpec(), iterator, rowCount);
-        for (int i = 0; i < numberChunks; i++) {
-            final int rowsInThisIteration = Math.min(numberRows - rowsDone, m_kernelOptions.getChunkSize());
+        selectSerializer(tableChunker.getTableSpec(), numberRows);
+        for (long i = 0; i < numberChunks; i++) {
+            final int rowsInThisIteration = (int)Math.min(numberRows - rowsDone, m_kernelOptions.getChunkSize());
             final ExecutionMonitor chunkProgress =
                 serializationMonitor.createSubProgress(rowsInThisIteration / (double)numberRows);
             final TableIterator tableIterator =
                 ((BufferedDataTableChunker)tableChunker).nextChunk(rowsInThisIteration, chunkProgress);
-            final byte[] bytes = m_serializer.tableToBytes(tableIterator, m_kernelOptions.getSerializationOptions());
+            final byte[] bytes = tableToBytes(tableIterator);
             chunkProgress.setProgress(1);
             rowsDone += rowsInThisIteration;
             serializationMonitor.setProgress(rowsDone / (double)numberRows);
@@ -692,10 +880,73 @@ public void putDataTable(final String name, final BufferedDataTable table, final
      */
     public void putDataTable(final String name, final BufferedDataTable table, final ExecutionMonitor executionMonitor)
         throws IOException {
-        if (table.size() > Integer.MAX_VALUE) {
-            throw new IOException("Number of rows exceeds maximum of " + Integer.MAX_VALUE + " rows for input table!");
+        putDataTable(name, table, executionMonitor, table.size());
+    }
+
+    /**
+     * Stage the rows of the given {@link BufferedDataTable} starting at the given offset for a table that has already
+     * been put into the workspace (e.g. the head of the same table put via
+     * {@link #putDataTable(String, BufferedDataTable, ExecutionMonitor, long)}). Staged rows are kept apart from the
+     * table, so that user code cannot see or modify them, until {@link #unstageDataTable(String, boolean)} is called.
+     *
+     * @param name The name of the table in the workspace
+     * @param table The table
+     * @param executionMonitor The monitor that will be updated about progress
+     * @param fromRow The number of leading rows that are already available in the workspace
+     * @param rowLimit The total amount of rows that should be available after merging the staged rows
+     * @param beforeChunk Called before each chunk is transfered, blocking in it pauses the transfer
+     * @throws IOException If an error occurred while communicating with the python kernel
+     */
+    public void stageDataTable(final String name, final BufferedDataTable table,
+        final ExecutionMonitor executionMonitor, final long fromRow, final long rowLimit, final Runnable beforeChunk)
+        throws IOException {
+        if (table == null) {
+            throw new IOException("Table " + name + " is not available.");
+        }
+        final long numberRows = Math.min(rowLimit, table.size()) - fromRow;
+        if (numberRows <= 0) {
+            return;
+        }
+        final CloseableRowIterator iterator = table.iterator();
+        try {
+            for (long i = 0; i < fromRow; i++) {
+                iterator.next();
+            }
+            final BufferedDataTableChunker tableChunker =
+                new BufferedDataTableChunker(table.getDataTableSpec(), iterator, numberRows);
+            long rowsDone = 0;
+            while (rowsDone < numberRows) {
+                beforeChunk.run();
+                executionMonitor.checkCanceled();
+                final int rowsInThisIteration = (int)Math.min(numberRows - rowsDone, m_kernelOptions.getChunkSize());
+                final TableIterator tableIterator =
+                    tableChunker.nextChunk(rowsInThisIteration, new ExecutionMonitor());
+                final byte[] bytes =
+                    tableToBytes(tableIterator);
+                m_commands.stageTable(name, bytes);
+                rowsDone += rowsInThisIteration;
+                executionMonitor.setProgress(rowsDone / (double)numberRows);
+            }
+        } catch (final CanceledExecutionException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            iterator.close();
         }
-        putDataTable(name, table, executionMonitor, (int)table.size());
+    }
+
+    /**
+     * Discard the rows staged via
+     * {@link #stageDataTable(String, BufferedDataTable, ExecutionMonitor, long, long, Runnable)} for the table with
+     * the given name. If requested, the rows are appended to the table first, unless the workspace variable is no
+     * longer the table that has been put (e.g. because user code reassigned it).
+     *
+     * @param name The name of the table in the workspace
+     * @param merge true if the staged rows should be appended to the table before they are discarded
+     * @return true if the staged rows have been appended to the table
+     * @throws IOException If an error occurred while communicating with the python kernel
+     */
+    public boolean unstageDataTable(final String name, final boolean merge) throws IOException {
+        return m_commands.unstageTable(name, merge);
     }
 
     /**
@@ -705,20 +956,21 @@ public void putDataTable(final String name, final BufferedDataTable table, final
      *
      * @param name The name of the table
      * @param tableChunker A {@link TableChunker}
-     * @param rowsPerChunk The number of rows to send per chunk
+     * @param rowLimit The maximum number of rows to send
      * @throws IOException If an error occurred while communicating with the python kernel
      */
-    public void putData(final String name, final TableChunker tableChunker, final int rowsPerChunk) throws IOException {
-        final int numberRows = Math.min(rowsPerChunk, tableChunker.getNumberRemainingRows());
-        int numberChunks = (int)Math.ceil(numberRows / (double)m_kernelOptions.getChunkSize());
+    public void putData(final String name, final TableChunker tableChunker, final long rowLimit) throws IOException {
+        final long numberRows = Math.min(rowLimit, tableChunker.getNumberRemainingRows());
+        selectSerializer(tableChunker.getTableSpec(), numberRows);
+        long numberChunks = (long)Math.ceil(numberRows / (double)m_kernelOptions.getChunkSize());
         if (numberChunks == 0) {
             numberChunks = 1;
         }
-        int rowsDone = 0;
-        for (int i = 0; i < numberChunks; i++) {
-            final int rowsInThisIteration = Math.min(numberRows - rowsDone, m_kernelOptions.getChunkSize());
+        long rowsDone = 0;
+        for (long i = 0; i < numberChunks; i++) {
+            final int rowsInThisIteration = (int)Math.min(numberRows - rowsDone, m_kernelOptions.getChunkSize());
             final TableIterator tableIterator = tableChunker.nextChunk(rowsInThisIteration);
-            final byte[] bytes = m_serializer.tableToBytes(tableIterator, m_kernelOptions.getSerializationOptions());
+            final byte[] bytes = tableToBytes(tableIterator);
             rowsDone += rowsInThisIteration;
             if (i == 0) {
                 m_commands.putTable(name, bytes);
@@ -744,24 +996,31 @@ public BufferedDataTable getDataTable(final String name, final ExecutionContext
         final ExecutionMonitor deserializationMonitor = executionMonitor.createSubProgress(0.5);
         ProcessEndAction pea = m_segfaultDuringSerializationAction;
         m_errorPrintListener.resetErrorLoggedFlag();
+        TableCreator<BufferedDataTable> tableCreator = null;
         try {
             addProcessEndAction(pea);
-            final int tableSize = m_commands.getTableSize(name);
-            int numberChunks = (int)Math.ceil(tableSize / (double)m_kernelOptions.getChunkSize());
+            final long tableSize = m_commands.getTableSize(name);
+            selectSerializer(name, tableSize);
+            long numberChunks = (long)Math.ceil(tableSize / (double)m_kernelOptions.getChunkSize());
             if (numberChunks == 0) {
                 numberChunks = 1;
             }
-            BufferedDataTableCreator tableCreator = null;
-            for (int i = 0; i < numberChunks; i++) {
-                final int start = m_kernelOptions.getChunkSize() * i;
-                final int end = Math.min(tableSize, (start + m_kernelOptions.getChunkSize()) - 1);
+            final int threads = m_kernelOptions.getSerializationOptions().getSerializationThreads();
+            for (long i = 0; i < numberChunks; i++) {
+                final long start = m_kernelOptions.getChunkSize() * i;
+                final long end = Math.min(tableSize, (start + m_kernelOptions.getChunkSize()) - 1);
                 final byte[] bytes = m_commands.getTableChunk(name, start, end);
                 serializationMonitor.setProgress((end + 1) / (double)tableSize);
                 if (tableCreator == null) {
                     final TableSpec spec = m_serializer.tableSpecFromBytes(bytes);
-                    tableCreator = new BufferedDataTableCreator(spec, exec, deserializationMonitor, tableSize);
+                    if (ParallelBufferedDataTableCreator.isWorthwhile(tableSize, threads)) {
+                        tableCreator = new ParallelBufferedDataTableCreator(spec, exec, deserializationMonitor,
+                            tableSize, threads);
+                    } else {
+                        tableCreator = new BufferedDataTableCreator(spec, exec, deserializationMonitor, tableSize);
+                    }
                 }
-                m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions());
+                bytesIntoTable(tableCreator, bytes);
                 deserializationMonitor.setProgress((end + 1) / (double)tableSize);
             }
             if (tableCreator != null) {
@@ -772,6 +1031,11 @@ public BufferedDataTable getDataTable(final String name, final ExecutionContext
             throw new PythonKernelException("Invalid serialized table received.");
         } catch (final EOFException ex) {
             throw getMostSpecificPythonKernelException(ex);
+        } finally {
+            if (tableCreator instanceof ParallelBufferedDataTableCreator) {
+                // Stops the worker threads if the transfer failed, does nothing after a successful getTable()
+                ((ParallelBufferedDataTableCreator)tableCreator).close();
+            }
         }
     }
 
@@ -786,21 +1050,22 @@ public BufferedDataTable getDataTable(final String name, final ExecutionContext
     public TableCreator<?> getData(final String name, final TableCreatorFactory tcf) throws IOException {
         ProcessEndAction pea = m_segfaultDuringSerializationAction;
         try {
-            final int tableSize = m_commands.getTableSize(name);
-            int numberChunks = (int)Math.ceil(tableSize / (double)m_kernelOptions.getChunkSize());
+            final long tableSize = m_commands.getTableSize(name);
+            selectSerializer(name, tableSize);
+            long numberChunks = (long)Math.ceil(tableSize / (double)m_kernelOptions.getChunkSize());
             if (numberChunks == 0) {
                 numberChunks = 1;
             }
             TableCreator<?> tableCreator = null;
-            for (int i = 0; i < numberChunks; i++) {
-                final int start = m_kernelOptions.getChunkSize() * i;
-                final int end = Math.min(tableSize, (start + m_kernelOptions.getChunkSize()) - 1);
+            for (long i = 0; i < numberChunks; i++) {
+                final long start = m_kernelOptions.getChunkSize() * i;
+                final long end = Math.min(tableSize, (start + m_kernelOptions.getChunkSize()) - 1);
                 final byte[] bytes = m_commands.getTableChunk(name, start, end);
                 if (tableCreator == null) {
                     final TableSpec spec = m_serializer.tableSpecFromBytes(bytes);
                     tableCreator = tcf.createTableCreator(spec, tableSize);
                 }
-                m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions());
+                bytesIntoTable(tableCreator, bytes);
             }
             removeProcessEndAction(pea);
             return tableCreator;
@@ -819,41 +1084,25 @@ public TableCreator<?> getData(final String name, final TableCreatorFactory tcf)
      * @throws IOException If an error occurred while communicating with the python kernel
      */
     public ImageContainer getImage(final String name) throws IOException {
-        try {
-            final byte[] bytes = m_commands.getImage(name);
-            final String string = new String(bytes, "UTF-8");
-            if (string.startsWith("<?xml")) {
-                try {
-                    return new ImageContainer(stringToSVG(string));
-                } catch (final TranscoderException e) {
-                    throw new IOException(e.getMessage(), e);
-                }
-            } else {
-                return new ImageContainer(ImageIO.read(new ByteArrayInputStream(bytes)));
-            }
-        } catch (final EOFException ex) {
-            throw getMostSpecificPythonKernelException(ex);
-        }
+        return ImageContainer.fromBytes(getImageBytes(name));
     }
 
     /**
-     * Convert a string containing the XML content of a svg image to a {@link SVGDocument}.
+     * Get the undecoded bytes of an image from the workspace. Use {@link ImageContainer#isSvg(byte[])} and
+     * {@link ImageContainer#isPng(byte[])} to determine the format without decoding the image.
+     *
+     * The variable on the python site has to hold a byte string representing an image.
      *
-     * @param svgString a string containing the XML content of a svg image
-     * @return a {@link SVGDocument}
-     * @throws IOException if the svg file cannot be created or written
+     * @param name The name of the image
+     * @return the bytes of the image as put into the variable in python
+     * @throws IOException If an error occurred while communicating with the python kernel
      */
-    private SVGDocument stringToSVG(final String svgString) throws IOException {
-        SVGDocument doc = null;
-        final StringReader reader = new StringReader(svgString);
+    public byte[] getImageBytes(final String name) throws IOException {
         try {
-            final String parser = XMLResourceDescriptor.getXMLParserClassName();
-            final SAXSVGDocumentFactory f = new SAXSVGDocumentFactory(parser);
-            doc = f.createSVGDocument("file:/file.svg", reader);
-        } finally {
-            reader.close();
+            return m_commands.getImage(name);
+        } catch (final EOFException ex) {
+            throw getMostSpecificPythonKernelException(ex);
         }
-        return doc;
     }
 
     /**
@@ -867,10 +1116,16 @@ private SVGDocument stringToSVG(final String svgString) throws IOException {
      */
     public PickledObject getObject(final String name, final ExecutionContext exec) throws IOException {
         try {
-            final byte[] bytes = m_commands.getObject(name);
+            final InlineResponse response = m_commands.getObjectInline(name, INLINE_THRESHOLD);
+            if (response.isInline()) {
+                final Map<String, Object> object = InlineKeyValues.decode(response.getBytes(), 0);
+                return new PickledObject((byte[])object.get("bytes"), (String)object.get("type"),
+                    (String)object.get("representation"));
+            }
+            final byte[] bytes = response.getBytes();
             final TableSpec spec = m_serializer.tableSpecFromBytes(bytes);
             final KeyValueTableCreator tableCreator = new KeyValueTableCreator(spec);
-            m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions());
+            bytesIntoTable(tableCreator, bytes);
             final Row row = tableCreator.getTable();
             final int bytesIndex = spec.findColumn("bytes");
             final int typeIndex = spec.findColumn("type");
@@ -939,34 +1194,74 @@ public void run() {
     /**
      * Returns the list of all defined variables, functions, classes and loaded modules.
      *
-     * Each variable map contains the fields 'name', 'type' and 'value'.
+     * Each variable map contains the fields 'name', 'type', 'size', 'value' and 'lazy'. The value of variables whose
+     * 'lazy' field is "1" is not computed yet, it can be retrieved using {@link #getVariablePreviews(Collection)}.
      *
      * @return List of variables currently defined in the workspace
      * @throws IOException If an error occurred while communicating with the python kernel
      */
     public List<Map<String, String>> listVariables() throws IOException {
         try {
-            final byte[] bytes = m_commands.listVariables();
-            final TableSpec spec = m_serializer.tableSpecFromBytes(bytes);
-            final TemporaryTableCreator tableCreator = new TemporaryTableCreator(spec);
-            m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions());
-            final int nameIndex = spec.findColumn("name");
-            final int typeIndex = spec.findColumn("type");
-            final int valueIndex = spec.findColumn("value");
-            final List<Map<String, String>> variables = new ArrayList<Map<String, String>>();
-            for (final Row variable : tableCreator.getTable()) {
-                final Map<String, String> map = new HashMap<String, String>();
-                map.put("name", variable.getCell(nameIndex).getStringValue());
-                map.put("type", variable.getCell(typeIndex).getStringValue());
-                map.put("value", variable.getCell(valueIndex).getStringValue());
-                variables.add(map);
+            return variablesFromBytes(m_commands.listVariables());
+        } catch (final EOFException ex) {
+            throw getMostSpecificPythonKernelException(ex);
+        }
+    }
+
+    /**
+     * Returns the list of variables, functions, classes and loaded modules that changed since the last listing.
+     *
+     * Each variable map contains the same fields as the ones returned by {@link #listVariables()} and the additional
+     * field 'removed', which is "1" if the variable has been removed from the workspace.
+     *
+     * @return List of variables changed in the workspace
+     * @throws IOException If an error occurred while communicating with the python kernel
+     */
+    public List<Map<String, String>> listChangedVariables() throws IOException {
+        try {
+            return variablesFromBytes(m_commands.listChangedVariables());
+        } catch (final EOFException ex) {
+            throw getMostSpecificPythonKernelException(ex);
+        }
+    }
+
+    /**
+     * Returns the values of the given variables as truncated strings.
+     *
+     * @param names the names of the variables
+     * @return the values by variable name, variables not defined in the workspace are missing
+     * @throws IOException If an error occurred while communicating with the python kernel
+     */
+    public Map<String, String> getVariablePreviews(final Collection<String> names) throws IOException {
+        try {
+            final Map<String, String> previews = new HashMap<String, String>();
+            for (final Map<String, String> preview : variablesFromBytes(
+                m_commands.getVariablePreviews(String.join("\n", names)))) {
+                previews.put(preview.get("name"), preview.get("value"));
             }
-            return variables;
+            return previews;
         } catch (final EOFException ex) {
             throw getMostSpecificPythonKernelException(ex);
         }
     }
 
+    private List<Map<String, String>> variablesFromBytes(final byte[] bytes) throws IOException {
+        final TableSpec spec = m_serializer.tableSpecFromBytes(bytes);
+        final TemporaryTableCreator tableCreator = new TemporaryTableCreator(spec);
+        bytesIntoTable(tableCreator, bytes);
+        final String[] columnNames = spec.getColumnNames();
+        final List<Map<String, String>> variables = new ArrayList<Map<String, String>>();
+        for (final Row variable : tableCreator.getTable()) {
+            final Map<String, String> map = new HashMap<String, String>();
+            for (int i = 0; i < columnNames.length; i++) {
+                final Cell cell = variable.getCell(i);
+                map.put(columnNames[i], cell.isMissing() ? "" : cell.getStringValue());
+            }
+            variables.add(map);
+        }
+        return variables;
+    }
+
     /**
      * Resets the workspace of the python kernel.
      *
@@ -976,6 +1271,29 @@ public void resetWorkspace() throws IOException {
         m_commands.reset();
     }
 
+    /**
+     * Start or stop recording copies of the variables put into the workspace, which can later be restored by
+     * {@link #restoreInputSnapshot()}. Starting discards previously recorded copies. Note that the copies take as much
+     * memory as the recorded variables themselves.
+     *
+     * @param record true to start recording, false to stop
+     * @throws IOException If an error occurred while communicating with the python kernel
+     */
+    public void recordInputSnapshot(final boolean record) throws IOException {
+        m_commands.recordInputSnapshot(record);
+    }
+
+    /**
+     * Replace the workspace by copies of the recorded input variables. This is a cheap alternative to restarting the
+     * kernel and putting all inputs again.
+     *
+     * @return true if the workspace has been restored, false if no input variables have been recorded
+     * @throws IOException If an error occurred while communicating with the python kernel
+     */
+    public boolean restoreInputSnapshot() throws IOException {
+        return m_commands.restoreInputSnapshot();
+    }
+
     /**
      * Returns the list of possible auto completions to the given source at the given position.
      *
@@ -991,10 +1309,21 @@ public List<Map<String, String>> autoComplete(final String sourceCode, final int
         throws IOException {
         final List<Map<String, String>> suggestions = new ArrayList<Map<String, String>>();
         if (m_hasAutocomplete) {
+            final AutoCompleteChannel channel = getAutoCompleteChannel();
+            if (channel != null) {
+                try {
+                    return channel.complete(sourceCode, line, column).get();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return suggestions;
+                } catch (final ExecutionException ex) {
+                    throw new IOException(ex.getCause().getMessage(), ex.getCause());
+                }
+            }
             final byte[] bytes = m_commands.autoComplete(sourceCode, line, column);
             final TableSpec spec = m_serializer.tableSpecFromBytes(bytes);
             final TemporaryTableCreator tableCreator = new TemporaryTableCreator(spec);
-            m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions());
+            bytesIntoTable(tableCreator, bytes);
             final int nameIndex = spec.findColumn("name");
             final int typeIndex = spec.findColumn("type");
             final int docIndex = spec.findColumn("doc");
@@ -1009,6 +1338,34 @@ public List<Map<String, String>> autoComplete(final String sourceCode, final int
         return suggestions;
     }
 
+    /**
+     * Returns the separate connection used for auto completion, which is established on first use.
+     *
+     * @return the connection or null if it could not be established, in which case the command connection is used, or
+     *         if auto completion is not available
+     */
+    AutoCompleteChannel getAutoCompleteChannel() {
+        synchronized (m_autoCompleteLock) {
+            if ((m_autoCompleteChannel != null) || m_autoCompleteChannelFailed || !m_hasAutocomplete) {
+                return m_autoCompleteChannel;
+            }
+            AutoCompleteChannel channel = null;
+            try {
+                channel = new AutoCompleteChannel();
+                m_commands.startAutoComplete(channel.getPort());
+                channel.accept();
+                m_autoCompleteChannel = channel;
+            } catch (final IOException ex) {
+                LOGGER.debug("Could not open auto completion connection: " + ex.getMessage(), ex);
+                m_autoCompleteChannelFailed = true;
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+            return m_autoCompleteChannel;
+        }
+    }
+
     /**
      * Shuts down the python kernel.
      *
@@ -1018,6 +1375,10 @@ public List<Map<String, String>> autoComplete(final String sourceCode, final int
     public synchronized void close() {
         if (!m_closed) {
             m_closed = true;
+            PythonKernelMetrics.unregister(getMetricsName());
+            if (PythonKernelMetrics.LOG_ON_CLOSE) {
+                LOGGER.info("Python kernel metrics: " + m_metrics.getSummary());
+            }
             new Thread(new Runnable() {
                 @Override
                 public void run() {
@@ -1038,6 +1399,10 @@ public void run() {
                         m_socket.close();
                     } catch (final Throwable t) {
                     }
+                    final AutoCompleteChannel autoCompleteChannel = m_autoCompleteChannel;
+                    if (autoCompleteChannel != null) {
+                        autoCompleteChannel.close();
+                    }
                     try {
                         m_stdoutListeners.clear();
                         m_stderrListeners.clear();
@@ -1106,12 +1471,188 @@ public void putSql(final String name, final DatabaseQueryConnectionSettings conn
         row.setCell(new CellImpl(jars.toArray(new String[jars.size()]), false), 9);
         final TableSpec spec = new TableSpecImpl(types, columnNames, new HashMap<String, String>());
         final TableIterator tableIterator = new KeyValueTableIterator(spec, row);
-        final byte[] bytes = m_serializer.tableToBytes(tableIterator, m_kernelOptions.getSerializationOptions());
+        final byte[] bytes = tableToBytes(tableIterator);
         try {
             m_commands.putSql(name, bytes);
         } catch (final EOFException ex) {
             throw getMostSpecificPythonKernelException(ex);
         }
+        registerSqlHandlers(conn, cp);
+    }
+
+    /**
+     * Lets Python execute SQL statements using the JDBC driver of KNIME, with tables being transferred in chunks using
+     * the serialization library.
+     * <ul>
+     * <li>sql_fetch_request: The value is a query. The response contains the name of the workspace variable holding
+     * the result followed by the names of its date and time columns, separated by line breaks.</li>
+     * <li>sql_write_request: The value contains the name of the workspace variable holding the table to write, the
+     * batch size, the commit interval, the comma separated indices of the date and time columns and the insert
+     * statement, separated by line breaks. The response contains the number of written rows.</li>
+     * </ul>
+     * If a statement fails, the first line of the response is empty and the error message follows.
+     *
+     * @param conn the database connection to use
+     * @param cp a credential provider for username and password
+     */
+    private void registerSqlHandlers(final DatabaseQueryConnectionSettings conn, final CredentialsProvider cp) {
+        final Messages messages = m_commands.getMessages();
+        for (final PythonToJavaMessageHandler handler : m_sqlHandlers) {
+            messages.unregisterMessageHandler(handler);
+        }
+        m_sqlHandlers.clear();
+        m_sqlHandlers.add(new AbstractPythonToJavaMessageHandler("sql_fetch_request") {
+
+            @Override
+            protected void handle(final PythonToJavaMessage msg) throws Exception {
+                final String name = "_sql_fetch_result";
+                String response;
+                try {
+                    response = name;
+                    for (final String column : putSqlResult(name, conn, cp, msg.getValue())) {
+                        response += "\n" + column;
+                    }
+                } catch (final SQLException ex) {
+                    LOGGER.debug(ex.getMessage(), ex);
+                    response = "\n" + ex.getMessage();
+                }
+                messages.answer(new DefaultJavaToPythonResponse(msg, response));
+            }
+        });
+        m_sqlHandlers.add(new AbstractPythonToJavaMessageHandler("sql_write_request") {
+
+            @Override
+            protected void handle(final PythonToJavaMessage msg) throws Exception {
+                final String[] values = msg.getValue().split("\n", 5);
+                final Set<Integer> dateTimeColumns = new HashSet<>();
+                for (final String index : values[3].split(",")) {
+                    if (!index.isEmpty()) {
+                        dateTimeColumns.add(Integer.parseInt(index));
+                    }
+                }
+                String response;
+                try {
+                    response = Long.toString(writeSqlTable(values[0], conn, cp, values[4],
+                        Integer.parseInt(values[1]), Integer.parseInt(values[2]), dateTimeColumns));
+                } catch (final SQLException ex) {
+                    LOGGER.debug(ex.getMessage(), ex);
+                    response = "\n" + ex.getMessage();
+                }
+                messages.answer(new DefaultJavaToPythonResponse(msg, response));
+            }
+        });
+        for (final PythonToJavaMessageHandler handler : m_sqlHandlers) {
+            messages.registerMessageHandler(handler);
+        }
+    }
+
+    private static Connection createSqlConnection(final DatabaseQueryConnectionSettings conn,
+        final CredentialsProvider cp) throws SQLException {
+        try {
+            return conn.createConnection(cp);
+        } catch (final SQLException ex) {
+            throw ex;
+        } catch (final Exception ex) {
+            throw new SQLException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Executes the given query and puts its result into the workspace. The result will be available as a
+     * pandas.DataFrame.
+     *
+     * @param name the name of the variable in the python workspace
+     * @param conn the database connection to use
+     * @param cp a credential provider for username and password
+     * @param query the query to execute
+     * @return the names of the date and time columns, which are transferred as strings
+     * @throws SQLException If the query could not be executed
+     * @throws IOException If an error occurred while communicating with the python kernel
+     */
+    private String[] putSqlResult(final String name, final DatabaseQueryConnectionSettings conn,
+        final CredentialsProvider cp, final String query) throws SQLException, IOException {
+        final Connection connection = createSqlConnection(conn, cp);
+        final int chunkSize = m_kernelOptions.getChunkSize();
+        synchronized (conn.syncConnection(connection)) {
+            try (final Statement statement = connection.createStatement()) {
+                try {
+                    statement.setFetchSize(chunkSize);
+                } catch (final SQLException ex) {
+                    // the fetch size is only a hint that not all drivers support
+                }
+                try (final ResultSet resultSet = statement.executeQuery(query)) {
+                    final ResultSetChunkReader reader = new ResultSetChunkReader(resultSet);
+                    selectSerializer(reader.getTableSpec(), chunkSize);
+                    boolean first = true;
+                    do {
+                        final TableIterator tableIterator = reader.nextChunk(chunkSize);
+                        final byte[] bytes =
+                            tableToBytes(tableIterator);
+                        if (first) {
+                            m_commands.putTable(name, bytes);
+                            first = false;
+                        } else {
+                            m_commands.appendToTable(name, bytes);
+                        }
+                    } while (reader.hasNextChunk());
+                    return reader.getDateTimeColumns();
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts a table of the workspace into a database using batches of the given insert statement.
+     *
+     * @param name the name of the variable in the python workspace
+     * @param conn the database connection to use
+     * @param cp a credential provider for username and password
+     * @param insertStatement the insert statement with one parameter per column of the table
+     * @param batchSize the number of rows inserted with one batch
+     * @param commitInterval the number of rows after which the transaction is committed, 0 for committing once all
+     *            rows are inserted
+     * @param dateTimeColumns the indices of the date and time columns, which are transferred as strings
+     * @return the number of inserted rows
+     * @throws SQLException If the rows could not be inserted, the uncommitted rows are rolled back
+     * @throws IOException If an error occurred while communicating with the python kernel
+     */
+    private long writeSqlTable(final String name, final DatabaseQueryConnectionSettings conn,
+        final CredentialsProvider cp, final String insertStatement, final int batchSize, final int commitInterval,
+        final Set<Integer> dateTimeColumns) throws SQLException, IOException {
+        final Connection connection = createSqlConnection(conn, cp);
+        synchronized (conn.syncConnection(connection)) {
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (final PreparedStatement statement = connection.prepareStatement(insertStatement)) {
+                final long tableSize = m_commands.getTableSize(name);
+                selectSerializer(name, tableSize);
+                long numberChunks = (long)Math.ceil(tableSize / (double)m_kernelOptions.getChunkSize());
+                if (numberChunks == 0) {
+                    numberChunks = 1;
+                }
+                PreparedStatementTableCreator tableCreator = null;
+                for (long i = 0; i < numberChunks; i++) {
+                    final long start = m_kernelOptions.getChunkSize() * i;
+                    final long end = Math.min(tableSize, (start + m_kernelOptions.getChunkSize()) - 1);
+                    final byte[] bytes = m_commands.getTableChunk(name, start, end);
+                    if (tableCreator == null) {
+                        tableCreator = new PreparedStatementTableCreator(m_serializer.tableSpecFromBytes(bytes),
+                            connection, statement, batchSize, commitInterval, dateTimeColumns);
+                    }
+                    bytesIntoTable(tableCreator, bytes);
+                }
+                return tableCreator.finish();
+            } catch (final SQLException | IOException ex) {
+                try {
+                    connection.rollback();
+                } catch (final SQLException e) {
+                    LOGGER.debug("Rollback failed: " + e.getMessage(), e);
+                }
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
     }
 
     /**
@@ -1129,6 +1670,56 @@ public String getSql(final String name) throws IOException {
         }
     }
 
+    /**
+     * Switches both sides to the serialization library with the lowest estimated cost for the given table if the
+     * library is selected automatically. Does nothing otherwise.
+     *
+     * @param spec the spec of the table to transfer, null if unknown
+     * @param numberRows the number of rows to transfer
+     * @throws IOException If an error occurred while communicating with the python kernel
+     */
+    private void selectSerializer(final TableSpec spec, final long numberRows) throws IOException {
+        if (m_serializerSelector == null) {
+            return;
+        }
+        switchSerializer(m_serializerSelector.select(spec, numberRows, m_kernelOptions.getChunkSize(),
+            m_kernelOptions.getSerializationOptions()));
+    }
+
+    /**
+     * Switches both sides to the serialization library with the lowest estimated cost for the table with the given
+     * name in the python workspace if the library is selected automatically. Does nothing otherwise.
+     *
+     * @param name the name of the table in the python workspace
+     * @param numberRows the number of rows to transfer
+     * @throws IOException If an error occurred while communicating with the python kernel
+     */
+    private void selectSerializer(final String name, final long numberRows) throws IOException {
+        if (m_serializerSelector == null) {
+            return;
+        }
+        switchSerializer(m_serializerSelector.select(m_commands.getTableColumnTypes(name), numberRows,
+            m_kernelOptions.getChunkSize(), m_kernelOptions.getSerializationOptions()));
+    }
+
+    private void switchSerializer(final String serializerId) throws IOException {
+        if ((serializerId != null) && !serializerId.equals(m_serializerId)) {
+            m_commands.setSerializer(SerializationLibraryExtensions.getSerializationLibraryPath(serializerId));
+            m_serializer = m_serializationLibraryExtensions.getSerializationLibrary(serializerId);
+            m_serializerId = serializerId;
+        }
+    }
+
+    /**
+     * Sends an empty command to the python kernel and waits for its reply. Can be used for checking if the kernel is
+     * responsive and for measuring the round-trip latency of the connection.
+     *
+     * @throws IOException If an error occurred while communicating with the python kernel
+     */
+    public void ping() throws IOException {
+        m_commands.ping();
+    }
+
     /**
      * Get the id of the configured serialization library.
      *
@@ -1189,6 +1780,78 @@ private synchronized void distributeStderrorMsg(final String msg) {
         }
     }
 
+    /**
+     * Passes the lines collected by all {@link PythonOutputBuffer} listeners to their consumers, so that output
+     * arriving within the update interval before the end of an execution is not held back.
+     */
+    private synchronized void flushOutputBuffers() {
+        for (PythonOutputListener listener : m_stdoutListeners) {
+            if (listener instanceof PythonOutputBuffer) {
+                ((PythonOutputBuffer)listener).flush();
+            }
+        }
+        for (PythonOutputListener listener : m_stderrListeners) {
+            if (listener instanceof PythonOutputBuffer) {
+                ((PythonOutputBuffer)listener).flush();
+            }
+        }
+    }
+
+    /**
+     * Waits until the pipe readers have read the given marker from stdout and stderr, i.e. until all output that
+     * python wrote before the marker has been distributed to the listeners. Gives up after
+     * {@link #OUTPUT_MARKER_TIMEOUT} milliseconds, e.g. if the process has died.
+     *
+     * @param marker the marker written by python at the end of an execution
+     */
+    private void awaitOutputMarker(final String marker) {
+        final long deadline = System.currentTimeMillis() + OUTPUT_MARKER_TIMEOUT;
+        synchronized (m_outputMarkerLock) {
+            while (!marker.equals(m_stdoutMarker) || !marker.equals(m_stderrMarker)) {
+                final long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    LOGGER.debug("Timed out waiting for the output of the python execution.");
+                    return;
+                }
+                try {
+                    m_outputMarkerLock.wait(remaining);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Handles a line read from stdout or stderr. Marker lines are recorded instead of being distributed, output
+     * preceding a marker on the same line (i.e. not terminated by a newline) is distributed.
+     *
+     * @param msg the line
+     * @param stdout true if the line has been read from stdout, false if it has been read from stderr
+     */
+    private void lineReceived(final String msg, final boolean stdout) {
+        final int markerIndex = msg.indexOf(OUTPUT_MARKER_PREFIX);
+        final String output = markerIndex < 0 ? msg : msg.substring(0, markerIndex);
+        if ((markerIndex < 0) || !output.isEmpty()) {
+            if (stdout) {
+                distributeStdoutMsg(output);
+            } else {
+                distributeStderrorMsg(output);
+            }
+        }
+        if (markerIndex >= 0) {
+            synchronized (m_outputMarkerLock) {
+                if (stdout) {
+                    m_stdoutMarker = msg.substring(markerIndex);
+                } else {
+                    m_stderrMarker = msg.substring(markerIndex);
+                }
+                m_outputMarkerLock.notifyAll();
+            }
+        }
+    }
+
     private void startPipeListeners() {
         Thread t = new Thread(new Runnable() {
 
@@ -1198,7 +1861,7 @@ public void run() {
                 BufferedReader reader = new BufferedReader(new InputStreamReader(m_stdoutStream));
                 try {
                     while ((msg = reader.readLine()) != null) {
-                        distributeStdoutMsg(msg);
+                        lineReceived(msg, true);
                     }
                 } catch (IOException ex) {
                     LOGGER.warn("Exception during interactive logging: " + ex.getMessage(), ex);
@@ -1217,7 +1880,7 @@ public void run() {
                 BufferedReader reader = new BufferedReader(new InputStreamReader(m_stderrStream));
                 try {
                     while ((msg = reader.readLine()) != null) {
-                        distributeStderrorMsg(msg);
+                        lineReceived(msg, false);
                     }
                 } catch (IOException ex) {
                     LOGGER.debug("Exception during interactive logging: " + ex.getMessage(), ex);
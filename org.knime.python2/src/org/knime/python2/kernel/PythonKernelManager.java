@@ -77,6 +77,10 @@ public class PythonKernelManager implements AutoCloseable{
 
     private final List<PythonOutputListener> m_stderrListeners;
 
+    private final Object m_transferGate = new Object();
+
+    private int m_runningExecutions = 0;
+
     /**
      * Creates a manager that will start a new python kernel.
      *
@@ -89,6 +93,8 @@ public PythonKernelManager(final PythonKernelOptions kernelOptions) throws IOExc
         m_stderrListeners = new ArrayList<PythonOutputListener>();
         m_threadPool = new ThreadPool(8);
         m_kernel = new PythonKernel(kernelOptions);
+        // Connect the auto completion channel while the kernel is idle, so completions never wait for executions
+        m_kernel.getAutoCompleteChannel();
     }
 
     /**
@@ -164,6 +170,9 @@ public void run() {
     public synchronized void execute(final String sourceCode,
         final PythonKernelResponseHandler<String[]> responseHandler) {
         final PythonKernel kernel = m_kernel;
+        synchronized (m_transferGate) {
+            m_runningExecutions++;
+        }
         runInThread(new Runnable() {
             @Override
             public void run() {
@@ -173,6 +182,11 @@ public void run() {
                     response = kernel.execute(sourceCode);
                 } catch (final Exception e) {
                     exception = e;
+                } finally {
+                    synchronized (m_transferGate) {
+                        m_runningExecutions--;
+                        m_transferGate.notifyAll();
+                    }
                 }
                 if (kernel.equals(m_kernel)) {
                     responseHandler.handleResponse(response, exception);
@@ -223,7 +237,7 @@ public void run() {
     public synchronized void putData(final String[] tableNames, final BufferedDataTable[] tables,
         final String variablesName, final Collection<FlowVariable> variables, final String[] objectNames,
         final PickledObject[] objects, final PythonKernelResponseHandler<Void> responseHandler,
-        final ExecutionMonitor executionMonitor, final int rowLimit) {
+        final ExecutionMonitor executionMonitor, final long rowLimit) {
         final PythonKernel kernel = m_kernel;
         runInThread(new Runnable() {
             @Override
@@ -248,6 +262,80 @@ public void run() {
         });
     }
 
+    /**
+     * Append the remaining rows of the given tables to tables that have already been put into the workspace with a
+     * smaller row limit. The rows are staged in the background apart from the tables. The transfer pauses while source
+     * code is being executed, so that executions never wait for it. Once all rows are staged and no code is being
+     * executed, they are appended to every table that is still the object that has originally been put. Staged rows of
+     * tables that the code has reassigned are discarded.
+     *
+     * @param tableNames the variable names in the python workspace for the tables to append to
+     * @param tables the tables to append
+     * @param fromRow the number of leading rows of each table that are already available in the workspace
+     * @param responseHandler Handler called after the transfer, the response is true if the rows have been appended
+     *            to all tables and false if they have been discarded for at least one of them
+     * @param executionMonitor an execution monitor for reporting progress and canceling the transfer
+     * @param rowLimit the total number of rows of each table that should be available afterwards
+     */
+    public synchronized void appendData(final String[] tableNames, final BufferedDataTable[] tables,
+        final long fromRow, final PythonKernelResponseHandler<Boolean> responseHandler,
+        final ExecutionMonitor executionMonitor, final long rowLimit) {
+        final PythonKernel kernel = m_kernel;
+        final Runnable awaitIdle = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (m_transferGate) {
+                    while (m_runningExecutions > 0) {
+                        try {
+                            m_transferGate.wait();
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                }
+            }
+        };
+        runInThread(new Runnable() {
+            @Override
+            public void run() {
+                boolean staged = false;
+                boolean merged = false;
+                Exception exception = null;
+                try {
+                    for (int i = 0; i < tables.length; i++) {
+                        kernel.stageDataTable(tableNames[i], tables[i],
+                            executionMonitor.createSubProgress(1 / (double)tables.length), fromRow, rowLimit,
+                            awaitIdle);
+                    }
+                    staged = true;
+                } catch (final Exception e) {
+                    exception = e;
+                }
+                try {
+                    // Executions wait for the gate before they start, so none can run while the rows are merged
+                    synchronized (m_transferGate) {
+                        if (staged) {
+                            awaitIdle.run();
+                        }
+                        merged = staged;
+                        for (int i = 0; i < tables.length; i++) {
+                            merged &= kernel.unstageDataTable(tableNames[i], staged);
+                        }
+                    }
+                } catch (final Exception e) {
+                    merged = false;
+                    if (exception == null) {
+                        exception = e;
+                    }
+                }
+                if (kernel.equals(m_kernel)) {
+                    responseHandler.handleResponse(merged, exception);
+                }
+            }
+        });
+    }
+
     /**
      * Get a {@link DataTable} from the workspace.
      *
@@ -279,7 +367,7 @@ public void run() {
     /**
      * Returns the list of all defined variables, functions, classes and loaded modules.
      *
-     * Each variable map contains the fields 'name', 'type' and 'value'.
+     * See {@link PythonKernel#listVariables()} for the fields of each variable map.
      *
      * @param responseHandler Handler for the responded list of variables
      */
@@ -303,6 +391,59 @@ public void run() {
         });
     }
 
+    /**
+     * Returns the list of variables, functions, classes and loaded modules that changed since the last listing.
+     *
+     * See {@link PythonKernel#listChangedVariables()} for the fields of each variable map.
+     *
+     * @param responseHandler Handler for the responded list of changed variables
+     */
+    public synchronized void
+    listChangedVariables(final PythonKernelResponseHandler<List<Map<String, String>>> responseHandler) {
+        final PythonKernel kernel = m_kernel;
+        runInThread(new Runnable() {
+            @Override
+            public void run() {
+                List<Map<String, String>> response = null;
+                Exception exception = null;
+                try {
+                    response = kernel.listChangedVariables();
+                } catch (final Exception e) {
+                    exception = e;
+                }
+                if (kernel.equals(m_kernel)) {
+                    responseHandler.handleResponse(response, exception);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the values of the given variables as truncated strings.
+     *
+     * @param names the names of the variables
+     * @param responseHandler Handler for the responded values by variable name
+     */
+    public synchronized void getVariablePreviews(final Collection<String> names,
+        final PythonKernelResponseHandler<Map<String, String>> responseHandler) {
+        final PythonKernel kernel = m_kernel;
+        runInThread(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, String> response = null;
+                Exception exception = null;
+                try {
+                    response = kernel.getVariablePreviews(names);
+                } catch (final Exception e) {
+                    exception = e;
+                }
+                if (kernel.equals(m_kernel)) {
+                    responseHandler.handleResponse(response, exception);
+                }
+            }
+        });
+    }
+
     /**
      * Resets the workspace of the python kernel.
      *
@@ -326,6 +467,41 @@ public void run() {
         });
     }
 
+    /**
+     * Replace the workspace by copies of the input variables recorded by the kernel.
+     *
+     * @param responseHandler Handler for the response (true if the workspace has been restored, false if no input
+     *            variables have been recorded)
+     */
+    public synchronized void restoreInputSnapshot(final PythonKernelResponseHandler<Boolean> responseHandler) {
+        final PythonKernel kernel = m_kernel;
+        runInThread(new Runnable() {
+            @Override
+            public void run() {
+                Boolean response = null;
+                Exception exception = null;
+                try {
+                    response = kernel.restoreInputSnapshot();
+                } catch (final Exception e) {
+                    exception = e;
+                }
+                if (kernel.equals(m_kernel)) {
+                    responseHandler.handleResponse(response, exception);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return true if source code given to {@link #execute(String, PythonKernelResponseHandler)} is currently being
+     *         executed or waiting for execution
+     */
+    public boolean isExecuting() {
+        synchronized (m_transferGate) {
+            return m_runningExecutions > 0;
+        }
+    }
+
     /**
      * Returns the list of possible auto completions to the given source at the given position.
      *
@@ -0,0 +1,337 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.kernel;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Low overhead timers and byte counters of a {@link PythonKernel}. Every kernel owns an instance whose values are
+ * also added to the {@link #getTotal() totals} of all kernels. Both are published via JMX.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public final class PythonKernelMetrics implements PythonKernelMetricsMXBean {
+
+    /**
+     * JMX domain under which the metrics are registered.
+     */
+    public static final String DOMAIN = "org.knime.python2";
+
+    /**
+     * Whether the metrics of a kernel are written to the log when the kernel is closed. May be overridden using the VM
+     * option -Dknime.python.metrics.log=&lt;true|false&gt;.
+     */
+    static final boolean LOG_ON_CLOSE = Boolean.getBoolean("knime.python.metrics.log");
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonKernelMetrics.class);
+
+    private static final PythonKernelMetrics TOTAL = new PythonKernelMetrics(null);
+
+    /**
+     * The phases of a kernel's lifecycle that are timed.
+     */
+    public enum Phase {
+        /** Starting the python process until the kernel is ready, including the installation test. */
+        KERNEL_START("Kernel start"),
+        /** Testing the python installation. */
+        INSTALLATION_TEST("Installation test"),
+        /** Serializing KNIME tables into the transfer format. */
+        SERIALIZATION("Serialization"),
+        /** Sending serialized tables to python, including their deserialization on the python side. */
+        TRANSFER("Transfer to python"),
+        /**
+         * Executing user code. Transfers triggered by the code, e.g. fetching database tables, are recorded in their
+         * own phases and not included.
+         */
+        EXECUTION("Execution"),
+        /** Serializing tables on the python side and receiving them. */
+        RESULT_FETCH("Result fetch"),
+        /** Converting received tables into KNIME cells. */
+        DESERIALIZATION("Deserialization");
+
+        private final String m_name;
+
+        Phase(final String name) {
+            m_name = name;
+        }
+
+        /**
+         * @return the display name of the phase
+         */
+        public String getName() {
+            return m_name;
+        }
+    }
+
+    private final PythonKernelMetrics m_parent;
+
+    private final LongAdder[] m_nanos;
+
+    private final LongAdder[] m_counts;
+
+    private final LongAdder m_bytesSent = new LongAdder();
+
+    private final LongAdder m_bytesReceived = new LongAdder();
+
+    /**
+     * Creates the metrics of a single kernel, contributing to the totals.
+     */
+    public PythonKernelMetrics() {
+        this(TOTAL);
+    }
+
+    private PythonKernelMetrics(final PythonKernelMetrics parent) {
+        m_parent = parent;
+        final int phases = Phase.values().length;
+        m_nanos = new LongAdder[phases];
+        m_counts = new LongAdder[phases];
+        for (int i = 0; i < phases; i++) {
+            m_nanos[i] = new LongAdder();
+            m_counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return the metrics summed up over all kernels
+     */
+    public static PythonKernelMetrics getTotal() {
+        return TOTAL;
+    }
+
+    /**
+     * Records one operation of the given phase that started at the given {@link System#nanoTime()}.
+     *
+     * @param phase the phase
+     * @param startNanos the start of the operation
+     */
+    public void record(final Phase phase, final long startNanos) {
+        add(phase, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records one operation of the given phase that started at the given {@link System#nanoTime()}, excluding the time
+     * of operations of other phases recorded since then, i.e. operations nested in this one.
+     *
+     * @param phase the phase
+     * @param startNanos the start of the operation
+     * @param nanosAtStart the value of {@link #getTotalNanos()} at the start of the operation
+     */
+    public void recordExclusive(final Phase phase, final long startNanos, final long nanosAtStart) {
+        final long nested = getTotalNanos() - nanosAtStart;
+        add(phase, Math.max(0, System.nanoTime() - startNanos - nested));
+    }
+
+    private void add(final Phase phase, final long nanos) {
+        m_nanos[phase.ordinal()].add(nanos);
+        m_counts[phase.ordinal()].increment();
+        if (m_parent != null) {
+            m_parent.add(phase, nanos);
+        }
+    }
+
+    void addBytesSent(final long bytes) {
+        m_bytesSent.add(bytes);
+        if (m_parent != null) {
+            m_parent.addBytesSent(bytes);
+        }
+    }
+
+    void addBytesReceived(final long bytes) {
+        m_bytesReceived.add(bytes);
+        if (m_parent != null) {
+            m_parent.addBytesReceived(bytes);
+        }
+    }
+
+    /**
+     * @param phase the phase
+     * @return the accumulated time of the phase in nanoseconds
+     */
+    public long getNanos(final Phase phase) {
+        return m_nanos[phase.ordinal()].sum();
+    }
+
+    /**
+     * @param phase the phase
+     * @return the number of recorded operations of the phase
+     */
+    public long getCount(final Phase phase) {
+        return m_counts[phase.ordinal()].sum();
+    }
+
+    /**
+     * @return the accumulated time of all phases in nanoseconds
+     */
+    public long getTotalNanos() {
+        long nanos = 0;
+        for (final LongAdder phaseNanos : m_nanos) {
+            nanos += phaseNanos.sum();
+        }
+        return nanos;
+    }
+
+    @Override
+    public Map<String, Long> getPhaseTimesMillis() {
+        final Map<String, Long> times = new LinkedHashMap<>();
+        for (final Phase phase : Phase.values()) {
+            times.put(phase.getName(), TimeUnit.NANOSECONDS.toMillis(getNanos(phase)));
+        }
+        return times;
+    }
+
+    @Override
+    public Map<String, Long> getPhaseCounts() {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        for (final Phase phase : Phase.values()) {
+            counts.put(phase.getName(), getCount(phase));
+        }
+        return counts;
+    }
+
+    @Override
+    public long getBytesSent() {
+        return m_bytesSent.sum();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return m_bytesReceived.sum();
+    }
+
+    @Override
+    public String getSummary() {
+        final StringBuilder sb = new StringBuilder();
+        for (final Phase phase : Phase.values()) {
+            final long count = getCount(phase);
+            if (count > 0) {
+                sb.append(phase.getName()).append(": ").append(TimeUnit.NANOSECONDS.toMillis(getNanos(phase)))
+                    .append(" ms (").append(count).append("x), ");
+            }
+        }
+        sb.append("sent: ").append(getBytesSent()).append(" bytes, received: ").append(getBytesReceived())
+            .append(" bytes");
+        return sb.toString();
+    }
+
+    /**
+     * Resets the counters of this instance. The totals are not affected when resetting the metrics of a single kernel.
+     */
+    @Override
+    public void reset() {
+        for (int i = 0; i < m_nanos.length; i++) {
+            m_nanos[i].reset();
+            m_counts[i].reset();
+        }
+        m_bytesSent.reset();
+        m_bytesReceived.reset();
+    }
+
+    /**
+     * Publishes the given metrics on the platform MBean server. Failures are logged and otherwise ignored.
+     *
+     * @param metrics the metrics to publish
+     * @param name the value of the name key of the object name
+     */
+    static void register(final PythonKernelMetrics metrics, final String name) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = createObjectName(name);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(metrics, objectName);
+            }
+        } catch (final Exception ex) {
+            LOGGER.debug("Could not register python kernel metrics '" + name + "': " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Removes the metrics with the given name from the platform MBean server. Failures are logged and otherwise
+     * ignored.
+     *
+     * @param name the value of the name key of the object name
+     */
+    static void unregister(final String name) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = createObjectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (final Exception ex) {
+            LOGGER.debug("Could not unregister python kernel metrics '" + name + "': " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Publishes the {@link #getTotal() totals} on the platform MBean server.
+     */
+    public static void registerTotal() {
+        register(TOTAL, "total");
+    }
+
+    /**
+     * Removes the {@link #getTotal() totals} from the platform MBean server.
+     */
+    public static void unregisterTotal() {
+        unregister("total");
+    }
+
+    private static ObjectName createObjectName(final String name) throws Exception {
+        return new ObjectName(DOMAIN + ":type=PythonKernelMetrics,name=" + ObjectName.quote(name));
+    }
+}
@@ -79,6 +79,36 @@ public class PythonKernelOptions {
 
     private int m_chunkSize = DEFAULT_CHUNK_SIZE;
 
+    /**
+     * The default maximum number of console output lines that are kept per output stream. May be overridden using the
+     * VM option -Dknime.python.outputcapacity=&lt;lines&gt;.
+     */
+    public static final int DEFAULT_OUTPUT_CAPACITY = Integer.getInteger("knime.python.outputcapacity", 1000);
+
+    /**
+     * The default minimum time in milliseconds between two updates of a node's console output view. May be overridden
+     * using the VM option -Dknime.python.outputinterval=&lt;value-in-ms&gt;.
+     */
+    public static final int DEFAULT_OUTPUT_UPDATE_INTERVAL = Integer.getInteger("knime.python.outputinterval", 500);
+
+    /**
+     * Whether executions are profiled by default. May be overridden using the VM option
+     * -Dknime.python.profile=&lt;true|false&gt;.
+     */
+    public static final boolean DEFAULT_PROFILE_EXECUTION = Boolean.getBoolean("knime.python.profile");
+
+    /**
+     * The number of lines of profiling statistics reported per execution. May be overridden using the VM option
+     * -Dknime.python.profilelines=&lt;lines&gt;.
+     */
+    public static final int PROFILE_LINES = Integer.getInteger("knime.python.profilelines", 30);
+
+    private int m_outputCapacity = DEFAULT_OUTPUT_CAPACITY;
+
+    private int m_outputUpdateInterval = DEFAULT_OUTPUT_UPDATE_INTERVAL;
+
+    private boolean m_profileExecution = DEFAULT_PROFILE_EXECUTION;
+
     /**
      * Default constructor. Consults the {@link PythonPreferencePage} for the default python version to use.
      */
@@ -121,6 +151,9 @@ public PythonKernelOptions(final PythonKernelOptions other) {
         this.m_flowVariableOptions = new FlowVariableOptions(other.getFlowVariableOptions());
         this.m_additionalRequiredModules = new ArrayList<String>(other.getAdditionalRequiredModules());
         this.m_kernelScriptPath = other.getKernelScriptPath();
+        this.m_outputCapacity = other.getOutputCapacity();
+        this.m_outputUpdateInterval = other.getOutputUpdateInterval();
+        this.m_profileExecution = other.getProfileExecution();
     }
 
     /**
@@ -349,6 +382,61 @@ public int getChunkSize() {
         return m_chunkSize;
     }
 
+    /**
+     * Sets the maximum number of console output lines that are kept per output stream.
+     *
+     * @param outputCapacity the new output capacity
+     */
+    public void setOutputCapacity(final int outputCapacity) {
+        m_outputCapacity = outputCapacity;
+    }
+
+    /**
+     * Gets the maximum number of console output lines that are kept per output stream.
+     *
+     * @return the output capacity
+     */
+    public int getOutputCapacity() {
+        return m_outputCapacity;
+    }
+
+    /**
+     * Sets the minimum time in milliseconds between two updates of a node's console output view.
+     *
+     * @param outputUpdateInterval the new output update interval
+     */
+    public void setOutputUpdateInterval(final int outputUpdateInterval) {
+        m_outputUpdateInterval = outputUpdateInterval;
+    }
+
+    /**
+     * Gets the minimum time in milliseconds between two updates of a node's console output view.
+     *
+     * @return the output update interval
+     */
+    public int getOutputUpdateInterval() {
+        return m_outputUpdateInterval;
+    }
+
+    /**
+     * Sets if executions are run under the python profiler. The collected statistics are appended to the execution's
+     * console output.
+     *
+     * @param profileExecution profile executions yes/no
+     */
+    public void setProfileExecution(final boolean profileExecution) {
+        m_profileExecution = profileExecution;
+    }
+
+    /**
+     * Indicates if executions are run under the python profiler.
+     *
+     * @return profile executions yes/no
+     */
+    public boolean getProfileExecution() {
+        return m_profileExecution;
+    }
+
     /**
      * Gets the kernel script path.
      *
@@ -373,6 +461,9 @@ public int hashCode() {
         int result = 1;
         result = prime * result + ((m_additionalRequiredModules == null) ? 0 : m_additionalRequiredModules.hashCode());
         result = prime * result + m_chunkSize;
+        result = prime * result + m_outputCapacity;
+        result = prime * result + m_outputUpdateInterval;
+        result = prime * result + (m_profileExecution ? 1231 : 1237);
         result = prime * result + ((m_flowVariableOptions == null) ? 0 : m_flowVariableOptions.hashCode());
         result = prime * result + ((m_serializationOptions == null) ? 0 : m_serializationOptions.hashCode());
         result = prime * result + ((m_usePython3 == null) ? 0 : m_usePython3.hashCode());
@@ -401,6 +492,15 @@ public boolean equals(final Object obj) {
         if (m_chunkSize != other.m_chunkSize) {
             return false;
         }
+        if (m_outputCapacity != other.m_outputCapacity) {
+            return false;
+        }
+        if (m_outputUpdateInterval != other.m_outputUpdateInterval) {
+            return false;
+        }
+        if (m_profileExecution != other.m_profileExecution) {
+            return false;
+        }
         if (m_flowVariableOptions == null) {
             if (other.m_flowVariableOptions != null) {
                 return false;
@@ -0,0 +1,131 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.kernel;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.function.Consumer;
+
+/**
+ * A {@link PythonOutputListener} that keeps the most recent lines of a python output stream in a bounded ring buffer
+ * and periodically passes a snapshot of the buffer to a consumer. Lines exceeding the buffer's capacity are dropped
+ * and summarized in a single header line, which keeps memory usage bounded for scripts producing large amounts of
+ * output.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class PythonOutputBuffer implements PythonOutputListener {
+
+    private final Deque<String> m_lines;
+
+    private final int m_capacity;
+
+    private final long m_updateInterval;
+
+    private final Consumer<LinkedList<String>> m_consumer;
+
+    private long m_droppedLines = 0;
+
+    private long m_lastUpdate = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the maximum number of lines to keep
+     * @param updateInterval the minimum time in milliseconds between two calls of the consumer
+     * @param consumer receives a snapshot of the buffered lines whenever it is updated
+     */
+    public PythonOutputBuffer(final int capacity, final long updateInterval,
+        final Consumer<LinkedList<String>> consumer) {
+        m_capacity = Math.max(capacity, 1);
+        m_updateInterval = updateInterval;
+        m_consumer = consumer;
+        m_lines = new ArrayDeque<String>(Math.min(m_capacity, 1024));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void messageReceived(final String msg) {
+        if (m_lines.size() >= m_capacity) {
+            m_lines.removeFirst();
+            m_droppedLines++;
+        }
+        m_lines.addLast(msg);
+        final long now = System.currentTimeMillis();
+        if (now - m_lastUpdate >= m_updateInterval) {
+            m_lastUpdate = now;
+            m_consumer.accept(getLines());
+        }
+    }
+
+    /**
+     * Passes the current snapshot to the consumer regardless of the update interval.
+     */
+    public synchronized void flush() {
+        m_lastUpdate = System.currentTimeMillis();
+        m_consumer.accept(getLines());
+    }
+
+    /**
+     * Gets a snapshot of the buffered lines. If lines were dropped, the first line states how many.
+     *
+     * @return the buffered lines
+     */
+    public synchronized LinkedList<String> getLines() {
+        final LinkedList<String> lines = new LinkedList<String>(m_lines);
+        if (m_droppedLines > 0) {
+            lines.addFirst("[" + m_droppedLines + " earlier lines omitted]");
+        }
+        return lines;
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.kernel;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * A {@link PythonKernel} that outlives a single node execution. Sessions are opened by a session start node, looked up
+ * by their id from the session port object by downstream nodes, and closed explicitly by a session end node or when the
+ * start node is reset. While a session is open, all nodes attached to it execute in the same Python workspace, so
+ * reference data only has to be transferred once.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public final class PythonSession {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonSession.class);
+
+    private static final Map<String, PythonSession> SESSIONS = new ConcurrentHashMap<String, PythonSession>();
+
+    private final String m_id;
+
+    private final PythonKernel m_kernel;
+
+    private final ReentrantLock m_lock = new ReentrantLock();
+
+    private volatile boolean m_closed = false;
+
+    private PythonSession(final String id, final PythonKernel kernel) {
+        m_id = id;
+        m_kernel = kernel;
+    }
+
+    /**
+     * Starts a new kernel and registers it as an open session.
+     *
+     * @param kernelOptions the options used to start the kernel
+     * @return the new session
+     * @throws IOException if the kernel could not be started
+     */
+    public static PythonSession open(final PythonKernelOptions kernelOptions) throws IOException {
+        final PythonSession session = new PythonSession(UUID.randomUUID().toString(), new PythonKernel(kernelOptions));
+        SESSIONS.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Looks up an open session.
+     *
+     * @param id the id of the session
+     * @return the session or null if no session with the given id is open
+     */
+    public static PythonSession get(final String id) {
+        return id == null ? null : SESSIONS.get(id);
+    }
+
+    /**
+     * Closes the session with the given id, if it is still open.
+     *
+     * @param id the id of the session
+     */
+    public static void close(final String id) {
+        final PythonSession session = get(id);
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    /**
+     * Closes all open sessions.
+     */
+    public static void closeAll() {
+        for (final PythonSession session : SESSIONS.values()) {
+            session.close();
+        }
+    }
+
+    /**
+     * @return the id of this session
+     */
+    public String getId() {
+        return m_id;
+    }
+
+    /**
+     * Acquires exclusive access to the kernel of this session. Nodes attached to the same session may execute
+     * concurrently in different branches of a workflow, so every use of {@link #getKernel()} has to be enclosed in
+     * {@link #lock()} and {@link #unlock()}.
+     *
+     * @throws IOException if the session has been closed
+     */
+    public void lock() throws IOException {
+        m_lock.lock();
+        if (m_closed) {
+            m_lock.unlock();
+            throw new IOException("The Python session has been closed. Re-execute the Python Session Start node.");
+        }
+    }
+
+    /**
+     * Releases the lock acquired by {@link #lock()}.
+     */
+    public void unlock() {
+        m_lock.unlock();
+    }
+
+    /**
+     * @return the kernel of this session
+     */
+    public PythonKernel getKernel() {
+        return m_kernel;
+    }
+
+    /**
+     * @return true if this session has been closed
+     */
+    public boolean isClosed() {
+        return m_closed;
+    }
+
+    /**
+     * Unregisters this session and shuts down its kernel. Waits for a node currently using the kernel to finish.
+     */
+    public void close() {
+        if (SESSIONS.remove(m_id) == null) {
+            return;
+        }
+        m_lock.lock();
+        try {
+            m_closed = true;
+            m_kernel.close();
+            LOGGER.debug("Closed Python session " + m_id);
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+}
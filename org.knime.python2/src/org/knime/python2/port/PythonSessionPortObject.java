@@ -0,0 +1,192 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.python2.port;
+
+import java.io.IOException;
+
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.ModelContentRO;
+import org.knime.core.node.ModelContentWO;
+import org.knime.core.node.port.AbstractSimplePortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.port.PortTypeRegistry;
+import org.knime.python2.kernel.PythonSession;
+
+/**
+ * Port object referencing an open {@link PythonSession}. Only the id of the session is stored, the kernel itself does
+ * not survive saving and reloading the workflow.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public final class PythonSessionPortObject extends AbstractSimplePortObject {
+    /**
+     * The serializer for the Python session port type
+     */
+    public static final class Serializer extends AbstractSimplePortObjectSerializer<PythonSessionPortObject> {
+    }
+
+    /**
+     * The type of this port.
+     */
+    @SuppressWarnings("hiding")
+    public static final PortType TYPE = PortTypeRegistry.getInstance().getPortType(PythonSessionPortObject.class);
+
+    private String m_sessionId;
+
+    /**
+     * Constructor used by the framework.
+     */
+    public PythonSessionPortObject() {
+        m_sessionId = null;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param session the referenced session
+     */
+    public PythonSessionPortObject(final PythonSession session) {
+        m_sessionId = session.getId();
+    }
+
+    /**
+     * @return the id of the referenced session
+     */
+    public String getSessionId() {
+        return m_sessionId;
+    }
+
+    /**
+     * Looks up the referenced session.
+     *
+     * @return the referenced session
+     * @throws IOException if the session is not open anymore
+     */
+    public PythonSession getSession() throws IOException {
+        final PythonSession session = PythonSession.get(m_sessionId);
+        if (session == null) {
+            throw new IOException("The Python session is not available anymore. Re-execute the Python Session Start "
+                + "node.");
+        }
+        return session;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSummary() {
+        return PythonSession.get(m_sessionId) != null ? "Python session " + m_sessionId : "Closed Python session";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PortObjectSpec getSpec() {
+        return PythonSessionPortObjectSpec.INSTANCE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void save(final ModelContentWO model, final ExecutionMonitor exec) throws CanceledExecutionException {
+        model.addString("sessionId", m_sessionId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void load(final ModelContentRO model, final PortObjectSpec spec, final ExecutionMonitor exec)
+            throws InvalidSettingsException, CanceledExecutionException {
+        m_sessionId = model.getString("sessionId", null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JComponent[] getViews() {
+        final JLabel label = new JLabel(getSummary());
+        label.setName("Python session");
+        return new JComponent[]{label};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PythonSessionPortObject)) {
+            return false;
+        }
+        final PythonSessionPortObject portObject = (PythonSessionPortObject)o;
+        return m_sessionId == null ? portObject.m_sessionId == null : m_sessionId.equals(portObject.m_sessionId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return m_sessionId != null ? m_sessionId.hashCode() : 0;
+    }
+
+}